@@ -47,7 +47,41 @@ public isolated client class Client {
         'class: "io.ballerina.lib.aws.sqs.client.NativeClientAdaptor"
     } external;
 
-    # Retrieves one or more messages from the specified queue.
+    # Delivers a message with a binary body to the specified SQS queue. As SQS only accepts text bodies, the body
+    # is sent encoded in base64, which adds a third to its size, and marked by the `sqs.binary` message attribute.
+    # `receiveMessage`, `receiveStream` and the `sqs:Listener` decode it back into the `binaryBody` of the message.
+    #
+    # + queueUrl - URL of the Amazon SQS queue to which the message is sent
+    # + messageBody - Message to send; minimum size is 1 byte and maximum is 196,608 bytes (192 KiB)
+    # + sendMessageConfig - Optional parameters, as in `sendMessage`
+    # + return - A `sqs:SendMessageResponse` on success, or an `sqs:Error` on failure
+    remote isolated function sendBinaryMessage(string queueUrl, byte[] messageBody,
+            *SendMessageConfig sendMessageConfig) returns SendMessageResponse|Error = @java:Method {
+        'class: "io.ballerina.lib.aws.sqs.client.NativeClientAdaptor"
+    } external;
+
+    # Packs many small records into as few messages as possible, and sends them to the specified SQS queue. Each
+    # message holds as many records as fit within the 256 KiB limit, along with the given attributes, and is sent
+    # with the given options. Receivers of this connector unpack the records transparently: `receiveMessage` returns
+    # them as messages of their own, and the `sqs:Listener` invokes `onMessage` once per record. The records of a
+    # message are acknowledged together: the message is deleted once all of them are acknowledged through the
+    # `sqs:Caller`, or processed by an `autoDelete` service, or once any of them is deleted with `deleteMessage`.
+    #
+    # + queueUrl - URL of the Amazon SQS queue to which the records are sent
+    # + records - Records to send, in order
+    # + sendMessageConfig - Optional parameters applied to each message, as in `sendMessage`. A
+    # `messageDeduplicationId` can only be given when all the records fit in a single message
+    # + return - The responses of the messages sent, or an `sqs:Error` if none was sent. A failure after some of the
+    # messages were sent is reported in the `failure` field of the response instead, along with the number of
+    # records sent, so that a retry can leave them out
+    remote isolated function sendAggregatedMessages(string queueUrl, string[] records,
+            *SendMessageConfig sendMessageConfig) returns SendAggregatedMessagesResponse|Error = @java:Method {
+        'class: "io.ballerina.lib.aws.sqs.client.NativeClientAdaptor"
+    } external;
+
+    # Retrieves one or more messages from the specified queue. The records of the messages sent with
+    # `sendAggregatedMessages` are returned as messages of their own, so that more than `maxNumberOfMessages`
+    # messages may be returned.
     #
     # + queueUrl - URL of the Amazon SQS queue from which messages are received
     # + receiveMessageConfig - Optional parameters for receiving messages
@@ -57,6 +91,19 @@ public isolated client class Client {
         'class: "io.ballerina.lib.aws.sqs.client.NativeClientAdaptor"
     } external;
 
+    # Receives messages from the specified queue as a stream. Receive requests are kept in flight ahead of
+    # the consumer, and buffered messages that were not consumed are made visible again when the stream is closed.
+    #
+    # + queueUrl - URL of the Amazon SQS queue from which messages are received
+    # + receiveStreamConfig - Optional parameters for receiving messages and for prefetching them
+    # + return - A stream of `sqs:Message` records, which ends with an `sqs:Error` if a receive request fails for
+    # a reason other than throttling or a network or server error, which are retried
+    remote isolated function receiveStream(string queueUrl, *ReceiveStreamConfig receiveStreamConfig)
+        returns stream<Message, Error?> {
+        MessageStream messageStream = new (self, queueUrl, receiveStreamConfig);
+        return new (messageStream);
+    }
+
     # Deletes a specified message from an Amazon SQS queue using the given receipt handle.
     #
     # + queueUrl - URL of the Amazon SQS queue from which messages are deleted
@@ -124,6 +171,16 @@ public isolated client class Client {
         'class: "io.ballerina.lib.aws.sqs.client.NativeClientAdaptor"
     } external;
 
+    # Lists all the Amazon SQS queues in the current region as a stream of queue URLs. Pages are fetched
+    # lazily, and the next page is requested while the current one is being consumed.
+    #
+    # + queueNamePrefix - Prefix to filter queue names. Only queues that start with this value are returned
+    # + return - A stream of queue URLs, which ends with an `sqs:Error` if fetching a page fails
+    isolated remote function listAllQueues(string? queueNamePrefix = ()) returns stream<string, Error?> {
+        QueueUrlStream queueUrlStream = new (self, queueNamePrefix);
+        return new (queueUrlStream);
+    }
+
     # Retrieves the attributes of the specified Amazon SQS queue.
     #
     # + queueUrl - URL of the Amazon SQS queue whose attributes are retrieved
@@ -22,12 +22,15 @@ public isolated class Listener {
     #
     # + connectionConfig - The configurations to be used when initializing the AWS SQS listener
     # + pollingConfig - Default polling behavior for all services (can be overridden per service)
+    # + listenerConfig - Listener-wide settings, such as the size of the connection pool dedicated to long polls
     # + return - An `Error` if the initialization failed, nil otherwise
-    public isolated function init(ConnectionConfig connectionConfig, PollingConfig pollingConfig = {}) returns Error? {
-        return self.initListener(connectionConfig, pollingConfig);
+    public isolated function init(ConnectionConfig connectionConfig, PollingConfig pollingConfig = {},
+            ListenerConfig listenerConfig = {}) returns Error? {
+        return self.initListener(connectionConfig, pollingConfig, listenerConfig);
     }
 
-    isolated function initListener(ConnectionConfig connectionConfig, PollingConfig pollingConfig) returns Error? = @java:Method {
+    isolated function initListener(ConnectionConfig connectionConfig, PollingConfig pollingConfig,
+            ListenerConfig listenerConfig) returns Error? = @java:Method {
         name: "init",
         'class: "io.ballerina.lib.aws.sqs.listener.Listener"
     } external;
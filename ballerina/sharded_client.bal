@@ -0,0 +1,122 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Sends messages to a sharded queue: a logical queue spread across several physical queues, its shards, to scale
+# past the throughput of a single queue. Messages of the same shard key, by default their message group ID, are
+# always sent to the same shard, so that FIFO message groups keep their order. Messages without a shard key are
+# spread across the shards in turn. The shards are consumed by a single `sqs:Service` listing all of them in its
+# `queueUrl`.
+public isolated client class ShardedClient {
+    private final Client sqsClient;
+    private final readonly & string[] shardUrls;
+    private int nextShard = 0;
+
+    # Initializes the client of a sharded queue.
+    #
+    # + sqsClient - The client used to send the messages to the shards
+    # + shardUrls - The URLs of the shards. The order matters: producers must list the same shards in the same
+    # order. Appending a shard moves the fewest message groups to another shard
+    # + return - An `Error` if no shard is given, nil otherwise
+    public isolated function init(Client sqsClient, string[] shardUrls) returns Error? {
+        if shardUrls.length() == 0 {
+            return error Error("A sharded queue requires at least one shard");
+        }
+        self.sqsClient = sqsClient;
+        self.shardUrls = shardUrls.cloneReadOnly();
+    }
+
+    # Sends a message to the shard of its shard key.
+    #
+    # + messageBody - The message body
+    # + shardKey - The key that selects the shard. Defaults to the message group ID, if any
+    # + sendMessageConfig - Optional parameters such as delaySeconds, messageAttributes, etc.
+    # + return - A `SendMessageResponse` on success, or an `Error` on failure
+    remote isolated function sendMessage(string messageBody, string? shardKey = (),
+            *SendMessageConfig sendMessageConfig) returns SendMessageResponse|Error {
+        string shardUrl = self.shardUrl(shardKey ?: sendMessageConfig.messageGroupId);
+        return self.sqsClient->sendMessage(shardUrl, messageBody, sendMessageConfig);
+    }
+
+    # Sends up to ten messages, each to the shard of its message group ID, with one `sendMessageBatch` call per
+    # shard. The entries without a message group ID are all sent to the same shard, in turn, so that they fill a
+    # single batch. The result of each entry is reported individually: the entries of a shard whose call failed
+    # are reported as failed with the error code of the failure.
+    #
+    # + entries - The batch entries
+    # + return - A `SendMessageBatchResponse` with the results of all the entries
+    remote isolated function sendMessageBatch(SendMessageBatchEntry[] entries) returns SendMessageBatchResponse|Error {
+        map<SendMessageBatchEntry[]> batches = {};
+        string? unkeyedShardUrl = ();
+        foreach SendMessageBatchEntry entry in entries {
+            string? messageGroupId = entry.messageGroupId;
+            string shardUrl;
+            if messageGroupId is string {
+                shardUrl = self.shardUrl(messageGroupId);
+            } else {
+                if unkeyedShardUrl is () {
+                    unkeyedShardUrl = self.shardUrl(());
+                }
+                shardUrl = <string>unkeyedShardUrl;
+            }
+            SendMessageBatchEntry[]? batch = batches[shardUrl];
+            if batch is () {
+                batches[shardUrl] = [entry];
+            } else {
+                batch.push(entry);
+            }
+        }
+
+        SendMessageBatchResponse response = {successful: [], failed: []};
+        foreach [string, SendMessageBatchEntry[]] [shardUrl, batch] in batches.entries() {
+            SendMessageBatchResponse|Error shardResponse = self.sqsClient->sendMessageBatch(shardUrl, batch);
+            if shardResponse is Error {
+                string code = shardResponse.detail().errorCode ?: "ShardSendFailed";
+                foreach SendMessageBatchEntry entry in batch {
+                    response.failed.push({id: entry.id, code, senderFault: false, message: shardResponse.message()});
+                }
+                continue;
+            }
+            response.successful.push(...shardResponse.successful);
+            response.failed.push(...shardResponse.failed);
+        }
+        return response;
+    }
+
+    # Returns the URLs of the shards.
+    #
+    # + return - The shard URLs, in order
+    public isolated function getShardUrls() returns readonly & string[] {
+        return self.shardUrls;
+    }
+
+    isolated function shardUrl(string? shardKey) returns string {
+        int shardCount = self.shardUrls.length();
+        if shardKey is string {
+            return self.shardUrls[shardIndex(shardKey, shardCount)];
+        }
+        lock {
+            int shard = self.nextShard;
+            self.nextShard = (shard + 1) % shardCount;
+            return self.shardUrls[shard];
+        }
+    }
+}
+
+isolated function shardIndex(string shardKey, int shardCount) returns int = @java:Method {
+    'class: "io.ballerina.lib.aws.sqs.client.Sharding"
+} external;
@@ -0,0 +1,77 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Iterates over the queue URLs listed by `Client->listAllQueues`.
+isolated class QueueUrlStream {
+
+    isolated function init(Client 'client, string? queueNamePrefix) {
+        self.externInit('client, queueNamePrefix);
+    }
+
+    public isolated function next() returns record {|string value;|}|Error? {
+        string|Error? queueUrl = self.nextQueueUrl();
+        if queueUrl is string {
+            return {value: queueUrl};
+        }
+        return queueUrl;
+    }
+
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.aws.sqs.client.QueueUrlIterator"
+    } external;
+
+    isolated function externInit(Client 'client, string? queueNamePrefix) = @java:Method {
+        name: "init",
+        'class: "io.ballerina.lib.aws.sqs.client.QueueUrlIterator"
+    } external;
+
+    isolated function nextQueueUrl() returns string|Error? = @java:Method {
+        name: "next",
+        'class: "io.ballerina.lib.aws.sqs.client.QueueUrlIterator"
+    } external;
+}
+
+# Iterates over the messages received by `Client->receiveStream`.
+isolated class MessageStream {
+
+    isolated function init(Client 'client, string queueUrl, ReceiveStreamConfig receiveStreamConfig) {
+        self.externInit('client, queueUrl, receiveStreamConfig);
+    }
+
+    public isolated function next() returns record {|Message value;|}|Error? {
+        Message|Error? message = self.nextMessage();
+        if message is Message {
+            return {value: message};
+        }
+        return message;
+    }
+
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.aws.sqs.client.MessageStreamIterator"
+    } external;
+
+    isolated function externInit(Client 'client, string queueUrl, ReceiveStreamConfig receiveStreamConfig) = @java:Method {
+        name: "init",
+        'class: "io.ballerina.lib.aws.sqs.client.MessageStreamIterator"
+    } external;
+
+    isolated function nextMessage() returns Message|Error? = @java:Method {
+        name: "next",
+        'class: "io.ballerina.lib.aws.sqs.client.MessageStreamIterator"
+    } external;
+}
@@ -0,0 +1,162 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/jballerina.java;
+import ballerina/lang.runtime;
+import ballerina/os;
+import ballerina/test;
+
+// Drives the listener against the in-memory transport, so that its throughput can be measured offline. The run is
+// sized by the following environment variables, and defaults to a short one that only checks all the messages
+// get through.
+final int benchmarkMessages = check int:fromString(getEnvOrDefault("BALLERINA_SQS_BENCHMARK_MESSAGES", "500"));
+final decimal benchmarkLatency = check decimal:fromString(getEnvOrDefault("BALLERINA_SQS_BENCHMARK_LATENCY", "0"));
+final int benchmarkBatchSize = check int:fromString(getEnvOrDefault("BALLERINA_SQS_BENCHMARK_BATCH_SIZE", "10"));
+final int benchmarkBodySize = check int:fromString(getEnvOrDefault("BALLERINA_SQS_BENCHMARK_BODY_SIZE", "256"));
+final string benchmarkPadding = "".padEnd(benchmarkBodySize, "x");
+
+final ConnectionConfig benchmarkConfig = {
+    region: awsRegion,
+    auth: staticAuth,
+    inMemory: {
+        latency: benchmarkLatency
+    }
+};
+
+isolated int[] benchmarkLatencies = [];
+
+@test:Config {
+    groups: ["benchmark"]
+}
+function benchmarkListener() returns error? {
+    Client producer = check new (benchmarkConfig);
+
+    // Throughput: a full queue, drained as fast as the listener goes.
+    string throughputQueueUrl = check producer->createQueue("listener-benchmark-throughput");
+    foreach int i in 0 ..< benchmarkMessages / benchmarkBatchSize {
+        check sendBenchmarkBatch(producer, throughputQueueUrl);
+    }
+    int startedAt = nanoTime();
+    Listener throughputListener = check startBenchmarkListener(throughputQueueUrl);
+    check awaitBenchmarkMessages();
+    int elapsed = nanoTime() - startedAt;
+    check throughputListener.gracefulStop();
+
+    int messages = benchmarkMessages / benchmarkBatchSize * benchmarkBatchSize;
+    decimal throughput = <decimal>messages * 1e9d / <decimal>elapsed;
+
+    // Dispatch overhead: messages processed one at a time, so that each costs the listener exactly a receive and a
+    // delete, both of which wait for the simulated latency. Concurrent dispatch would overlap them.
+    string overheadQueueUrl = check producer->createQueue("listener-benchmark-overhead");
+    foreach int i in 0 ..< benchmarkMessages / benchmarkBatchSize {
+        check sendBenchmarkBatch(producer, overheadQueueUrl);
+    }
+    startedAt = nanoTime();
+    Listener overheadListener = check startBenchmarkListener(overheadQueueUrl, 1);
+    check awaitBenchmarkMessages();
+    int serialElapsed = nanoTime() - startedAt;
+    check overheadListener.gracefulStop();
+    decimal overhead = <decimal>serialElapsed / <decimal>messages / 1000 - 2 * benchmarkLatency * 1e6d;
+
+    // Latency: messages produced at half the measured throughput, so that they do not queue up.
+    string latencyQueueUrl = check producer->createQueue("listener-benchmark-latency");
+    Listener latencyListener = check startBenchmarkListener(latencyQueueUrl);
+    decimal batchInterval = <decimal>benchmarkBatchSize / (throughput / 2);
+    foreach int i in 0 ..< benchmarkMessages / benchmarkBatchSize {
+        check sendBenchmarkBatch(producer, latencyQueueUrl);
+        runtime:sleep(batchInterval);
+    }
+    check awaitBenchmarkMessages();
+    check latencyListener.gracefulStop();
+    int[] latencies;
+    lock {
+        latencies = benchmarkLatencies.sort().clone();
+    }
+    check producer->close();
+
+    io:println(string `Listener benchmark: ${messages} messages of ${benchmarkBodySize} bytes, ${
+        benchmarkLatency}s simulated latency, sent in batches of ${benchmarkBatchSize}`);
+    io:println(string `  throughput:          ${throughput.round(1)} messages/s`);
+    io:println(string `  dispatch overhead:   ${overhead.round(1)} us/message, one message at a time`);
+    io:println(string `  end-to-end latency:  p50 ${percentileMillis(latencies, 50)} ms, p99 ${
+        percentileMillis(latencies, 99)} ms`);
+}
+
+function startBenchmarkListener(string queueUrl, int maxConcurrency = 10) returns Listener|error {
+    lock {
+        benchmarkLatencies = [];
+    }
+    Listener benchmarkListener = check new (benchmarkConfig, {pollInterval: 0.001, waitTime: 1, maxConcurrency});
+    Service benchmarkService = @ServiceConfig {
+        queueUrl,
+        autoDelete: true
+    } service object {
+        isolated remote function onMessage(Message message) returns error? {
+            int receivedAt = nanoTime();
+            string body = message.body ?: "";
+            int sentAt = check int:fromString(body.substring(0, body.indexOf(":") ?: body.length()));
+            lock {
+                benchmarkLatencies.push(receivedAt - sentAt);
+            }
+        }
+    };
+    check benchmarkListener.attach(benchmarkService);
+    check benchmarkListener.'start();
+    return benchmarkListener;
+}
+
+function sendBenchmarkBatch(Client producer, string queueUrl) returns error? {
+    SendMessageBatchEntry[] entries = from int i in 0 ..< benchmarkBatchSize
+        select {id: i.toString(), body: string `${nanoTime()}:${benchmarkPadding}`};
+    SendMessageBatchResponse response = check producer->sendMessageBatch(queueUrl, entries);
+    test:assertEquals(response.failed.length(), 0, "Expected the benchmark messages to be sent");
+}
+
+function awaitBenchmarkMessages() returns error? {
+    int expected = benchmarkMessages / benchmarkBatchSize * benchmarkBatchSize;
+    foreach int attempt in 0 ..< 60000 {
+        lock {
+            if benchmarkLatencies.length() >= expected {
+                return;
+            }
+        }
+        runtime:sleep(0.001);
+    }
+    int received;
+    lock {
+        received = benchmarkLatencies.length();
+    }
+    test:assertFail(string `Only ${received} of ${expected} messages were received`);
+}
+
+function percentileMillis(int[] sortedLatencies, int percentile) returns decimal {
+    if sortedLatencies.length() == 0 {
+        return 0;
+    }
+    int index = int:min(sortedLatencies.length() * percentile / 100, sortedLatencies.length() - 1);
+    return (<decimal>sortedLatencies[index] / 1e6d).round(3);
+}
+
+isolated function getEnvOrDefault(string name, string defaultValue) returns string {
+    string value = os:getEnv(name);
+    return value == "" ? defaultValue : value;
+}
+
+isolated function nanoTime() returns int = @java:Method {
+    name: "nanoTime",
+    'class: "java.lang.System"
+} external;
@@ -48,6 +48,86 @@ isolated function testInitUsingProfileAuth() returns error? {
     check sqsClient->close();
 }
 
+@test:Config {
+    groups: ["init"]
+}
+isolated function testInitWithApacheHttpClient() returns error? {
+    Client sqsClient = check new ({
+        region: awsRegion,
+        auth: staticAuth,
+        httpClient: {maxConnections: 200, connectionTimeToLive: 60, tcpKeepAlive: true}
+    });
+    ListQueuesResponse _ = check sqsClient->listQueues();
+    check sqsClient->close();
+}
+
+@test:Config {
+    groups: ["init"]
+}
+isolated function testInitWithUrlConnectionHttpClient() returns error? {
+    Client sqsClient = check new ({
+        region: awsRegion,
+        auth: staticAuth,
+        httpClient: {clientType: URL_CONNECTION, socketTimeout: 40}
+    });
+    ListQueuesResponse _ = check sqsClient->listQueues();
+    check sqsClient->close();
+}
+
+@test:Config {
+    groups: ["init"]
+}
+isolated function testInitWithRetryAndRateLimit() returns error? {
+    Client sqsClient = check new ({
+        region: awsRegion,
+        auth: staticAuth,
+        retryConfig: {mode: ADAPTIVE, maxAttempts: 5, baseDelay: 0.05, maxBackoff: 2},
+        rateLimit: {requestsPerSecond: 5, burst: 2}
+    });
+    foreach int i in 0 ..< 4 {
+        ListQueuesResponse _ = check sqsClient->listQueues();
+    }
+    check sqsClient->close();
+}
+
+@test:Config {
+    dependsOn: [testCreateStandardQueue],
+    groups: ["sendMessage"]
+}
+function testSendMessageWithTimeoutsAndHedging() returns error? {
+    Client hedgingClient = check new ({
+        region: awsRegion,
+        auth: staticAuth,
+        timeouts: {
+            send: {apiCallTimeout: 5, apiCallAttemptTimeout: 2},
+            management: {apiCallTimeout: 10}
+        },
+        sendHedging: {initialDelay: 0.2}
+    });
+    foreach int i in 0 ..< 3 {
+        SendMessageResponse response = check hedgingClient->sendMessage(standardQueueUrl, "hedged-msg-" + i.toString());
+        test:assertTrue(response.messageId.length() > 0, "Expected a message ID");
+    }
+    check hedgingClient->close();
+}
+
+@test:Config {
+    groups: ["init"]
+}
+isolated function testClientsWithSameConfigShareConnection() returns error? {
+    ConnectionConfig connectionConfig = {
+        region: awsRegion,
+        auth: staticAuth
+    };
+    Client first = check new (connectionConfig);
+    Client second = check new ({...connectionConfig, queueUrlCache: {}});
+    check first->close();
+    ListQueuesResponse _ = check second->listQueues();
+    check second->close();
+    ListQueuesResponse|Error closed = first->listQueues();
+    test:assertTrue(closed is Error, "A closed client should not be usable");
+}
+
 @test:Config {
     groups: ["createQueue"]
 }
@@ -583,6 +663,36 @@ function testReceiveMessageWithAllOptionalConfigs() returns error? {
     test:assertTrue(result.length() >= 0);
 }
 
+@test:Config {
+    groups: ["receiveMessage"]
+}
+function testReceiveStream() returns error? {
+    string queueUrl = check sqsClient->createQueue("test-receive-stream-queue");
+    foreach int i in 0 ..< 3 {
+        SendMessageResponse _ = check sqsClient->sendMessage(queueUrl, "stream-msg-" + i.toString());
+    }
+    stream<Message, Error?> messages = sqsClient->receiveStream(queueUrl, prefetchPolls = 2, bufferSize = 2);
+    foreach int i in 0 ..< 3 {
+        record {|Message value;|}? next = check messages.next();
+        test:assertTrue(next is record {|Message value;|}, "Expected the stream to yield a message");
+        if next is record {|Message value;|} {
+            check sqsClient->deleteMessage(queueUrl, check next.value.receiptHandle.ensureType());
+        }
+    }
+    check messages.close();
+    check sqsClient->deleteQueue(queueUrl);
+}
+
+@test:Config {
+    groups: ["receiveMessage"]
+}
+function testReceiveStreamInvalidQueueUrl() returns error? {
+    string queueUrl = "https://sqs.eu-fake-99.amazonaws.com/111111111111/BadQueue";
+    stream<Message, Error?> messages = sqsClient->receiveStream(queueUrl);
+    record {|Message value;|}|Error? result = messages.next();
+    test:assertTrue(result is Error, "Expected the stream to end with an error");
+}
+
 @test:Config {
     dependsOn: [testCreateStandardQueue],
     groups: ["deleteMessage"]
@@ -839,6 +949,20 @@ isolated function testListQueuesPagination() returns error? {
     }
 }
 
+@test:Config {
+    dependsOn: [testCreateStandardQueue, testCreateQueueForAttributeTest],
+    groups: ["listQueues"]
+}
+function testListAllQueues() returns error? {
+    stream<string, Error?> queueUrls = sqsClient->listAllQueues("test-");
+    string[] urls = check from string url in queueUrls select url;
+    test:assertTrue(urls.indexOf(standardQueueUrl) !is (), "Expected the standard queue to be listed");
+    test:assertTrue(urls.indexOf(testAttributesQueueUrl) !is (), "Expected the attributes queue to be listed");
+    foreach string url in urls {
+        test:assertTrue(url.includes("/test-"), "Listed queue does not match the prefix: " + url);
+    }
+}
+
 @test:Config {
     dependsOn: [testCreateStandardQueue],
     groups: ["getQueueUrl"]
@@ -850,6 +974,25 @@ function testGetQueueUrl() returns error? {
     test:assertEquals(result, expectedQueueUrl, "Returned queue URL does not match the expected value.");
 }
 
+@test:Config {
+    dependsOn: [testCreateStandardQueue],
+    groups: ["getQueueUrl"]
+}
+function testGetQueueUrlWithCache() returns error? {
+    Client cachingClient = check new ({
+        region: awsRegion,
+        auth: staticAuth,
+        queueUrlCache: {maxEntries: 10, ttl: 60}
+    });
+    string first = check cachingClient->getQueueUrl("test-queue");
+    string second = check cachingClient->getQueueUrl("test-queue");
+    test:assertEquals(first, standardQueueUrl, "Returned queue URL does not match the expected value.");
+    test:assertEquals(second, first, "Cached queue URL does not match the resolved value.");
+    string|Error missing = cachingClient->getQueueUrl("TestQueue2");
+    test:assertTrue(missing is Error, "Non-existent queues should not be cached");
+    check cachingClient->close();
+}
+
 @test:Config {
     groups: ["getQueueUrl"]
 }
@@ -1060,6 +1203,27 @@ isolated function testDeleteNonExistentQueue() returns error? {
     }
 }
 
+@test:Config {
+    groups: ["getQueueAttributes"]
+}
+function testGetQueueAttributesWithCache() returns error? {
+    Client cachingClient = check new ({
+        region: awsRegion,
+        auth: staticAuth,
+        queueAttributesCache: {ttl: 60}
+    });
+    string queueUrl = check cachingClient->createQueue("test-attributes-cache-queue");
+    GetQueueAttributesConfig config = {attributeNames: [VISIBILITY_TIMEOUT]};
+    GetQueueAttributesResponse first = check cachingClient->getQueueAttributes(queueUrl, config);
+    test:assertEquals(first.queueAttributes["VisibilityTimeout"], "30");
+
+    check cachingClient->setQueueAttributes(queueUrl, {visibilityTimeout: 45});
+    GetQueueAttributesResponse second = check cachingClient->getQueueAttributes(queueUrl, config);
+    test:assertEquals(second.queueAttributes["VisibilityTimeout"], "45",
+            "setQueueAttributes should invalidate the cached attributes");
+    check cachingClient->close();
+}
+
 @test:Config {
     groups: ["policy"]
 }
@@ -0,0 +1,861 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/lang.runtime;
+import ballerina/test;
+
+// These tests run against the in-memory transport whatever the test environment, as they check its own semantics.
+final Client inMemoryClient = check new (inMemoryConnectionConfig);
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryVisibilityTimeout() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-visibility");
+    _ = check inMemoryClient->sendMessage(queueUrl, "visibility");
+
+    Message[] first = check inMemoryClient->receiveMessage(queueUrl, {visibilityTimeout: 1});
+    test:assertEquals(first.length(), 1);
+    Message[] hidden = check inMemoryClient->receiveMessage(queueUrl);
+    test:assertEquals(hidden.length(), 0, "An in-flight message must not be received again");
+
+    runtime:sleep(1.2);
+    Message[] second = check inMemoryClient->receiveMessage(queueUrl, {
+        messageSystemAttributeNames: [APPROXIMATE_RECEIVE_COUNT]
+    });
+    test:assertEquals(second.length(), 1, "The message must be visible again after its visibility timeout");
+    test:assertEquals(second[0].messageId, first[0].messageId);
+    test:assertEquals(second[0].messageSystemAttributes?.approximateReceiveCount, 2);
+
+    check inMemoryClient->deleteMessage(queueUrl, <string>second[0].receiptHandle);
+    runtime:sleep(1.2);
+    Message[] deleted = check inMemoryClient->receiveMessage(queueUrl);
+    test:assertEquals(deleted.length(), 0, "A deleted message must not be received again");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryReceiveStreamClose() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-stream-close");
+    foreach int i in 0 ..< 3 {
+        _ = check inMemoryClient->sendMessage(queueUrl, string `stream ${i}`);
+    }
+    stream<Message, Error?> messages = inMemoryClient->receiveStream(queueUrl, waitTimeSeconds = 1, prefetchPolls = 2);
+    record {|Message value;|}? next = check messages.next();
+    test:assertTrue(next is record {|Message value;|});
+    check messages.close();
+    // Messages sent while a poll is still in flight are released by the poller itself.
+    _ = check inMemoryClient->sendMessage(queueUrl, "stream 3");
+    runtime:sleep(1.2);
+
+    // The messages buffered but not consumed are visible again right away.
+    Message[] released = [];
+    int attempts = 0;
+    while released.length() < 3 && attempts < 10 {
+        released.push(...check inMemoryClient->receiveMessage(queueUrl, {maxNumberOfMessages: 10}));
+        attempts += 1;
+    }
+    test:assertEquals(released.length(), 3, "The messages not consumed must be released on close");
+    test:assertEquals(check messages.next(), ());
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryFifoGroups() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-groups.fifo", {
+        queueAttributes: {fifoQueue: true, contentBasedDeduplication: true}
+    });
+    _ = check inMemoryClient->sendMessage(queueUrl, "a1", {messageGroupId: "a"});
+    _ = check inMemoryClient->sendMessage(queueUrl, "a2", {messageGroupId: "a"});
+    _ = check inMemoryClient->sendMessage(queueUrl, "b1", {messageGroupId: "b"});
+
+    Message[] a1 = check inMemoryClient->receiveMessage(queueUrl, {maxNumberOfMessages: 1});
+    test:assertEquals(a1[0].body, "a1");
+    // Group `a` is held back while `a1` is in flight.
+    Message[] b1 = check inMemoryClient->receiveMessage(queueUrl, {maxNumberOfMessages: 1});
+    test:assertEquals(b1[0].body, "b1");
+    Message[] none = check inMemoryClient->receiveMessage(queueUrl, {maxNumberOfMessages: 1});
+    test:assertEquals(none.length(), 0);
+
+    check inMemoryClient->deleteMessage(queueUrl, <string>a1[0].receiptHandle);
+    Message[] a2 = check inMemoryClient->receiveMessage(queueUrl, {
+        maxNumberOfMessages: 1,
+        messageSystemAttributeNames: [MESSAGE_GROUP_ID]
+    });
+    test:assertEquals(a2[0].body, "a2");
+    test:assertEquals(a2[0].messageSystemAttributes?.messageGroupId, "a");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryFifoDeduplication() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-deduplication.fifo", {
+        queueAttributes: {fifoQueue: true}
+    });
+    SendMessageResponse first = check inMemoryClient->sendMessage(queueUrl, "once", {
+        messageGroupId: "g",
+        messageDeduplicationId: "d"
+    });
+    SendMessageResponse duplicate = check inMemoryClient->sendMessage(queueUrl, "once", {
+        messageGroupId: "g",
+        messageDeduplicationId: "d"
+    });
+    test:assertEquals(duplicate.messageId, first.messageId, "A duplicate must not be enqueued again");
+
+    SendMessageResponse|Error noDeduplicationId = inMemoryClient->sendMessage(queueUrl, "twice", {messageGroupId: "g"});
+    test:assertTrue(noDeduplicationId is Error,
+            "A deduplication ID is required without content-based deduplication");
+
+    Message[] received = check inMemoryClient->receiveMessage(queueUrl, {maxNumberOfMessages: 10});
+    test:assertEquals(received.length(), 1);
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryRedrive() returns error? {
+    string dlqUrl = check inMemoryClient->createQueue("in-memory-redrive-dlq");
+    GetQueueAttributesResponse dlqAttributes = check inMemoryClient->getQueueAttributes(dlqUrl, {
+        attributeNames: [QUEUE_ARN]
+    });
+    string dlqArn = <string>dlqAttributes.queueAttributes["QueueArn"];
+    string queueUrl = check inMemoryClient->createQueue("in-memory-redrive", {
+        queueAttributes: {redrivePolicy: {deadLetterTargetArn: dlqArn, maxReceiveCount: 1}}
+    });
+    _ = check inMemoryClient->sendMessage(queueUrl, "poison");
+
+    Message[] first = check inMemoryClient->receiveMessage(queueUrl, {visibilityTimeout: 0});
+    test:assertEquals(first.length(), 1);
+    Message[] second = check inMemoryClient->receiveMessage(queueUrl);
+    test:assertEquals(second.length(), 0, "The message must be moved once received maxReceiveCount times");
+
+    Message[] deadLettered = check inMemoryClient->receiveMessage(dlqUrl, {
+        messageSystemAttributeNames: [DEAD_LETTER_QUEUE_SOURCE_ARN]
+    });
+    test:assertEquals(deadLettered.length(), 1);
+    test:assertEquals(deadLettered[0].body, "poison");
+    test:assertTrue((deadLettered[0].messageSystemAttributes?.deadLetterQueueSourceArn ?: "").endsWith(
+            ":in-memory-redrive"));
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryBatchValidation() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-batches");
+    SendMessageBatchEntry[] tooMany = from int i in 0 ..< 11
+        select {id: i.toString(), body: "message " + i.toString()};
+    SendMessageBatchResponse|Error tooManyResult = inMemoryClient->sendMessageBatch(queueUrl, tooMany);
+    test:assertTrue(tooManyResult is Error, "A batch of more than 10 entries must be rejected");
+
+    SendMessageBatchResponse|Error duplicateIdsResult = inMemoryClient->sendMessageBatch(queueUrl, [
+        {id: "same", body: "first"},
+        {id: "same", body: "second"}
+    ]);
+    test:assertTrue(duplicateIdsResult is Error, "A batch with duplicate entry IDs must be rejected");
+
+    SendMessageBatchResponse sent = check inMemoryClient->sendMessageBatch(queueUrl, tooMany.slice(0, 10));
+    test:assertEquals(sent.successful.length(), 10);
+    Message[] received = check inMemoryClient->receiveMessage(queueUrl, {maxNumberOfMessages: 10});
+    test:assertEquals(received.length(), 10);
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryCacheValidation() returns error? {
+    Client|Error noEntries = new ({...inMemoryConnectionConfig, queueUrlCache: {maxEntries: 0}});
+    test:assertTrue(noEntries is Error, "A cache without entries must be rejected");
+
+    Client|Error negativeTtl = new ({...inMemoryConnectionConfig, queueAttributesCache: {ttl: -1}});
+    test:assertTrue(negativeTtl is Error, "A cache with a negative TTL must be rejected");
+
+    Client cached = check new ({...inMemoryConnectionConfig, queueUrlCache: {maxEntries: 1, ttl: 1}});
+    check cached->close();
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryListenerConcurrency() returns error? {
+    string isolatedQueueUrl = check inMemoryClient->createQueue("in-memory-isolated-service");
+    string nonIsolatedQueueUrl = check inMemoryClient->createQueue("in-memory-non-isolated-service");
+    final ConcurrencyTracker isolatedTracker = new;
+    final ConcurrencyTracker nonIsolatedTracker = new;
+
+    Listener concurrencyListener = check new (inMemoryConnectionConfig, {pollInterval: 0.01, maxConcurrency: 4});
+    Service isolatedService = @ServiceConfig {
+        queueUrl: isolatedQueueUrl
+    } service object {
+        isolated remote function onMessage(Message message) {
+            isolatedTracker.handle();
+        }
+    };
+    Service nonIsolatedService = @ServiceConfig {
+        queueUrl: nonIsolatedQueueUrl
+    } service object {
+        remote function onMessage(Message message) {
+            nonIsolatedTracker.handle();
+        }
+    };
+    check concurrencyListener.attach(isolatedService);
+    check concurrencyListener.attach(nonIsolatedService);
+    foreach int i in 0 ..< 8 {
+        _ = check inMemoryClient->sendMessage(isolatedQueueUrl, i.toString());
+        _ = check inMemoryClient->sendMessage(nonIsolatedQueueUrl, i.toString());
+    }
+    check concurrencyListener.'start();
+
+    int attempts = 0;
+    while (isolatedTracker.handled() < 8 || nonIsolatedTracker.handled() < 8) && attempts < 100 {
+        runtime:sleep(0.1);
+        attempts += 1;
+    }
+    check concurrencyListener.gracefulStop();
+    test:assertEquals(isolatedTracker.handled(), 8);
+    test:assertEquals(nonIsolatedTracker.handled(), 8);
+    test:assertTrue(isolatedTracker.maxActive() > 1, "An isolated service must process messages concurrently");
+    test:assertTrue(isolatedTracker.maxActive() <= 4, "An isolated service must not exceed maxConcurrency");
+    test:assertEquals(nonIsolatedTracker.maxActive(), 1, "A non-isolated service must process one message at a time");
+}
+
+isolated class ConcurrencyTracker {
+    private int active = 0;
+    private int peak = 0;
+    private int count = 0;
+
+    isolated function handle() {
+        lock {
+            self.active += 1;
+            if self.active > self.peak {
+                self.peak = self.active;
+            }
+        }
+        runtime:sleep(0.2);
+        lock {
+            self.active -= 1;
+            self.count += 1;
+        }
+    }
+
+    isolated function handled() returns int {
+        lock {
+            return self.count;
+        }
+    }
+
+    isolated function maxActive() returns int {
+        lock {
+            return self.peak;
+        }
+    }
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryListenerFifoOrder() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-isolated-service.fifo", {
+        queueAttributes: {fifoQueue: true, contentBasedDeduplication: true}
+    });
+    foreach int i in 0 ..< 5 {
+        _ = check inMemoryClient->sendMessage(queueUrl, string `a:${i}`, {messageGroupId: "a"});
+        _ = check inMemoryClient->sendMessage(queueUrl, string `b:${i}`, {messageGroupId: "b"});
+    }
+    final OrderRecorder recorder = new;
+    Listener fifoListener = check new (inMemoryConnectionConfig, {pollInterval: 0.01, maxConcurrency: 10});
+    Service fifoService = @ServiceConfig {
+        queueUrl
+    } service object {
+        isolated remote function onMessage(Message message) {
+            recorder.handle(message.body ?: "");
+        }
+    };
+    check fifoListener.attach(fifoService);
+    check fifoListener.'start();
+
+    int attempts = 0;
+    while recorder.handled() < 10 && attempts < 100 {
+        runtime:sleep(0.1);
+        attempts += 1;
+    }
+    check fifoListener.gracefulStop();
+    test:assertEquals(recorder.bodies("a"), ["a:0", "a:1", "a:2", "a:3", "a:4"],
+            "The messages of a group must be processed in order");
+    test:assertEquals(recorder.bodies("b"), ["b:0", "b:1", "b:2", "b:3", "b:4"],
+            "The messages of a group must be processed in order");
+}
+
+isolated class OrderRecorder {
+    private final string[] order = [];
+
+    isolated function handle(string body) {
+        // The earlier messages of a group take longer, so that processing them concurrently would reorder them.
+        int index = checkpanic int:fromString(body.substring(2));
+        runtime:sleep(<decimal>(5 - index) * 0.02);
+        lock {
+            self.order.push(body);
+        }
+    }
+
+    isolated function handled() returns int {
+        lock {
+            return self.order.length();
+        }
+    }
+
+    isolated function bodies(string group) returns string[] {
+        string[] order;
+        lock {
+            order = self.order.clone();
+        }
+        return from string body in order
+            where body.startsWith(group + ":")
+            select body;
+    }
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryListenerLongPollClient() returns error? {
+    // A configuration of its own, so that the listener does not share clients with the other tests.
+    ConnectionConfig config = {...inMemoryConnectionConfig, inMemory: {maxMessagesPerReceive: 9}};
+    int initialClients = nativeClientCount();
+    Listener longPollListener = check new (config, {pollInterval: 0.01}, {longPollMaxConnections: 20});
+    check longPollListener.'start();
+    test:assertEquals(nativeClientCount(), initialClients + 2,
+            "The long polls must have a client of their own, apart from the short requests");
+
+    // A client of the same configuration shares the short-request client of the listener.
+    Client client = check new (config);
+    test:assertEquals(nativeClientCount(), initialClients + 2);
+    check client->close();
+    test:assertEquals(nativeClientCount(), initialClients + 2);
+
+    check longPollListener.gracefulStop();
+    test:assertEquals(nativeClientCount(), initialClients, "Both clients must be closed with the listener");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryListenerLongPollConnectionLimit() returns error? {
+    string firstQueueUrl = check inMemoryClient->createQueue("in-memory-long-poll-limit-1");
+    string secondQueueUrl = check inMemoryClient->createQueue("in-memory-long-poll-limit-2");
+    Listener limitedListener = check new (inMemoryConnectionConfig, {pollInterval: 0.01}, {longPollMaxConnections: 1});
+    Service firstService = @ServiceConfig {
+        queueUrl: firstQueueUrl
+    } service object {
+        remote function onMessage(Message message) {
+        }
+    };
+    Service secondService = @ServiceConfig {
+        queueUrl: secondQueueUrl
+    } service object {
+        remote function onMessage(Message message) {
+        }
+    };
+    Service shardedService = @ServiceConfig {
+        queueUrl: [firstQueueUrl, secondQueueUrl]
+    } service object {
+        remote function onMessage(Message message) {
+        }
+    };
+    check limitedListener.attach(firstService);
+    error? second = limitedListener.attach(secondService);
+    test:assertTrue(second is Error, "A receiver must not wait for a long-poll connection held by another");
+
+    // A detached service gives its connection back.
+    check limitedListener.detach(firstService);
+    error? sharded = limitedListener.attach(shardedService);
+    test:assertTrue(sharded is Error, "Each shard of a sharded queue must have a long-poll connection");
+    check limitedListener.attach(secondService);
+    check limitedListener.'start();
+    check limitedListener.gracefulStop();
+}
+
+isolated function nativeClientCount() returns int = @java:Method {
+    name: "size",
+    'class: "io.ballerina.lib.aws.sqs.client.SqsClientPool"
+} external;
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryListenerIdempotency() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-idempotent-service");
+    final ConcurrencyTracker tracker = new;
+
+    Listener idempotentListener = check new (inMemoryConnectionConfig, {pollInterval: 0.01});
+    Service idempotentService = @ServiceConfig {
+        queueUrl,
+        idempotency: {keyAttribute: "idempotencyKey"}
+    } service object {
+        isolated remote function onMessage(Message message) {
+            tracker.handle();
+        }
+    };
+    check idempotentListener.attach(idempotentService);
+    check idempotentListener.'start();
+
+    // The same order sent twice, as a producer retrying after a timeout would.
+    foreach int i in 0 ..< 2 {
+        _ = check inMemoryClient->sendMessage(queueUrl, "order", {
+            messageAttributes: {idempotencyKey: {dataType: "String", stringValue: "order-1"}}
+        });
+        runtime:sleep(1);
+    }
+    _ = check inMemoryClient->sendMessage(queueUrl, "other order", {
+        messageAttributes: {idempotencyKey: {dataType: "String", stringValue: "order-2"}}
+    });
+    runtime:sleep(1);
+    check idempotentListener.gracefulStop();
+
+    test:assertEquals(tracker.handled(), 2, "A redelivered message must not be processed again");
+    GetQueueAttributesResponse attributes = check inMemoryClient->getQueueAttributes(queueUrl, {
+        attributeNames: [APPROXIMATE_NUMBER_OF_MESSAGES, APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE]
+    });
+    test:assertEquals(attributes.queueAttributes["ApproximateNumberOfMessages"], "0");
+    test:assertEquals(attributes.queueAttributes["ApproximateNumberOfMessagesNotVisible"], "0",
+            "A skipped redelivery must still be deleted");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryListenerIdempotencyWithoutAck() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-idempotent-no-ack");
+    final ConcurrencyTracker tracker = new;
+
+    Listener idempotentListener = check new (inMemoryConnectionConfig, {pollInterval: 0.01, visibilityTimeout: 1});
+    Service idempotentService = @ServiceConfig {
+        queueUrl,
+        autoDelete: false,
+        idempotency: {keyAttribute: "idempotencyKey"}
+    } service object {
+        isolated remote function onMessage(Message message, Caller caller) returns error? {
+            tracker.handle();
+            // The first delivery is left in the queue, as by a service that could not process it yet.
+            if tracker.handled() > 1 {
+                check caller->delete();
+            }
+        }
+    };
+    check idempotentListener.attach(idempotentService);
+    check idempotentListener.'start();
+
+    _ = check inMemoryClient->sendMessage(queueUrl, "order", {
+        messageAttributes: {idempotencyKey: {dataType: "String", stringValue: "order-1"}}
+    });
+    runtime:sleep(2);
+    test:assertEquals(tracker.handled(), 2, "A message left in the queue must be processed again");
+
+    // Deleted through the Caller, the order is now remembered.
+    _ = check inMemoryClient->sendMessage(queueUrl, "order", {
+        messageAttributes: {idempotencyKey: {dataType: "String", stringValue: "order-1"}}
+    });
+    runtime:sleep(1);
+    check idempotentListener.gracefulStop();
+
+    test:assertEquals(tracker.handled(), 2, "A message deleted through the Caller must not be processed again");
+    GetQueueAttributesResponse attributes = check inMemoryClient->getQueueAttributes(queueUrl, {
+        attributeNames: [APPROXIMATE_NUMBER_OF_MESSAGES, APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE]
+    });
+    test:assertEquals(attributes.queueAttributes["ApproximateNumberOfMessages"], "0");
+    test:assertEquals(attributes.queueAttributes["ApproximateNumberOfMessagesNotVisible"], "0");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryContentDeduplication() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-content-deduplication.fifo", {
+        queueAttributes: {fifoQueue: true}
+    });
+    SendMessageResponse first = check inMemoryClient->sendMessage(queueUrl, "order", {
+        messageGroupId: "g",
+        messageAttributes: {tenant: {dataType: "String", stringValue: "a"}},
+        contentDeduplication: {attributes: ["tenant"]}
+    });
+    SendMessageResponse sameContent = check inMemoryClient->sendMessage(queueUrl, "order", {
+        messageGroupId: "g",
+        messageAttributes: {tenant: {dataType: "String", stringValue: "a"}},
+        contentDeduplication: {attributes: ["tenant"]}
+    });
+    test:assertEquals(sameContent.messageId, first.messageId, "The same content must be deduplicated");
+
+    SendMessageResponse otherAttribute = check inMemoryClient->sendMessage(queueUrl, "order", {
+        messageGroupId: "g",
+        messageAttributes: {tenant: {dataType: "String", stringValue: "b"}},
+        contentDeduplication: {attributes: ["tenant"]}
+    });
+    test:assertNotEquals(otherAttribute.messageId, first.messageId,
+            "A different selected attribute must not be deduplicated");
+
+    SendMessageBatchResponse batch = check inMemoryClient->sendMessageBatch(queueUrl, [
+        {id: "1", body: "batched order", messageGroupId: "g", contentDeduplication: {}},
+        {id: "2", body: "batched order", messageGroupId: "g", contentDeduplication: {}},
+        {id: "3", body: "order", messageGroupId: "g", contentDeduplication: {}}
+    ]);
+    test:assertEquals(batch.successful.length(), 3);
+    test:assertEquals(batch.successful[1].messageId, batch.successful[0].messageId);
+    test:assertNotEquals(batch.successful[2].messageId, batch.successful[0].messageId);
+
+    Message[] received = check inMemoryClient->receiveMessage(queueUrl, {maxNumberOfMessages: 10});
+    test:assertEquals(received.map(m => m.body), ["order", "order", "batched order", "order"]);
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryShardedQueue() returns error? {
+    string[] shardUrls = [];
+    foreach int i in 0 ..< 3 {
+        shardUrls.push(check inMemoryClient->createQueue(string `in-memory-shard-${i}`));
+    }
+    ShardedClient shardedClient = check new (inMemoryClient, shardUrls);
+
+    // Messages of the same shard key always go to the same shard.
+    foreach int i in 0 ..< 5 {
+        _ = check shardedClient->sendMessage("keyed", shardKey = "customer-42");
+    }
+    int[] keyedCounts = [];
+    foreach string shardUrl in shardUrls {
+        GetQueueAttributesResponse attributes = check inMemoryClient->getQueueAttributes(shardUrl, {
+            attributeNames: [APPROXIMATE_NUMBER_OF_MESSAGES]
+        });
+        keyedCounts.push(check int:fromString(attributes.queueAttributes["ApproximateNumberOfMessages"] ?: "0"));
+    }
+    test:assertEquals(keyedCounts.filter(count => count == 5).length(), 1);
+    test:assertEquals(keyedCounts.filter(count => count == 0).length(), 2);
+
+    // Messages without a key are spread across the shards.
+    foreach int i in 0 ..< 6 {
+        _ = check shardedClient->sendMessage("unkeyed");
+    }
+    SendMessageBatchResponse batch = check shardedClient->sendMessageBatch([
+        {id: "1", body: "batched"},
+        {id: "2", body: "batched"}
+    ]);
+    test:assertEquals(batch.successful.length(), 2);
+    test:assertEquals(batch.failed.length(), 0);
+
+    final ConcurrencyTracker tracker = new;
+    Listener shardedListener = check new (inMemoryConnectionConfig, {pollInterval: 0.01});
+    Service shardedService = @ServiceConfig {
+        queueUrl: shardUrls
+    } service object {
+        isolated remote function onMessage(Message message) {
+            tracker.handle();
+        }
+    };
+    check shardedListener.attach(shardedService);
+    check shardedListener.'start();
+    int attempts = 0;
+    while tracker.handled() < 13 && attempts < 100 {
+        runtime:sleep(0.1);
+        attempts += 1;
+    }
+    check shardedListener.gracefulStop();
+    test:assertEquals(tracker.handled(), 13, "All the shards must be consumed");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryOutbox() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-outbox");
+    Client outboxClient = check new ({
+        ...inMemoryConnectionConfig,
+        outbox: {directory: "target/in-memory-outbox", mode: ALWAYS, replayInterval: 0.05}
+    });
+    // The outbox in use sends with the settings it was opened with, hence cannot be shared with others.
+    Client|Error otherOutbox = new ({
+        ...inMemoryConnectionConfig,
+        outbox: {directory: "target/in-memory-outbox", mode: ALWAYS, replayInterval: 1}
+    });
+    test:assertTrue(otherOutbox is Error, "An outbox in use must not be shared with a different configuration");
+    Client|Error otherConnection = new ({
+        ...inMemoryConnectionConfig,
+        inMemory: {latency: 0.01},
+        outbox: {directory: "target/in-memory-outbox", mode: ALWAYS, replayInterval: 0.05}
+    });
+    test:assertTrue(otherConnection is Error, "An outbox in use must not be shared with a different connection");
+    foreach int i in 0 ..< 12 {
+        SendMessageResponse response = check outboxClient->sendMessage(queueUrl, string `deferred ${i}`);
+        test:assertEquals(response.deferred, true);
+    }
+
+    string[] bodies = [];
+    int attempts = 0;
+    while bodies.length() < 12 && attempts < 50 {
+        Message[] received = check inMemoryClient->receiveMessage(queueUrl, {maxNumberOfMessages: 10});
+        foreach Message message in received {
+            bodies.push(message.body ?: "");
+            check inMemoryClient->deleteMessage(queueUrl, message.receiptHandle ?: "");
+        }
+        runtime:sleep(0.05);
+        attempts += 1;
+    }
+    check outboxClient->close();
+    test:assertEquals(bodies.length(), 12, "The outbox must send all its messages");
+
+    // Without failures, the messages are sent right away.
+    Client onFailureClient = check new ({...inMemoryConnectionConfig, outbox: {directory: "target/in-memory-outbox"}});
+    SendMessageResponse response = check onFailureClient->sendMessage(queueUrl, "direct");
+    test:assertEquals(response.deferred, ());
+    check onFailureClient->close();
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryAggregatedMessages() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-aggregated");
+    string[] records = [];
+    foreach int i in 0 ..< 100 {
+        records.push(string `event ${i}: {"amount": ${i}}`);
+    }
+    SendAggregatedMessagesResponse response = check inMemoryClient->sendAggregatedMessages(queueUrl, records, {
+        messageAttributes: {tenant: {dataType: "String", stringValue: "a"}}
+    });
+    test:assertEquals(response.successful.length(), 1, "Small records must share a single message");
+    test:assertEquals(response.sentRecords, records.length());
+    test:assertTrue(response.failure is (), "A complete send must not report a failure");
+
+    Message[] received = check inMemoryClient->receiveMessage(queueUrl, {messageAttributeNames: ["tenant"]});
+    test:assertEquals(received.map(m => m.body ?: ""), records);
+    test:assertEquals(received[0].messageAttributes, {tenant: {dataType: "String", stringValue: "a"}});
+    // Deleting a record deletes the message that holds them all.
+    check inMemoryClient->deleteMessage(queueUrl, received[0].receiptHandle ?: "");
+
+    // The stream unpacks the records as well.
+    _ = check inMemoryClient->sendAggregatedMessages(queueUrl, records);
+    stream<Message, Error?> messages = inMemoryClient->receiveStream(queueUrl, waitTimeSeconds = 1, bufferSize = 1);
+    string[] streamed = [];
+    string receiptHandle = "";
+    foreach int i in 0 ..< records.length() {
+        record {|Message value;|}? next = check messages.next();
+        streamed.push(next?.value?.body ?: "");
+        receiptHandle = next?.value?.receiptHandle ?: "";
+    }
+    check messages.close();
+    check inMemoryClient->deleteMessage(queueUrl, receiptHandle);
+    test:assertEquals(streamed, records);
+
+    string largeRecord = "";
+    foreach int i in 0 ..< 1000 {
+        largeRecord += "0123456789";
+    }
+    response = check inMemoryClient->sendAggregatedMessages(queueUrl, [largeRecord, largeRecord, largeRecord]);
+    test:assertEquals(response.successful.length(), 1);
+    SendAggregatedMessagesResponse|Error tooLarge = inMemoryClient->sendAggregatedMessages(queueUrl,
+            from int i in 0 ..< 60 select largeRecord, messageDeduplicationId = "dedup");
+    test:assertTrue(tooLarge is Error, "A deduplication ID cannot span several messages");
+
+    final ConcurrencyTracker tracker = new;
+    Listener aggregatedListener = check new (inMemoryConnectionConfig, {pollInterval: 0.01});
+    Service aggregatedService = @ServiceConfig {
+        queueUrl
+    } service object {
+        isolated remote function onMessage(Message message) {
+            tracker.handle();
+        }
+    };
+    check aggregatedListener.attach(aggregatedService);
+    check aggregatedListener.'start();
+    int attempts = 0;
+    while tracker.handled() < 3 && attempts < 50 {
+        runtime:sleep(0.1);
+        attempts += 1;
+    }
+    runtime:sleep(0.5);
+    check aggregatedListener.gracefulStop();
+    test:assertEquals(tracker.handled(), 3, "Each record must be dispatched once");
+    GetQueueAttributesResponse attributes = check inMemoryClient->getQueueAttributes(queueUrl, {
+        attributeNames: [APPROXIMATE_NUMBER_OF_MESSAGES, APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE]
+    });
+    test:assertEquals(attributes.queueAttributes["ApproximateNumberOfMessages"], "0");
+    test:assertEquals(attributes.queueAttributes["ApproximateNumberOfMessagesNotVisible"], "0");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryAggregatedMessagesPartialFailure() returns error? {
+    // The queue only accepts the first message, which holds a record too large to share one with the second.
+    string queueUrl = check inMemoryClient->createQueue("in-memory-aggregated-partial", {
+        queueAttributes: {maximumMessageSize: 2048}
+    });
+    string[] records = ["".padEnd(1000, "a"), "".padEnd(261500, "b"), "c"];
+    SendAggregatedMessagesResponse response = check inMemoryClient->sendAggregatedMessages(queueUrl, records);
+    test:assertEquals(response.successful.length(), 1, "The message sent before the failure must be reported");
+    test:assertEquals(response.sentRecords, 1);
+    test:assertTrue(response.failure is Error, "The failure after the first message must be reported");
+
+    Message[] received = check inMemoryClient->receiveMessage(queueUrl);
+    test:assertEquals(received.map(m => m.body ?: ""), records.slice(0, response.sentRecords));
+    check inMemoryClient->deleteMessage(queueUrl, received[0].receiptHandle ?: "");
+
+    // Nothing sent, the failure is returned as an error.
+    SendAggregatedMessagesResponse|Error failed = inMemoryClient->sendAggregatedMessages(queueUrl,
+            records.slice(1));
+    test:assertTrue(failed is Error, "A failure before any message was sent must be returned as an error");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryClaimCheck() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-claim-check");
+    ConnectionConfig claimCheckConfig = {
+        ...inMemoryConnectionConfig,
+        claimCheck: {store: {directory: "target/in-memory-claim-check"}, threshold: 1024}
+    };
+    Client claimCheckClient = check new (claimCheckConfig);
+    string largeBody = "";
+    foreach int i in 0 ..< 500 {
+        largeBody += "0123456789";
+    }
+    _ = check claimCheckClient->sendMessage(queueUrl, largeBody);
+    _ = check claimCheckClient->sendMessageBatch(queueUrl, [
+        {id: "small", body: "small"},
+        {id: "large", body: largeBody}
+    ]);
+
+    // Without a claim check, the message only carries the key of its body.
+    Message[] received = check inMemoryClient->receiveMessage(queueUrl);
+    test:assertTrue((received[0].body ?: "").length() < 1024, "A large body must be offloaded");
+    check inMemoryClient->changeMessageVisibility(queueUrl, received[0].receiptHandle ?: "", 0);
+
+    string[] bodies = [];
+    int attempts = 0;
+    while bodies.length() < 3 && attempts < 50 {
+        foreach Message message in check claimCheckClient->receiveMessage(queueUrl, {maxNumberOfMessages: 10}) {
+            bodies.push(message.body ?: "");
+            check claimCheckClient->deleteMessage(queueUrl, message.receiptHandle ?: "");
+        }
+        attempts += 1;
+    }
+
+    // The stream reads the offloaded bodies back as well.
+    _ = check claimCheckClient->sendMessage(queueUrl, largeBody);
+    stream<Message, Error?> messages = claimCheckClient->receiveStream(queueUrl, waitTimeSeconds = 1);
+    record {|Message value;|}? next = check messages.next();
+    check messages.close();
+    test:assertEquals(next?.value?.body, largeBody);
+    check claimCheckClient->deleteMessage(queueUrl, next?.value?.receiptHandle ?: "");
+    check claimCheckClient->close();
+    test:assertEquals(bodies.sort(), [largeBody, largeBody, "small"]);
+
+    ClaimCheckConfig invalidConfig = {store: {directory: "target/in-memory-claim-check"}, threshold: 0};
+    Client|Error invalid = new ({...inMemoryConnectionConfig, claimCheck: invalidConfig});
+    test:assertTrue(invalid is Error, "A non-positive threshold must be rejected");
+
+    Client|Error missingStore = new ({
+        ...inMemoryConnectionConfig,
+        claimCheck: {store: {className: "io.ballerina.lib.aws.sqs.claimcheck.MissingBlobStore"}}
+    });
+    test:assertTrue(missingStore is Error, "A store class that cannot be loaded must be rejected");
+    Client|Error notAStore = new ({
+        ...inMemoryConnectionConfig,
+        claimCheck: {store: {className: "java.util.HashMap"}}
+    });
+    test:assertTrue(notAStore is Error, "A class that does not implement BlobStore must be rejected");
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryClaimCheckUnreadableBody() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-claim-check-unreadable");
+    Client producer = check new ({
+        ...inMemoryConnectionConfig,
+        claimCheck: {store: {directory: "target/in-memory-claim-check-producer"}, threshold: 16}
+    });
+    // A store without the producer's bodies, so that none of them can be read back.
+    Client consumer = check new ({
+        ...inMemoryConnectionConfig,
+        claimCheck: {store: {directory: "target/in-memory-claim-check-consumer"}, threshold: 16}
+    });
+    _ = check producer->sendMessage(queueUrl, "a body larger than the threshold");
+
+    Message[]|Error received = consumer->receiveMessage(queueUrl, {visibilityTimeout: 1});
+    test:assertTrue(received is Error, "The key of an unreadable body must not be returned as the body");
+
+    runtime:sleep(1.2);
+    stream<Message, Error?> messages = consumer->receiveStream(queueUrl, waitTimeSeconds = 1);
+    record {|Message value;|}|Error? next = messages.next();
+    test:assertTrue(next is Error, "The stream must end with an error at an unreadable body");
+    check messages.close();
+
+    // The message is made visible again, with its body still in the producer's store.
+    Message[] retried = [];
+    int attempts = 0;
+    while retried.length() == 0 && attempts < 50 {
+        retried = check producer->receiveMessage(queueUrl, {waitTimeSeconds: 1});
+        attempts += 1;
+    }
+    test:assertEquals(retried[0].body, "a body larger than the threshold");
+    check producer->deleteMessage(queueUrl, retried[0].receiptHandle ?: "");
+    check producer->close();
+    check consumer->close();
+}
+
+@test:Config {
+    groups: ["inMemory"]
+}
+function testInMemoryBinaryMessages() returns error? {
+    string queueUrl = check inMemoryClient->createQueue("in-memory-binary");
+    byte[] body = [0, 1, 2, 127, 128, 254, 255];
+    byte[] checksum = [222, 173, 190, 239];
+    _ = check inMemoryClient->sendBinaryMessage(queueUrl, body, {
+        messageAttributes: {checksum: {dataType: "Binary", binaryValue: checksum}}
+    });
+
+    Message[] received = check inMemoryClient->receiveMessage(queueUrl, {messageAttributeNames: ["All"]});
+    test:assertEquals(received[0].binaryBody, body);
+    test:assertEquals(received[0].messageAttributes, {checksum: {dataType: "Binary", binaryValue: checksum}});
+
+    // The bytes received are the message's own, and modifying them leaves the queued message as it is.
+    map<MessageAttributeValue> attributes = received[0].messageAttributes ?: {};
+    byte[] receivedChecksum = attributes["checksum"]?.binaryValue ?: [];
+    receivedChecksum[0] = 0;
+    check inMemoryClient->changeMessageVisibility(queueUrl, received[0].receiptHandle ?: "", 0);
+    received = check inMemoryClient->receiveMessage(queueUrl, {messageAttributeNames: ["checksum"]});
+    test:assertEquals(received[0].messageAttributes, {checksum: {dataType: "Binary", binaryValue: checksum}});
+    check inMemoryClient->deleteMessage(queueUrl, received[0].receiptHandle ?: "");
+
+    // The stream decodes the body as well.
+    _ = check inMemoryClient->sendBinaryMessage(queueUrl, body);
+    stream<Message, Error?> messages = inMemoryClient->receiveStream(queueUrl, waitTimeSeconds = 1);
+    record {|Message value;|}? next = check messages.next();
+    check messages.close();
+    test:assertEquals(next?.value?.binaryBody, body);
+    check inMemoryClient->deleteMessage(queueUrl, next?.value?.receiptHandle ?: "");
+
+    // A text body is left as it is.
+    _ = check inMemoryClient->sendMessage(queueUrl, "text");
+    received = check inMemoryClient->receiveMessage(queueUrl);
+    test:assertEquals(received[0].body, "text");
+    test:assertEquals(received[0].binaryBody, ());
+    check inMemoryClient->deleteMessage(queueUrl, received[0].receiptHandle ?: "");
+}
@@ -37,10 +37,19 @@ final readonly & auth:ProfileAuthConfig profileAuth = {
     credentialsFilePath
 };
 
+// Set `BALLERINA_AWS_TEST_AUTH_TYPE` to `inMemory` to run the tests against the in-memory transport instead of AWS.
+final readonly & ConnectionConfig inMemoryConnectionConfig = {
+    region: awsRegion,
+    auth: staticAuth,
+    inMemory: {}
+};
+
 final Client sqsClient = check initClient();
 
 isolated function initClient() returns Client|error {
-    if authType == "default" {
+    if authType == "inMemory" {
+        return new (inMemoryConnectionConfig);
+    } else if authType == "default" {
         return new ({
             region: awsRegion,
             auth: auth:DEFAULT_CREDENTIALS
@@ -38,7 +38,7 @@ string testQueue13Url = "";
 string testQueue14Url = "";
 string testQueue15Url = "";
 
-ConnectionConfig connectionConfig = {
+ConnectionConfig connectionConfig = authType == "inMemory" ? inMemoryConnectionConfig : {
     region: awsRegion,
     auth: staticAuth
 };
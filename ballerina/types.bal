@@ -27,10 +27,246 @@ import ballerinax/aws.auth;
 # string (e.g., `"us-east-1"`) for regions not yet in the enum
 # + endpoint - Optional endpoint options: FIPS/dualstack variants, or a custom
 # endpoint override (e.g. LocalStack, VPC interface endpoints)
+# + queueUrlCache - Enables caching of the queue URLs resolved by `getQueueUrl` in the client.
+# Not applicable to the `sqs:Listener`
+# + queueAttributesCache - Enables caching of the queue attributes retrieved by `getQueueAttributes`
+# in the client. Not applicable to the `sqs:Listener`
+# + httpClient - Optional HTTP transport configuration: the HTTP client implementation, its connection
+# pool and timeouts. The SDK's default Apache client settings are used when not set
+# + publishSdkMetrics - Whether the AWS SDK's own per-call metrics, such as retries, backoff delays, service
+# call latency and connection pool wait times, are published along with the connector's metrics. Applies only
+# when Ballerina metrics are enabled
+# + retryConfig - Optional retry behaviour of the SQS API calls. The SDK's standard retry strategy is used when not set
+# + rateLimit - Optional client-side limit on the rate of SQS API call attempts, retries included. It is shared by
+# all the operations of the clients and listeners created with the same connection configuration
+# + timeouts - Optional timeouts of the SQS API calls, per operation family
+# + sendHedging - Enables hedged `sendMessage` calls in the client. Not applicable to the `sqs:Listener`
+# + outbox - Enables a local outbox, on disk, of the messages sent with `sendMessage` by the client. Not applicable
+# to the `sqs:Listener`
+# + claimCheck - Enables the offloading of large message bodies to a blob store, on send, and their retrieval on
+# receive, by both the clients and the listeners
+# + inMemory - Runs the clients and listeners against queues held in memory instead of Amazon SQS
 public type ConnectionConfig record {|
     auth:AuthConfig auth;
     aws:Region|string region;
     aws:EndpointConfig endpoint?;
+    QueueUrlCacheConfig queueUrlCache?;
+    QueueAttributesCacheConfig queueAttributesCache?;
+    HttpClientConfig httpClient?;
+    boolean publishSdkMetrics = false;
+    RetryConfig retryConfig?;
+    RateLimitConfig rateLimit?;
+    TimeoutConfig timeouts?;
+    SendHedgingConfig sendHedging?;
+    OutboxConfig outbox?;
+    ClaimCheckConfig claimCheck?;
+    InMemoryTransportConfig inMemory?;
+|};
+
+# Represents the in-memory transport, which runs the clients and listeners against queues held in the memory of the
+# program instead of Amazon SQS, for local development and tests. The queues are shared by all the clients and
+# listeners that use the transport, and implement the visibility timeouts, delays, receive counts and system
+# attributes, FIFO message groups and deduplication, batches, redrive policies, message move tasks, queue attributes
+# and tags of SQS. The `auth`, `region`, `endpoint`, `httpClient`, `retryConfig`, `rateLimit` and `timeouts` fields
+# do not apply to it.
+#
+# + latency - Delay, in seconds, added to each API call to simulate the network round trip
+# + maxMessagesPerReceive - Maximum number of messages returned by a receive, whatever the requested number
+public type InMemoryTransportConfig record {|
+    decimal latency = 0;
+    int maxMessagesPerReceive = 10;
+|};
+
+# Represents the retry modes of the SQS API calls.
+public enum RetryMode {
+    STANDARD,
+    ADAPTIVE
+}
+
+# Represents the retry behaviour of the SQS API calls. Throttling errors are retried with a longer backoff than
+# other retryable errors.
+#
+# + mode - `STANDARD` retries failed attempts with an exponential backoff and jitter. `ADAPTIVE` additionally
+# delays the attempts of a client that gets throttled, at a rate adapted to the throttling it observes
+# + maxAttempts - Maximum number of attempts of a call, including the first one
+# + baseDelay - Base delay, in seconds, of the exponential backoff between attempts
+# + maxBackoff - Maximum delay, in seconds, between two attempts
+public type RetryConfig record {|
+    RetryMode mode = STANDARD;
+    int maxAttempts = 3;
+    decimal baseDelay = 0.1;
+    decimal maxBackoff = 20;
+|};
+
+# Represents the timeouts of the SQS API calls, per operation family. The SDK's defaults apply to the families
+# that are not set.
+#
+# + send - Timeouts of `sendMessage` and `sendMessageBatch`
+# + receive - Timeouts of `receiveMessage` and of the listener's polls. Must exceed the long-poll wait time
+# + acknowledge - Timeouts of `deleteMessage`, `deleteMessageBatch`, `changeMessageVisibility` and the
+# listener's acknowledgements
+# + management - Timeouts of all the other operations, such as queue and tag management
+public type TimeoutConfig record {|
+    OperationTimeoutConfig send?;
+    OperationTimeoutConfig receive?;
+    OperationTimeoutConfig acknowledge?;
+    OperationTimeoutConfig management?;
+|};
+
+# Represents the timeouts of an operation family.
+#
+# + apiCallTimeout - Time, in seconds, allowed for a call to complete, including all its attempts and backoff
+# + apiCallAttemptTimeout - Time, in seconds, allowed for each attempt of a call, after which it is retried
+public type OperationTimeoutConfig record {|
+    decimal apiCallTimeout?;
+    decimal apiCallAttemptTimeout?;
+|};
+
+# Represents the configuration of hedged `sendMessage` calls. When a send is not complete after the 99th
+# percentile of the recent send latencies, a backup send of the same message is made, and the first to succeed
+# is returned. On FIFO queues, only messages with a `messageDeduplicationId` are hedged, so that the duplicate
+# is dropped by SQS. On standard queues, both copies may be delivered.
+#
+# + initialDelay - Delay, in seconds, before the backup send until enough latencies are recorded
+# + minDelay - Minimum delay, in seconds, before the backup send
+public type SendHedgingConfig record {|
+    decimal initialDelay = 0.1;
+    decimal minDelay = 0.01;
+|};
+
+# Represents the points at which `sendMessage` calls write their message to the outbox.
+public enum OutboxMode {
+    ON_FAILURE,
+    ALWAYS
+}
+
+# Represents a write-ahead outbox of messages, kept in an append-only log of memory-mapped segment files on the local
+# disk. The messages written to it are sent in the background, in batches, and retried until SQS accepts them, so
+# that they are delivered at least once, even across restarts of the program. A message rejected by SQS as invalid
+# is dropped and the error is logged. The `sendMessage` calls that write to the outbox return a response with
+# `deferred` set, identified by the position of the message in the outbox. A directory is used by one program at a
+# time, and shared by the clients configured with it, which must have the same outbox and connection configuration.
+#
+# + directory - Directory of the outbox files, created if it does not exist
+# + mode - `ON_FAILURE` writes a message to the outbox when SQS cannot be reached, throttles the call or fails to
+# process it. `ALWAYS` writes every message to the outbox, and returns without waiting for SQS. Only `ALWAYS`
+# preserves the order of the messages of a FIFO message group
+# + segmentSize - Size, in bytes, of each segment file
+# + maxSegments - Maximum number of segment files, which bounds the disk space used by the outbox. A send fails once
+# the outbox is full
+# + replayInterval - Time, in seconds, between two replay attempts while SQS is unavailable. It doubles after each
+# failed attempt, up to a minute
+# + syncOnWrite - Whether each message is flushed to the storage device before `sendMessage` returns, so that it
+# survives a crash of the host and not only of the program
+public type OutboxConfig record {|
+    string directory;
+    OutboxMode mode = ON_FAILURE;
+    int segmentSize = 16777216;
+    int maxSegments = 64;
+    decimal replayInterval = 1;
+    boolean syncOnWrite = false;
+|};
+
+# Represents the claim-check offloading of large message bodies. The body of a message sent with `sendMessage` or
+# `sendMessageBatch` that is larger than the threshold is stored in the blob store, and the message carries the key
+# of the stored body instead. `receiveMessage`, `receiveStream` and the listeners read the body back from the store,
+# transparently. A body that cannot be read back fails `receiveMessage`, ends the stream of `receiveStream` with an
+# error, and is reported by the listener, instead of being returned as its key. The stored body is deleted when the listener deletes its message. The bodies of the messages
+# received with `receiveMessage` or `receiveStream` are not deleted by `deleteMessage`, and are left to the retention
+# policy of the store.
+#
+# + store - Blob store of the offloaded bodies, shared by the producers and the consumers of the queue
+# + threshold - Size, in bytes, of the UTF-8 encoded body above which it is offloaded. At most 262144
+public type ClaimCheckConfig record {|
+    BlobStoreConfig store;
+    int threshold = 65536;
+|};
+
+# Represents the blob store of the offloaded message bodies.
+public type BlobStoreConfig LocalBlobStoreConfig|CustomBlobStoreConfig;
+
+# Represents a blob store kept in a directory of the local, or a shared network, file system.
+#
+# + directory - Directory of the stored bodies, created if it does not exist
+public type LocalBlobStoreConfig record {|
+    string directory;
+|};
+
+# Represents a blob store implemented in Java by a platform dependency of the program, such as a store backed by an
+# object storage service. The class implements `io.ballerina.lib.aws.sqs.claimcheck.BlobStore`, and has a public
+# constructor taking the properties as a `java.util.Map<String, String>`.
+#
+# + className - Fully qualified name of the class of the store
+# + properties - Properties passed to the constructor of the store, such as its bucket or credentials
+public type CustomBlobStoreConfig record {|
+    string className;
+    map<string> properties = {};
+|};
+
+# Represents a client-side token bucket that every SQS API call attempt waits on before it is sent.
+#
+# + requestsPerSecond - Sustained number of attempts allowed per second
+# + burst - Number of attempts allowed at once after a quiet period
+public type RateLimitConfig record {|
+    decimal requestsPerSecond;
+    int burst = 1;
+|};
+
+# Represents the HTTP client implementations supported by the connector.
+public enum HttpClientType {
+    APACHE,
+    URL_CONNECTION
+}
+
+# Represents the HTTP transport used to reach Amazon SQS. The pool settings apply to the
+# `APACHE` client only; the `URL_CONNECTION` client, built on the JDK `HttpURLConnection` with a smaller
+# footprint, honours the connection and socket timeouts.
+#
+# + clientType - HTTP client implementation
+# + maxConnections - Maximum number of open connections in the pool. Each in-flight request,
+# including a long poll for its whole wait time, holds one connection
+# + connectionTimeout - Time, in seconds, to wait for a connection to be established
+# + socketTimeout - Time, in seconds, to wait for data on an established connection. Should exceed the
+# long-poll wait time
+# + connectionAcquisitionTimeout - Time, in seconds, to wait for a connection from the pool
+# + connectionTimeToLive - Maximum lifetime, in seconds, of a pooled connection, `0` for no limit
+# + connectionMaxIdleTime - Time, in seconds, after which an idle pooled connection is closed
+# + reapIdleConnections - Whether idle connections are closed in the background
+# + tcpKeepAlive - Whether TCP keep-alive probes are sent on pooled connections
+public type HttpClientConfig record {|
+    HttpClientType clientType = APACHE;
+    int maxConnections = 50;
+    decimal connectionTimeout = 2;
+    decimal socketTimeout = 30;
+    decimal connectionAcquisitionTimeout = 10;
+    decimal connectionTimeToLive = 0;
+    decimal connectionMaxIdleTime = 60;
+    boolean reapIdleConnections = true;
+    boolean tcpKeepAlive = false;
+|};
+
+# Represents the configuration of the client-side cache of queue URLs resolved by `getQueueUrl`.
+# Concurrent lookups of the same queue share a single request, and entries are dropped when the
+# queue is deleted, re-created, or reported as non-existent by SQS.
+#
+# + maxEntries - Maximum number of queue URLs held in the cache
+# + ttl - Duration, in seconds, for which a resolved queue URL is reused
+public type QueueUrlCacheConfig record {|
+    int maxEntries = 1000;
+    decimal ttl = 300;
+|};
+
+# Represents the configuration of the client-side cache of queue attributes retrieved by
+# `getQueueAttributes`, keyed by the queue URL and the requested attribute names. Concurrent
+# lookups of the same attributes share a single request, and entries of a queue are dropped by
+# `setQueueAttributes`, `purgeQueue` and `deleteQueue`. Approximate message counts served from
+# the cache can be up to `ttl` seconds old.
+#
+# + maxEntries - Maximum number of attribute lookups held in the cache
+# + ttl - Duration, in seconds, for which retrieved attributes are reused
+public type QueueAttributesCacheConfig record {|
+    int maxEntries = 1000;
+    decimal ttl = 5;
 |};
 
 # Contains response details returned by the `sendMessage` API.
@@ -40,12 +276,15 @@ public type ConnectionConfig record {|
 # + md5OfMessageAttributes - MD5 digest of the non-URL-encoded message attribute string
 # + md5OfMessageSystemAttributes - MD5 digest of the non-URL-encoded system attribute string
 # + sequenceNumber - Message sequence number for FIFO queues
+# + deferred - Whether the message was written to the client's outbox, to be sent in the background. The `messageId`
+# is then the position of the message in the outbox, not the ID SQS assigns to it
 public type SendMessageResponse record {|
     string messageId;
     string md5OfMessageBody;
     string md5OfMessageAttributes?;
     string md5OfMessageSystemAttributes?;
     string sequenceNumber?;
+    boolean deferred?;
 |};
 
 # Represents optional parameters for sending messages to Amazon SQS.
@@ -55,12 +294,25 @@ public type SendMessageResponse record {|
 # + awsTraceHeader - X-Ray tracing header for distributed tracing support
 # + messageDeduplicationId - Token for deduplicating messages (FIFO only)
 # + messageGroupId - Tag specifying the message group (FIFO only)
+# + contentDeduplication - Computes the `messageDeduplicationId` from the content of the message, for FIFO queues
+# without content-based deduplication. Ignored if `messageDeduplicationId` is set (FIFO only)
 public type SendMessageConfig record {|
     int delaySeconds?;
     map<MessageAttributeValue> messageAttributes?;
     string awsTraceHeader?;
     string messageDeduplicationId?;
     string messageGroupId?;
+    ContentDeduplicationConfig contentDeduplication?;
+|};
+
+# Represents how the `messageDeduplicationId` of a message is computed from its content. The ID is a 128-bit
+# hash of the body and of the selected message attributes, computed by the connector. Unlike the SHA-256 hash of
+# the queue's content-based deduplication, it is not collision-resistant, hence it is not suited to bodies that
+# may be crafted to collide.
+#
+# + attributes - Names of the message attributes whose data type and value are hashed along with the body
+public type ContentDeduplicationConfig record {|
+    string[] attributes = [];
 |};
 
 # Represents a user-defined message attribute sent with a message.
@@ -91,6 +343,19 @@ public type ReceiveMessageConfig record {|
     MessageSystemAttributeName[] messageSystemAttributeNames?;
 |};
 
+# Represents optional parameters for receiving messages as a stream from an SQS queue.
+# Unlike `receiveMessage`, each poll waits up to 20 seconds for messages unless `waitTimeSeconds` is set.
+#
+# + prefetchPolls - Number of receive requests kept in flight ahead of the consumer. Should be 1 when
+# `receiveRequestAttemptId` is set
+# + bufferSize - Maximum number of received messages held ahead of the consumer. Polling pauses while the
+# buffer is full, since buffered messages are already counting down their visibility timeout
+public type ReceiveStreamConfig record {|
+    *ReceiveMessageConfig;
+    int prefetchPolls = 1;
+    int bufferSize = 10;
+|};
+
 # Represents supported system attribute names for SQS messages.
 public enum MessageSystemAttributeName {
     ALL = "All",
@@ -110,6 +375,8 @@ public enum MessageSystemAttributeName {
 #
 # + messageSystemAttributes - System-defined attributes associated with the message
 # + body - Content of the message
+# + binaryBody - Content of a message sent with `sendBinaryMessage`, decoded. The `body` then holds its base64
+# encoding, as sent to SQS
 # + md5OfBody - MD5 digest of the non-URL-encoded message body
 # + md5OfMessageAttributes - MD5 digest of the non-URL-encoded attribute string
 # + messageAttributes - User-defined attributes attached to the message
@@ -118,6 +385,7 @@ public enum MessageSystemAttributeName {
 public type Message record {|
     MessageAttributes messageSystemAttributes?;
     string body?;
+    byte[] binaryBody?;
     string md5OfBody?;
     string md5OfMessageAttributes?;
     map<MessageAttributeValue> messageAttributes?;
@@ -158,6 +426,19 @@ public type SendMessageBatchEntry record {|
     *SendMessageConfig;
 |};
 
+# Represents the response returned by the `sendAggregatedMessages` operation. The messages are sent one after the
+# other, and the first failure stops the operation, hence the records sent are always the first ones.
+#
+# + successful - Responses of the messages sent, in order
+# + sentRecords - Number of records sent, from the first one on
+# + failure - Error that stopped the operation before all the records were sent. The records from `sentRecords` on
+# were not sent
+public type SendAggregatedMessagesResponse record {|
+    SendMessageResponse[] successful;
+    int sentRecords;
+    Error failure?;
+|};
+
 # Represents the response returned by the `sendMessageBatch` operation.
 #
 # + successful - List of successfully enqueued messages
@@ -416,23 +697,60 @@ public type CancelMessageMoveTaskResponse record {|
 # + pollInterval - Interval between polling attempts in seconds. If set to 0, the listener will poll back-to-back without delay. Use with caution as it may cause high CPU usage.
 # + waitTime - The duration, in seconds, for which the polling waits for messages
 # + visibilityTimeout - The duration, in seconds, for which the received message remains invisible to other consumers
+# + maxConcurrency - Maximum number of messages processed at a time by a service whose `onMessage` method is
+# `isolated`. Services whose `onMessage` method is not `isolated` always process one message at a time. On a FIFO
+# queue, the messages of a message group are still processed one after the other, in order
 public type PollingConfig record {|
     decimal pollInterval = 1;
     int waitTime = 20;
     int visibilityTimeout = 30;
+    int maxConcurrency = 10;
+|};
+
+# Listener-wide configuration of the `sqs:Listener`.
+#
+# + longPollMaxConnections - Maximum number of connections of the pool dedicated to the long polls of the
+# attached services. The `Caller` and automatic deletes use the pool configured by `ConnectionConfig.httpClient`
+# instead, so acknowledgements never wait for a connection held by a pending long poll. Each queue, or shard of a
+# sharded queue, polled by an attached service holds a connection, hence attaching a service fails once they would
+# outnumber the connections
+public type ListenerConfig record {|
+    int longPollMaxConnections = 50;
 |};
 
 # Represents an AWS SQS service object that can be attached to an `sqs:Listener`.
 public type Service distinct service object {};
 
 # The service configuration type for the `sqs:Service`.
-# + queueUrl - The URL of the SQS queue to consume messages from
+# + queueUrl - The URL of the SQS queue to consume messages from, or the URLs of all the shards of a sharded
+# queue, as sent to by an `sqs:ShardedClient`. Each shard is polled on its own, and `config.maxConcurrency`
+# applies to the messages of all the shards
 # + config - Optional per-service polling behavior
 # + autoDelete - Whether to automatically delete messages after receiving
+# + idempotency - Enables acknowledging redelivered messages without invoking `onMessage` again
 public type ServiceConfigType record {|
-    string queueUrl;
+    string|string[] queueUrl;
     PollingConfig config?;
     boolean autoDelete = true;
+    IdempotencyConfig idempotency?;
+|};
+
+# Represents the configuration of the idempotency filter of an `sqs:Service`. Standard queues deliver
+# messages at least once, hence a message may be received again after it was processed. The filter
+# remembers the messages deleted, automatically after `onMessage` returned without an error or through the
+# `Caller`, and deletes their redeliveries from the queue without invoking `onMessage`. A message left in the
+# queue is processed again when it is received again. It is bounded, hence a redelivery may still be processed
+# once the filter is full or after `ttl` seconds.
+#
+# + maxEntries - Maximum number of processed messages remembered
+# + ttl - Duration, in seconds, for which a processed message is remembered
+# + keyAttribute - Name of a `String` message attribute that identifies the messages, such as an idempotency
+# key set by the producers. Messages without the attribute, and all messages if it is not set, are identified
+# by their message ID
+public type IdempotencyConfig record {|
+    int maxEntries = 100000;
+    decimal ttl = 900;
+    string keyAttribute?;
 |};
 
 # Annotation to configure the `sqs:Service`.
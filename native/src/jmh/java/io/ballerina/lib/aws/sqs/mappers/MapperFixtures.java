@@ -0,0 +1,104 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.mappers;
+
+import java.util.Arrays;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Builds the Ballerina values that the mappers receive from the connector's remote methods, so that the benchmarks
+ * measure the mapping work only.
+ */
+final class MapperFixtures {
+
+    static final BString QUEUE_URL = StringUtils.fromString(
+            "https://sqs.us-east-1.amazonaws.com/123456789012/benchmark-queue");
+
+    private MapperFixtures() {
+    }
+
+    static BString body(int size) {
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'x');
+        return StringUtils.fromString(new String(chars));
+    }
+
+    static BMap<BString, Object> messageAttributes(int count) {
+        BMap<BString, Object> attributes = ValueCreator.createMapValue();
+        for (int i = 0; i < count; i++) {
+            BMap<BString, Object> attribute = ValueCreator.createMapValue();
+            attribute.put(StringUtils.fromString("dataType"), StringUtils.fromString("String"));
+            attribute.put(StringUtils.fromString("stringValue"), StringUtils.fromString("attribute-value-" + i));
+            attributes.put(StringUtils.fromString("attribute" + i), attribute);
+        }
+        return attributes;
+    }
+
+    static BMap<BString, Object> sendMessageConfig(int attributeCount, boolean contentDeduplication) {
+        BMap<BString, Object> config = ValueCreator.createMapValue();
+        config.put(StringUtils.fromString("delaySeconds"), 0L);
+        if (attributeCount > 0) {
+            config.put(StringUtils.fromString("messageAttributes"), messageAttributes(attributeCount));
+        }
+        if (contentDeduplication) {
+            // Hashes the body and all the attributes, the most work a deduplication ID can take.
+            BMap<BString, Object> deduplication = ValueCreator.createMapValue();
+            deduplication.put(StringUtils.fromString("attributes"), strings("attribute", attributeCount));
+            config.put(StringUtils.fromString("contentDeduplication"), deduplication);
+        }
+        return config;
+    }
+
+    static BArray sendMessageBatchEntries(int entryCount, int bodySize, int attributeCount,
+            boolean contentDeduplication) {
+        BArray entries = ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_MAP));
+        for (int i = 0; i < entryCount; i++) {
+            BMap<BString, Object> entry = sendMessageConfig(attributeCount, contentDeduplication);
+            entry.put(StringUtils.fromString("id"), StringUtils.fromString("entry-" + i));
+            entry.put(StringUtils.fromString("body"), body(bodySize));
+            entries.append(entry);
+        }
+        return entries;
+    }
+
+    static BArray deleteMessageBatchEntries(int entryCount) {
+        BArray entries = ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_MAP));
+        for (int i = 0; i < entryCount; i++) {
+            BMap<BString, Object> entry = ValueCreator.createMapValue();
+            entry.put(StringUtils.fromString("id"), StringUtils.fromString("entry-" + i));
+            // Receipt handles are opaque tokens of a few hundred characters.
+            entry.put(StringUtils.fromString("receiptHandle"), body(380));
+            entries.append(entry);
+        }
+        return entries;
+    }
+
+    static BArray strings(String prefix, int count) {
+        BString[] values = new BString[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = StringUtils.fromString(prefix + i);
+        }
+        return ValueCreator.createArrayValue(values);
+    }
+}
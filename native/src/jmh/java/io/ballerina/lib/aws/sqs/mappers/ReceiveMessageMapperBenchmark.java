@@ -0,0 +1,84 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.mappers;
+
+import java.util.concurrent.TimeUnit;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+/**
+ * Measures building the {@code ReceiveMessage} requests of a poll and the {@code DeleteMessageBatch} requests that
+ * acknowledge its messages, for the attribute names and batch sizes a consumer typically uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReceiveMessageMapperBenchmark {
+
+    @Param({"0", "4", "10"})
+    private int attributeNameCount;
+
+    @Param({"1", "10"})
+    private int batchSize;
+
+    private BMap<BString, Object> receiveMessageConfig;
+    private BArray deleteEntries;
+
+    @Setup
+    public void setup() {
+        receiveMessageConfig = ValueCreator.createMapValue();
+        receiveMessageConfig.put(StringUtils.fromString("waitTimeSeconds"), 20L);
+        receiveMessageConfig.put(StringUtils.fromString("maxNumberOfMessages"), (long) batchSize);
+        if (attributeNameCount > 0) {
+            receiveMessageConfig.put(StringUtils.fromString("messageAttributeNames"),
+                    MapperFixtures.strings("attribute", attributeNameCount));
+            receiveMessageConfig.put(StringUtils.fromString("messageSystemAttributeNames"),
+                    ValueCreator.createArrayValue(new BString[]{StringUtils.fromString("All")}));
+        }
+        deleteEntries = MapperFixtures.deleteMessageBatchEntries(batchSize);
+    }
+
+    @Benchmark
+    public ReceiveMessageRequest receiveMessageRequest() {
+        return ReceiveMessageMapper.getNativeReceiveMessageRequest(MapperFixtures.QUEUE_URL, receiveMessageConfig);
+    }
+
+    @Benchmark
+    public DeleteMessageBatchRequest deleteMessageBatchRequest() {
+        return DeleteMessageBatchMapper.getNativeDeleteMessageBatchRequest(MapperFixtures.QUEUE_URL, deleteEntries);
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.mappers;
+
+import java.util.concurrent.TimeUnit;
+
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Measures building {@code SendMessage} and {@code SendMessageBatch} requests from the connector's Ballerina values,
+ * across message sizes up to the SQS limit of 256 KiB and attribute counts up to the limit of 10, with and without
+ * computing the deduplication ID from the message content.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SendMessageMapperBenchmark {
+
+    @Param({"64", "4096", "262144"})
+    private int bodySize;
+
+    @Param({"0", "4", "10"})
+    private int attributeCount;
+
+    @Param({"false", "true"})
+    private boolean contentDeduplication;
+
+    private BString body;
+    private BMap<BString, Object> sendMessageConfig;
+    private BArray batchEntries;
+
+    @Setup
+    public void setup() {
+        body = MapperFixtures.body(bodySize);
+        sendMessageConfig = MapperFixtures.sendMessageConfig(attributeCount, contentDeduplication);
+        // A batch may not exceed 256 KiB in total, so the largest bodies are split across its 10 entries.
+        batchEntries = MapperFixtures.sendMessageBatchEntries(10, Math.min(bodySize, 262144 / 10 - 1024),
+                attributeCount, contentDeduplication);
+    }
+
+    @Benchmark
+    public SendMessageRequest sendMessageRequest() throws Exception {
+        return SendMessageMapper.getNativeSendMessageRequest(MapperFixtures.QUEUE_URL, body, sendMessageConfig);
+    }
+
+    @Benchmark
+    public SendMessageBatchRequest sendMessageBatchRequest() {
+        return SendMessageBatchMapper.getNativeSendMessageBatchRequest(MapperFixtures.QUEUE_URL, batchEntries);
+    }
+}
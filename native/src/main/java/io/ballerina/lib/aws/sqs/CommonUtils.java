@@ -16,6 +16,11 @@
 
 package io.ballerina.lib.aws.sqs;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 import io.ballerina.lib.aws.ErrorUtils;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.utils.StringUtils;
@@ -35,6 +40,37 @@ public final class CommonUtils {
     private CommonUtils() {
     }
 
+    /**
+     * Computes a 64-bit FNV-1a hash of the UTF-16 code units of a string, finalised with the
+     * MurmurHash3 mixer so that all its bits are well distributed.
+     */
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Computes the hex-encoded MD5 digest of the UTF-8 encoding of a string, as SQS reports
+     * for the bodies it accepts.
+     */
+    public static String md5(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Creates an {@code sqs:Error} carrying the shared {@code ballerinax/aws:ErrorDetails}
      * built from the given exception.
@@ -34,15 +34,21 @@ import software.amazon.awssdk.regions.Region;
  * refresh of expiring credentials.
  */
 public record ConnectionConfig(Region region, AwsCredentialsProvider credentialsProvider,
-        BMap<BString, Object> endpointConfig) {
+        BMap<BString, Object> endpointConfig, HttpClientConfig httpClientConfig, boolean publishSdkMetrics,
+        RetryConfig retryConfig, TimeoutConfig timeoutConfig) {
     private static final BString CONNECTION_CONFIG_REGION = StringUtils.fromString("region");
     private static final BString CONNECTION_CONFIG_AUTH_CONFIG = StringUtils.fromString("auth");
     private static final BString CONNECTION_CONFIG_ENDPOINT = StringUtils.fromString("endpoint");
+    private static final BString CONNECTION_CONFIG_PUBLISH_SDK_METRICS = StringUtils.fromString("publishSdkMetrics");
 
     public ConnectionConfig(BMap<BString, Object> bConnectionConfig) {
         this(getRegion(bConnectionConfig),
                 ProviderFactory.buildProvider(bConnectionConfig.get(CONNECTION_CONFIG_AUTH_CONFIG)),
-                getEndpointConfig(bConnectionConfig));
+                getEndpointConfig(bConnectionConfig),
+                HttpClientConfig.from(bConnectionConfig),
+                bConnectionConfig.getBooleanValue(CONNECTION_CONFIG_PUBLISH_SDK_METRICS),
+                RetryConfig.from(bConnectionConfig),
+                TimeoutConfig.from(bConnectionConfig));
     }
 
     private static Region getRegion(BMap<BString, Object> bConnectionConfig) {
@@ -54,4 +60,15 @@ public record ConnectionConfig(Region region, AwsCredentialsProvider credentials
         // The `endpoint` field is optional; null when not configured.
         return (BMap<BString, Object>) bConnectionConfig.getMapValue(CONNECTION_CONFIG_ENDPOINT);
     }
+
+    /**
+     * Returns this configuration with its HTTP transport replaced by the given one.
+     *
+     * @param httpClientConfig the HTTP transport configuration
+     * @return the resulting connection configuration
+     */
+    public ConnectionConfig withHttpClientConfig(HttpClientConfig httpClientConfig) {
+        return new ConnectionConfig(region, credentialsProvider, endpointConfig, httpClientConfig,
+                publishSdkMetrics, retryConfig, timeoutConfig);
+    }
 }
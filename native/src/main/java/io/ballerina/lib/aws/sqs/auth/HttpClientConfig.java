@@ -0,0 +1,132 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.auth;
+
+import java.time.Duration;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+/**
+ * {@code HttpClientConfig} represents the HTTP transport of the SQS client, mapped from
+ * the {@code httpClient} field of the Ballerina {@code ConnectionConfig}.
+ *
+ * <p>The pool settings only apply to the Apache client; the URL-connection client opens a
+ * connection per request through the JDK and honours the timeouts alone.
+ */
+public record HttpClientConfig(ClientType clientType, int maxConnections, Duration connectionTimeout,
+        Duration socketTimeout, Duration connectionAcquisitionTimeout, Duration connectionTimeToLive,
+        Duration connectionMaxIdleTime, boolean reapIdleConnections, boolean tcpKeepAlive) {
+    private static final BString CLIENT_TYPE = StringUtils.fromString("clientType");
+    private static final BString MAX_CONNECTIONS = StringUtils.fromString("maxConnections");
+    private static final BString CONNECTION_TIMEOUT = StringUtils.fromString("connectionTimeout");
+    private static final BString SOCKET_TIMEOUT = StringUtils.fromString("socketTimeout");
+    private static final BString CONNECTION_ACQUISITION_TIMEOUT =
+            StringUtils.fromString("connectionAcquisitionTimeout");
+    private static final BString CONNECTION_TIME_TO_LIVE = StringUtils.fromString("connectionTimeToLive");
+    private static final BString CONNECTION_MAX_IDLE_TIME = StringUtils.fromString("connectionMaxIdleTime");
+    private static final BString REAP_IDLE_CONNECTIONS = StringUtils.fromString("reapIdleConnections");
+    private static final BString TCP_KEEP_ALIVE = StringUtils.fromString("tcpKeepAlive");
+    private static final BString CONNECTION_CONFIG_HTTP_CLIENT = StringUtils.fromString("httpClient");
+    // A long poll waits up to 20 seconds for messages, on top of the request round trip.
+    private static final Duration MIN_LONG_POLL_SOCKET_TIMEOUT = Duration.ofSeconds(25);
+
+    /**
+     * The transport used when none is configured, matching the defaults of both the
+     * Ballerina {@code HttpClientConfig} record and the SDK's Apache client.
+     */
+    public static final HttpClientConfig DEFAULT = new HttpClientConfig(ClientType.APACHE, 50,
+            Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(10), Duration.ZERO,
+            Duration.ofSeconds(60), true, false);
+
+    /**
+     * The HTTP client implementations supported by the connector.
+     */
+    public enum ClientType {
+        APACHE, URL_CONNECTION
+    }
+
+    public HttpClientConfig(BMap<BString, Object> config) {
+        this(ClientType.valueOf(config.getStringValue(CLIENT_TYPE).getValue()),
+                config.getIntValue(MAX_CONNECTIONS).intValue(),
+                getDuration(config, CONNECTION_TIMEOUT),
+                getDuration(config, SOCKET_TIMEOUT),
+                getDuration(config, CONNECTION_ACQUISITION_TIMEOUT),
+                getDuration(config, CONNECTION_TIME_TO_LIVE),
+                getDuration(config, CONNECTION_MAX_IDLE_TIME),
+                config.getBooleanValue(REAP_IDLE_CONNECTIONS),
+                config.getBooleanValue(TCP_KEEP_ALIVE));
+    }
+
+    /**
+     * Reads the HTTP transport configuration of a Ballerina connection configuration.
+     *
+     * @return the HTTP transport configuration, or {@code null} when it is not configured
+     */
+    @SuppressWarnings("unchecked")
+    public static HttpClientConfig from(BMap<BString, Object> bConnectionConfig) {
+        Object httpClientConfig = bConnectionConfig.get(CONNECTION_CONFIG_HTTP_CLIENT);
+        return httpClientConfig == null ? null : new HttpClientConfig((BMap<BString, Object>) httpClientConfig);
+    }
+
+    /**
+     * Derives the transport dedicated to long polls from this one: a pool of its own size,
+     * with a socket timeout that outlasts the longest receive wait time.
+     *
+     * @param longPollMaxConnections the size of the long-poll pool
+     * @return the long-poll transport configuration
+     */
+    public HttpClientConfig forLongPolling(int longPollMaxConnections) {
+        Duration longPollSocketTimeout = socketTimeout.compareTo(MIN_LONG_POLL_SOCKET_TIMEOUT) < 0
+                ? MIN_LONG_POLL_SOCKET_TIMEOUT : socketTimeout;
+        return new HttpClientConfig(clientType, longPollMaxConnections, connectionTimeout, longPollSocketTimeout,
+                connectionAcquisitionTimeout, connectionTimeToLive, connectionMaxIdleTime, reapIdleConnections,
+                tcpKeepAlive);
+    }
+
+    /**
+     * Creates the builder of the configured HTTP client. The SDK client that is given
+     * this builder owns the resulting HTTP client and closes it along with itself.
+     *
+     * @return the HTTP client builder
+     */
+    public SdkHttpClient.Builder<?> httpClientBuilder() {
+        if (clientType == ClientType.URL_CONNECTION) {
+            return UrlConnectionHttpClient.builder()
+                    .connectionTimeout(connectionTimeout)
+                    .socketTimeout(socketTimeout);
+        }
+        return ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionTimeout(connectionTimeout)
+                .socketTimeout(socketTimeout)
+                .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                .connectionTimeToLive(connectionTimeToLive)
+                .connectionMaxIdleTime(connectionMaxIdleTime)
+                .useIdleConnectionReaper(reapIdleConnections)
+                .tcpKeepAlive(tcpKeepAlive);
+    }
+
+    private static Duration getDuration(BMap<BString, Object> config, BString field) {
+        return Duration.ofMillis((long) (((BDecimal) config.get(field)).value().doubleValue() * 1000));
+    }
+}
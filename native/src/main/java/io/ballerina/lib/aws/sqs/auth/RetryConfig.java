@@ -0,0 +1,90 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.auth;
+
+import java.time.Duration;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.retries.api.BackoffStrategy;
+import software.amazon.awssdk.retries.api.RetryStrategy;
+
+/**
+ * {@code RetryConfig} represents the retry behaviour of the SQS client, mapped from the
+ * {@code retryConfig} field of the Ballerina {@code ConnectionConfig}.
+ */
+public record RetryConfig(RetryMode mode, int maxAttempts, Duration baseDelay, Duration maxBackoff) {
+    private static final BString MODE = StringUtils.fromString("mode");
+    private static final BString MAX_ATTEMPTS = StringUtils.fromString("maxAttempts");
+    private static final BString BASE_DELAY = StringUtils.fromString("baseDelay");
+    private static final BString MAX_BACKOFF = StringUtils.fromString("maxBackoff");
+    private static final BString CONNECTION_CONFIG_RETRY = StringUtils.fromString("retryConfig");
+
+    /**
+     * The retry modes supported by the connector.
+     */
+    public enum RetryMode {
+        STANDARD, ADAPTIVE
+    }
+
+    public RetryConfig(BMap<BString, Object> config) {
+        this(RetryMode.valueOf(config.getStringValue(MODE).getValue()),
+                config.getIntValue(MAX_ATTEMPTS).intValue(),
+                getDuration(config, BASE_DELAY),
+                getDuration(config, MAX_BACKOFF));
+    }
+
+    /**
+     * Reads the retry configuration of a Ballerina connection configuration.
+     *
+     * @return the retry configuration, or {@code null} when it is not configured
+     */
+    @SuppressWarnings("unchecked")
+    public static RetryConfig from(BMap<BString, Object> bConnectionConfig) {
+        Object retryConfig = bConnectionConfig.get(CONNECTION_CONFIG_RETRY);
+        return retryConfig == null ? null : new RetryConfig((BMap<BString, Object>) retryConfig);
+    }
+
+    /**
+     * Creates the SDK retry strategy of this configuration. Throttling errors keep the SDK's
+     * own, longer, backoff.
+     *
+     * @return the retry strategy
+     */
+    public RetryStrategy retryStrategy() {
+        BackoffStrategy backoffStrategy = BackoffStrategy.exponentialDelay(baseDelay, maxBackoff);
+        if (mode == RetryMode.ADAPTIVE) {
+            // Also delays the requests of a client that gets throttled, at a rate adapted
+            // to the throttling it observes.
+            return AwsRetryStrategy.adaptiveRetryStrategy().toBuilder()
+                    .maxAttempts(maxAttempts)
+                    .backoffStrategy(backoffStrategy)
+                    .build();
+        }
+        return AwsRetryStrategy.standardRetryStrategy().toBuilder()
+                .maxAttempts(maxAttempts)
+                .backoffStrategy(backoffStrategy)
+                .build();
+    }
+
+    private static Duration getDuration(BMap<BString, Object> config, BString field) {
+        return Duration.ofMillis((long) (((BDecimal) config.get(field)).value().doubleValue() * 1000));
+    }
+}
@@ -0,0 +1,106 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.auth;
+
+import java.time.Duration;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * {@code TimeoutConfig} represents the timeouts of the SQS API calls per operation family,
+ * mapped from the {@code timeouts} field of the Ballerina {@code ConnectionConfig}. A
+ * {@code null} family or timeout leaves the SDK's default in place.
+ */
+public record TimeoutConfig(Timeouts send, Timeouts receive, Timeouts acknowledge, Timeouts management) {
+    private static final BString SEND = StringUtils.fromString("send");
+    private static final BString RECEIVE = StringUtils.fromString("receive");
+    private static final BString ACKNOWLEDGE = StringUtils.fromString("acknowledge");
+    private static final BString MANAGEMENT = StringUtils.fromString("management");
+    private static final BString API_CALL_TIMEOUT = StringUtils.fromString("apiCallTimeout");
+    private static final BString API_CALL_ATTEMPT_TIMEOUT = StringUtils.fromString("apiCallAttemptTimeout");
+    private static final BString CONNECTION_CONFIG_TIMEOUTS = StringUtils.fromString("timeouts");
+
+    /**
+     * The timeouts of an operation family.
+     *
+     * @param apiCallTimeout        time allowed for a call, including all its attempts and backoff
+     * @param apiCallAttemptTimeout time allowed for each attempt of a call
+     */
+    public record Timeouts(Duration apiCallTimeout, Duration apiCallAttemptTimeout) {
+        private Timeouts(BMap<BString, Object> config) {
+            this(getDuration(config, API_CALL_TIMEOUT), getDuration(config, API_CALL_ATTEMPT_TIMEOUT));
+        }
+    }
+
+    public TimeoutConfig(BMap<BString, Object> config) {
+        this(getTimeouts(config, SEND), getTimeouts(config, RECEIVE), getTimeouts(config, ACKNOWLEDGE),
+                getTimeouts(config, MANAGEMENT));
+    }
+
+    /**
+     * Reads the timeout configuration of a Ballerina connection configuration.
+     *
+     * @return the timeout configuration, or {@code null} when it is not configured
+     */
+    @SuppressWarnings("unchecked")
+    public static TimeoutConfig from(BMap<BString, Object> bConnectionConfig) {
+        Object timeoutConfig = bConnectionConfig.get(CONNECTION_CONFIG_TIMEOUTS);
+        return timeoutConfig == null ? null : new TimeoutConfig((BMap<BString, Object>) timeoutConfig);
+    }
+
+    /**
+     * Returns the timeouts of the family the given request belongs to.
+     *
+     * @return the timeouts, or {@code null} when they are not configured for the family
+     */
+    public Timeouts forRequest(SdkRequest request) {
+        if (request instanceof SendMessageRequest || request instanceof SendMessageBatchRequest) {
+            return send;
+        }
+        if (request instanceof ReceiveMessageRequest) {
+            return receive;
+        }
+        if (request instanceof DeleteMessageRequest || request instanceof DeleteMessageBatchRequest
+                || request instanceof ChangeMessageVisibilityRequest
+                || request instanceof ChangeMessageVisibilityBatchRequest) {
+            return acknowledge;
+        }
+        return management;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Timeouts getTimeouts(BMap<BString, Object> config, BString family) {
+        Object timeouts = config.get(family);
+        return timeouts == null ? null : new Timeouts((BMap<BString, Object>) timeouts);
+    }
+
+    private static Duration getDuration(BMap<BString, Object> config, BString field) {
+        Object value = config.get(field);
+        return value == null ? null : Duration.ofMillis((long) (((BDecimal) value).value().doubleValue() * 1000));
+    }
+}
@@ -0,0 +1,57 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.claimcheck;
+
+import java.io.IOException;
+
+/**
+ * A store of the message bodies offloaded from the queues. Implementations must be safe for
+ * concurrent use.
+ *
+ * <p>A store other than the local directory is plugged in through a {@code CustomBlobStoreConfig},
+ * naming a class of a platform dependency of the program that implements this interface and has
+ * a public constructor taking the {@code Map<String, String>} of the configured properties. The
+ * keys read come from message attributes, hence a store must reject those it did not issue.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores a body.
+     *
+     * @param content the body, encoded in UTF-8
+     * @return the key of the stored body
+     * @throws IOException if the body cannot be stored
+     */
+    String put(byte[] content) throws IOException;
+
+    /**
+     * Reads a stored body.
+     *
+     * @param key the key of the body
+     * @return the body, encoded in UTF-8
+     * @throws IOException if the body cannot be read, or does not exist
+     */
+    byte[] get(String key) throws IOException;
+
+    /**
+     * Deletes a stored body. Deleting a body that does not exist has no effect.
+     *
+     * @param key the key of the body
+     * @throws IOException if the body cannot be deleted
+     */
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,291 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.claimcheck;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Offloads the large message bodies to a blob store, following the claim-check pattern: the
+ * body of a message larger than the threshold is stored in the blob store, and the message
+ * carries its key instead, as its body and in a pointer attribute. Receivers read the body
+ * back from the store, and delete it along with the message.
+ */
+public final class ClaimCheck {
+    public static final String POINTER_ATTRIBUTE = "sqs.claimCheck";
+    private static final String STRING = "String";
+    // The largest message body accepted by SQS
+    private static final int MAX_THRESHOLD = 256 * 1024;
+
+    private static final BString CONNECTION_CONFIG_CLAIM_CHECK = StringUtils.fromString("claimCheck");
+    private static final BString STORE = StringUtils.fromString("store");
+    private static final BString THRESHOLD = StringUtils.fromString("threshold");
+    private static final BString DIRECTORY = StringUtils.fromString("directory");
+    private static final BString CLASS_NAME = StringUtils.fromString("className");
+    private static final BString PROPERTIES = StringUtils.fromString("properties");
+
+    private final int threshold;
+    private final BlobStore store;
+
+    private ClaimCheck(int threshold, BlobStore store) {
+        this.threshold = threshold;
+        this.store = store;
+    }
+
+    /**
+     * Creates the claim check of a Ballerina connection configuration.
+     *
+     * @return the claim check, or {@code null} when offloading is not configured
+     * @throws IOException if the blob store cannot be opened
+     */
+    @SuppressWarnings("unchecked")
+    public static ClaimCheck from(BMap<BString, Object> bConnectionConfig) throws IOException {
+        BMap<BString, Object> config = (BMap<BString, Object>) bConnectionConfig.getMapValue(
+                CONNECTION_CONFIG_CLAIM_CHECK);
+        if (config == null) {
+            return null;
+        }
+        long threshold = config.getIntValue(THRESHOLD);
+        if (threshold < 1 || threshold > MAX_THRESHOLD) {
+            throw CommonUtils.createError("Invalid claim check configuration : threshold must be between 1 and "
+                    + MAX_THRESHOLD + ".");
+        }
+        return new ClaimCheck((int) threshold, createStore((BMap<BString, Object>) config.getMapValue(STORE)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BlobStore createStore(BMap<BString, Object> config) throws IOException {
+        // The store configurations are closed records, told apart by their fields.
+        if (config.containsKey(DIRECTORY)) {
+            return new LocalBlobStore(Path.of(config.getStringValue(DIRECTORY).getValue()).toAbsolutePath());
+        }
+        String className = config.getStringValue(CLASS_NAME).getValue();
+        Map<String, String> properties = new HashMap<>();
+        ((BMap<BString, Object>) config.getMapValue(PROPERTIES)).entrySet()
+                .forEach(e -> properties.put(e.getKey().getValue(), ((BString) e.getValue()).getValue()));
+        return loadStore(className, Collections.unmodifiableMap(properties));
+    }
+
+    /**
+     * Instantiates a blob store provided by a platform dependency of the program, through its
+     * public constructor taking the properties of the store.
+     */
+    private static BlobStore loadStore(String className, Map<String, String> properties) {
+        try {
+            Class<?> storeClass = Class.forName(className, true, ClaimCheck.class.getClassLoader());
+            if (!BlobStore.class.isAssignableFrom(storeClass)) {
+                throw CommonUtils.createError("Invalid claim check configuration : " + className
+                        + " does not implement " + BlobStore.class.getName() + ".");
+            }
+            return (BlobStore) storeClass.getConstructor(Map.class).newInstance(properties);
+        } catch (ReflectiveOperationException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            String msg = "Failed to create the blob store " + className + ": "
+                    + Objects.requireNonNullElse(cause.getMessage(), cause.getClass().getName());
+            throw CommonUtils.createError(msg, cause);
+        }
+    }
+
+    /**
+     * Offloads the body of a message, if it is larger than the threshold.
+     *
+     * @return the request to send instead, or the given one if its body is small enough
+     * @throws IOException if the body cannot be stored
+     */
+    public SendMessageRequest offload(SendMessageRequest request) throws IOException {
+        byte[] body = largeBody(request.messageBody());
+        if (body == null) {
+            return request;
+        }
+        String key = store.put(body);
+        return request.toBuilder()
+                .messageBody(key)
+                .messageAttributes(withPointer(request.messageAttributes(), key))
+                .build();
+    }
+
+    /**
+     * Offloads the bodies of the entries of a batch that are larger than the threshold.
+     *
+     * @return the request to send instead, or the given one if all its bodies are small enough
+     * @throws IOException if a body cannot be stored, in which case the bodies already stored are deleted
+     */
+    public SendMessageBatchRequest offload(SendMessageBatchRequest request) throws IOException {
+        List<SendMessageBatchRequestEntry> entries = null;
+        List<String> keys = new ArrayList<>();
+        try {
+            for (int i = 0; i < request.entries().size(); i++) {
+                SendMessageBatchRequestEntry entry = request.entries().get(i);
+                byte[] body = largeBody(entry.messageBody());
+                if (body == null) {
+                    if (entries != null) {
+                        entries.add(entry);
+                    }
+                    continue;
+                }
+                if (entries == null) {
+                    entries = new ArrayList<>(request.entries().subList(0, i));
+                }
+                String key = store.put(body);
+                keys.add(key);
+                entries.add(entry.toBuilder()
+                        .messageBody(key)
+                        .messageAttributes(withPointer(entry.messageAttributes(), key))
+                        .build());
+            }
+        } catch (IOException e) {
+            keys.forEach(this::deleteBlob);
+            throw e;
+        }
+        return entries == null ? request : request.toBuilder().entries(entries).build();
+    }
+
+    /**
+     * Deletes the offloaded body of a message that could not be sent.
+     */
+    public void discard(SendMessageRequest request) {
+        MessageAttributeValue pointer = request.messageAttributes().get(POINTER_ATTRIBUTE);
+        if (pointer != null) {
+            deleteBlob(pointer.stringValue());
+        }
+    }
+
+    /**
+     * Deletes the offloaded bodies of the entries of a batch that could not be sent.
+     *
+     * @param request  the batch request
+     * @param response the response to the batch, or {@code null} if none of its entries was sent
+     */
+    public void discard(SendMessageBatchRequest request, SendMessageBatchResponse response) {
+        List<String> failed = response == null ? null
+                : response.failed().stream().map(BatchResultErrorEntry::id).toList();
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            MessageAttributeValue pointer = entry.messageAttributes().get(POINTER_ATTRIBUTE);
+            if (pointer != null && (failed == null || failed.contains(entry.id()))) {
+                deleteBlob(pointer.stringValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the key of the offloaded body of a received message.
+     *
+     * @return the key, or {@code null} if the body of the message was not offloaded
+     */
+    public static String pointer(Message message) {
+        MessageAttributeValue pointer = message.messageAttributes().get(POINTER_ATTRIBUTE);
+        return pointer == null ? null : pointer.stringValue();
+    }
+
+    /**
+     * Reads the offloaded body of a received message back from the blob store.
+     *
+     * @return the message with its body, without the pointer attribute, or the given message
+     * if its body was not offloaded
+     * @throws IOException if the body cannot be read, naming the message
+     */
+    public Message resolve(Message message) throws IOException {
+        String key = pointer(message);
+        if (key == null) {
+            return message;
+        }
+        byte[] body;
+        try {
+            body = store.get(key);
+        } catch (IOException e) {
+            throw new IOException("Failed to read the offloaded body of message " + message.messageId() + ": "
+                    + Objects.requireNonNullElse(e.getMessage(), "Unknown error"), e);
+        }
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(message.messageAttributes());
+        attributes.remove(POINTER_ATTRIBUTE);
+        return message.toBuilder()
+                .body(new String(body, StandardCharsets.UTF_8))
+                .messageAttributes(attributes)
+                .build();
+    }
+
+    /**
+     * Resolves the offloaded bodies of received messages. The pointer of a body that cannot be
+     * read is never returned in place of the body.
+     *
+     * @throws IOException if the body of any of the messages cannot be read
+     */
+    public List<Message> resolveAll(List<Message> messages) throws IOException {
+        List<Message> resolved = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            resolved.add(resolve(message));
+        }
+        return resolved;
+    }
+
+    /**
+     * Deletes an offloaded body, once its message is deleted. A failure is only reported, as
+     * the message is gone already.
+     */
+    public void deleteBlob(String key) {
+        try {
+            store.delete(key);
+        } catch (IOException e) {
+            report("Failed to delete the offloaded body " + key, e);
+        }
+    }
+
+    /**
+     * Returns the body encoded in UTF-8 if it is larger than the threshold, or {@code null}
+     * otherwise, without encoding the bodies that are clearly small enough.
+     */
+    private byte[] largeBody(String body) {
+        // A UTF-16 code unit takes from one to three bytes in UTF-8.
+        if ((long) body.length() * 3 <= threshold) {
+            return null;
+        }
+        byte[] encoded = body.getBytes(StandardCharsets.UTF_8);
+        return encoded.length > threshold ? encoded : null;
+    }
+
+    private static Map<String, MessageAttributeValue> withPointer(Map<String, MessageAttributeValue> attributes,
+            String key) {
+        Map<String, MessageAttributeValue> withPointer = new HashMap<>(attributes);
+        withPointer.put(POINTER_ATTRIBUTE, MessageAttributeValue.builder().dataType(STRING).stringValue(key).build());
+        return withPointer;
+    }
+
+    private static void report(String msg, Exception e) {
+        msg = msg + ": " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
+        CommonUtils.createError(msg, e).printStackTrace();
+    }
+}
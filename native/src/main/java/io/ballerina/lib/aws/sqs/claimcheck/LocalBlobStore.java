@@ -0,0 +1,76 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.claimcheck;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Stores the offloaded bodies as files of a local directory, which may be a mount shared by
+ * the producers and the consumers. A body is written to a temporary file first, and then moved
+ * in place, so that it is never read partly written.
+ */
+final class LocalBlobStore implements BlobStore {
+    private static final String BLOB_SUFFIX = ".blob";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    LocalBlobStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public String put(byte[] content) throws IOException {
+        String key = UUID.randomUUID().toString();
+        Path temporary = directory.resolve(key + TEMPORARY_SUFFIX);
+        try {
+            Files.write(temporary, content);
+            Files.move(temporary, blobPath(key), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        return key;
+    }
+
+    @Override
+    public byte[] get(String key) throws IOException {
+        return Files.readAllBytes(blobPath(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(blobPath(key));
+    }
+
+    private Path blobPath(String key) throws IOException {
+        // Keys come from message attributes: only those of this store may name a file.
+        try {
+            if (UUID.fromString(key).toString().equals(key)) {
+                return directory.resolve(key + BLOB_SUFFIX);
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw new IOException("invalid blob key: " + key);
+    }
+}
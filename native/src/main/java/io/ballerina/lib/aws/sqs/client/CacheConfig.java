@@ -0,0 +1,67 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import java.time.Duration;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Configuration of a client-side cache, mapped from the Ballerina cache configuration
+ * records of the {@code ConnectionConfig}.
+ */
+public record CacheConfig(int maxEntries, Duration ttl) {
+
+    static final BString MAX_ENTRIES = StringUtils.fromString("maxEntries");
+    static final BString TTL = StringUtils.fromString("ttl");
+
+    public CacheConfig {
+        if (maxEntries < 1) {
+            throw CommonUtils.createError("Invalid cache configuration : maxEntries must be positive.");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw CommonUtils.createError("Invalid cache configuration : ttl must be positive.");
+        }
+    }
+
+    /**
+     * Creates a cache configuration from Ballerina config map.
+     *
+     * @param config The Ballerina configuration map containing the cache settings
+     */
+    public CacheConfig(BMap<BString, Object> config) {
+        // Saturated rather than truncated, so that an out of range value is not wrapped into a valid one
+        this((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, config.getIntValue(MAX_ENTRIES))),
+                Duration.ofMillis((long) (((BDecimal) config.get(TTL)).value().doubleValue() * 1000)));
+    }
+
+    /**
+     * Reads the cache configuration stored under the given field of the connection
+     * configuration.
+     *
+     * @return the cache configuration, or {@code null} when the cache is not enabled
+     */
+    @SuppressWarnings("unchecked")
+    static CacheConfig from(BMap<BString, Object> bConnectionConfig, BString field) {
+        Object config = bConnectionConfig.get(field);
+        return config == null ? null : new CacheConfig((BMap<BString, Object>) config);
+    }
+}
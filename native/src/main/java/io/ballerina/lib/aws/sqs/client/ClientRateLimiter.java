@@ -0,0 +1,98 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Client-side token bucket, configured by the {@code rateLimit} field of the Ballerina
+ * {@code ConnectionConfig}, that every attempt of every call waits on before it is sent.
+ * Retries hence draw from the same budget as first attempts, which keeps a throttled fleet
+ * of producers from retrying in lockstep.
+ *
+ * <p>The bucket is a lock-free generic cell rate algorithm: each attempt reserves the next
+ * emission time and sleeps until it comes, and up to {@code burst} attempts may go at once
+ * after a quiet period. One limiter is shared by all the native clients created from the
+ * same connection configuration, including the listener's long-poll client.
+ */
+final class ClientRateLimiter implements ExecutionInterceptor {
+    private static final BString REQUESTS_PER_SECOND = StringUtils.fromString("requestsPerSecond");
+    private static final BString BURST = StringUtils.fromString("burst");
+    private static final BString CONNECTION_CONFIG_RATE_LIMIT = StringUtils.fromString("rateLimit");
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    // Theoretical arrival time of the next attempt, on the System.nanoTime() scale.
+    private final AtomicLong nextEmission = new AtomicLong(System.nanoTime());
+
+    private ClientRateLimiter(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rateLimit requires a positive requestsPerSecond and burst");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+    }
+
+    /**
+     * Creates the rate limiter of a Ballerina connection configuration.
+     *
+     * @return the rate limiter, or {@code null} when no rate limit is configured
+     */
+    @SuppressWarnings("unchecked")
+    static ClientRateLimiter from(BMap<BString, Object> bConnectionConfig) {
+        Object rateLimit = bConnectionConfig.get(CONNECTION_CONFIG_RATE_LIMIT);
+        if (rateLimit == null) {
+            return null;
+        }
+        BMap<BString, Object> config = (BMap<BString, Object>) rateLimit;
+        return new ClientRateLimiter(((BDecimal) config.get(REQUESTS_PER_SECOND)).value().doubleValue(),
+                config.getIntValue(BURST).intValue());
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        long now = System.nanoTime();
+        long emission;
+        while (true) {
+            long next = nextEmission.get();
+            emission = Math.max(next, now);
+            if (nextEmission.compareAndSet(next, emission + emissionIntervalNanos)) {
+                break;
+            }
+        }
+        long waitNanos = emission - burstToleranceNanos - now;
+        while (waitNanos > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw AbortedException.create("Interrupted while waiting for the client-side rate limit");
+            }
+            waitNanos = emission - burstToleranceNanos - System.nanoTime();
+        }
+    }
+}
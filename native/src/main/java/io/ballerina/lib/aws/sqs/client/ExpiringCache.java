@@ -0,0 +1,144 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, time-based cache of values loaded from SQS, shared by all the strands
+ * using a client.
+ *
+ * <p>Loads are single-flight: concurrent lookups of a key that is missing or expired
+ * wait on the one request issued for it instead of issuing their own. Failed loads are
+ * never cached, so the next lookup retries.
+ *
+ * @param <K> the type of the cache keys
+ * @param <V> the type of the cached values
+ */
+final class ExpiringCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    ExpiringCache(CacheConfig config) {
+        this.maxEntries = config.maxEntries();
+        this.ttlNanos = config.ttl().toNanos();
+    }
+
+    /**
+     * Returns the cached value for the key, loading it with the given loader when it is
+     * absent or has expired.
+     *
+     * @param key    the cache key
+     * @param loader the function that fetches the value from SQS
+     * @return the cached or freshly loaded value
+     * @throws RuntimeException the failure of the load, as thrown by the loader
+     */
+    V get(K key, Supplier<V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.isExpired(now, ttlNanos)) {
+            Entry<V> candidate = new Entry<>();
+            entry = entries.compute(key,
+                    (k, existing) -> existing != null && !existing.isExpired(now, ttlNanos) ? existing : candidate);
+            if (entry == candidate) {
+                load(key, candidate, loader);
+            }
+        }
+        return await(entry.value);
+    }
+
+    /**
+     * Removes every entry matching the given predicate, including loads still in flight.
+     */
+    void invalidateIf(BiPredicate<K, V> predicate) {
+        entries.entrySet().removeIf(e -> {
+            CompletableFuture<V> value = e.getValue().value;
+            return !value.isDone() || value.isCompletedExceptionally()
+                    || predicate.test(e.getKey(), value.getNow(null));
+        });
+    }
+
+    void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    private void load(K key, Entry<V> entry, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            entry.loadedAt = System.nanoTime();
+            entry.value.complete(value);
+            evictIfFull();
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Brings the cache back within its bound, dropping the expired entries first and then
+     * the least recently loaded ones.
+     */
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now, ttlNanos));
+        while (entries.size() > maxEntries) {
+            Map.Entry<K, Entry<V>> oldest = null;
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                if (e.getValue().value.isDone()
+                        && (oldest == null || e.getValue().loadedAt - oldest.getValue().loadedAt < 0)) {
+                    oldest = e;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            // Surface the original SDK exception so that the error details are derived from it.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        private volatile long loadedAt;
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return value.isDone() && now - loadedAt >= ttlNanos;
+        }
+    }
+}
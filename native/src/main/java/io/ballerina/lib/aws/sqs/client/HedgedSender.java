@@ -0,0 +1,148 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+/**
+ * Sends messages with a hedge: when a send has not completed after the 99th percentile of
+ * the recent send latencies, a backup send of the same request is issued, and whichever
+ * succeeds first is returned.
+ *
+ * <p>On a FIFO queue, the backup is only sent when the message has a deduplication ID, so
+ * that SQS drops the copy that completes last. On a standard queue, both copies may be
+ * delivered, which at-least-once consumers have to tolerate anyway.
+ */
+final class HedgedSender {
+    private static final BString INITIAL_DELAY = StringUtils.fromString("initialDelay");
+    private static final BString MIN_DELAY = StringUtils.fromString("minDelay");
+    private static final BString CONNECTION_CONFIG_SEND_HEDGING = StringUtils.fromString("sendHedging");
+    private static final String FIFO_QUEUE_SUFFIX = ".fifo";
+    private static final int SAMPLES = 1024;
+    // The percentile is refreshed once per this many samples rather than on every send.
+    private static final int REFRESH_INTERVAL = 64;
+    private static final ExecutorService SEND_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long minDelayNanos;
+    private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+    private final AtomicInteger sampleCount = new AtomicInteger();
+    private volatile long hedgeDelayNanos;
+
+    private HedgedSender(Duration initialDelay, Duration minDelay) {
+        this.minDelayNanos = minDelay.toNanos();
+        this.hedgeDelayNanos = Math.max(initialDelay.toNanos(), minDelayNanos);
+    }
+
+    /**
+     * Creates the hedged sender of a Ballerina connection configuration.
+     *
+     * @return the hedged sender, or {@code null} when hedging is not configured
+     */
+    @SuppressWarnings("unchecked")
+    static HedgedSender from(BMap<BString, Object> bConnectionConfig) {
+        Object hedging = bConnectionConfig.get(CONNECTION_CONFIG_SEND_HEDGING);
+        if (hedging == null) {
+            return null;
+        }
+        BMap<BString, Object> config = (BMap<BString, Object>) hedging;
+        return new HedgedSender(getDuration(config, INITIAL_DELAY), getDuration(config, MIN_DELAY));
+    }
+
+    SendMessageResponse send(SqsClient sqsClient, SendMessageRequest request) throws Exception {
+        if (request.queueUrl().endsWith(FIFO_QUEUE_SUFFIX) && request.messageDeduplicationId() == null) {
+            return timedSend(sqsClient, request);
+        }
+        CompletableFuture<SendMessageResponse> primary = CompletableFuture.supplyAsync(
+                () -> timedSend(sqsClient, request), SEND_EXECUTOR);
+        try {
+            return primary.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Falls through to the backup.
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+        CompletableFuture<SendMessageResponse> backup = CompletableFuture.supplyAsync(
+                () -> timedSend(sqsClient, request), SEND_EXECUTOR);
+        CompletableFuture<SendMessageResponse> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<SendMessageResponse> attempt : Arrays.asList(primary, backup)) {
+            attempt.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    first.complete(response);
+                } else if (failures.incrementAndGet() == 2) {
+                    // Both failed: report the failure of the primary, the one that was asked for.
+                    primary.whenComplete((r, primaryFailure) -> first.completeExceptionally(primaryFailure));
+                }
+            });
+        }
+        try {
+            return first.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private SendMessageResponse timedSend(SqsClient sqsClient, SendMessageRequest request) {
+        long startTime = System.nanoTime();
+        SendMessageResponse response = sqsClient.sendMessage(request);
+        record(System.nanoTime() - startTime);
+        return response;
+    }
+
+    private void record(long latencyNanos) {
+        // Both sizes are powers of two, hence the masks keep working once the count overflows.
+        int count = sampleCount.getAndIncrement();
+        latencies.set(count & (SAMPLES - 1), latencyNanos);
+        if (((count + 1) & (REFRESH_INTERVAL - 1)) == 0) {
+            int size = count >= 0 && count + 1 < SAMPLES ? count + 1 : SAMPLES;
+            long[] samples = new long[size];
+            for (int i = 0; i < size; i++) {
+                samples[i] = latencies.get(i);
+            }
+            Arrays.sort(samples);
+            hedgeDelayNanos = Math.max(samples[(int) Math.ceil(size * 0.99) - 1], minDelayNanos);
+        }
+    }
+
+    private static Exception unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        return cause instanceof Exception exception ? exception : new CompletionException(cause);
+    }
+
+    private static Duration getDuration(BMap<BString, Object> config, BString field) {
+        return Duration.ofMillis((long) (((BDecimal) config.get(field)).value().doubleValue() * 1000));
+    }
+}
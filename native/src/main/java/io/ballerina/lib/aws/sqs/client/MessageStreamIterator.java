@@ -0,0 +1,341 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.lib.aws.sqs.claimcheck.ClaimCheck;
+import io.ballerina.lib.aws.sqs.mappers.BinaryBody;
+import io.ballerina.lib.aws.sqs.mappers.MessageAggregation;
+import io.ballerina.lib.aws.sqs.mappers.ReceiveMessageMapper;
+import io.ballerina.lib.aws.sqs.outbox.Outbox;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+/**
+ * Native implementation of the stream returned by {@code receiveStream}.
+ *
+ * <p>A configured number of long polls are kept in flight on virtual threads, ahead of the
+ * consumer. Each poll first reserves room in the buffer for every message it may receive,
+ * hence the buffer never holds more than its configured size and polling pauses while the
+ * consumer falls behind, instead of receiving messages that would only burn through their
+ * visibility timeout while waiting. The records of an aggregated message are returned one by
+ * one, as by {@code receiveMessage}, while the message takes up a single place in the buffer.
+ * A poll failing transiently is retried with an exponential backoff, while any other failure
+ * ends the stream with an error once the messages buffered before it are consumed.
+ */
+public final class MessageStreamIterator {
+    static final String NATIVE_MESSAGE_STREAM_ITERATOR = "nativeMessageStreamIterator";
+    private static final BString PREFETCH_POLLS = StringUtils.fromString("prefetchPolls");
+    private static final BString BUFFER_SIZE = StringUtils.fromString("bufferSize");
+    private static final int MAX_MESSAGES_PER_POLL = 10;
+    private static final int MAX_WAIT_TIME_SECONDS = 20;
+    private static final long MIN_RETRY_BACKOFF_MILLIS = 100;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 10_000;
+    // Marks the end of the stream in the buffer, once it is closed or has failed.
+    private static final Message END_OF_STREAM = Message.builder().build();
+
+    private final SqsClient sqsClient;
+    // Reads back the offloaded bodies, only of the messages that are consumed
+    private final ClaimCheck claimCheck;
+    private final ReceiveMessageRequest receiveRequest;
+    private final int messagesPerPoll;
+    private final BlockingQueue<Message> buffer = new LinkedBlockingQueue<>();
+    private final Semaphore bufferCapacity;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final List<Thread> pollers = new ArrayList<>();
+    // The records of the aggregated message being consumed, returned before the next message of
+    // the buffer. An aggregated message takes up a single message of the buffer's capacity.
+    private final Deque<Message> pendingRecords = new ArrayDeque<>();
+    // Set by a poll failing for good, or an offloaded body that cannot be read, which ends the stream apart
+    // from closing it
+    private volatile Exception failure;
+
+    private MessageStreamIterator(SqsClient sqsClient, ClaimCheck claimCheck, ReceiveMessageRequest request,
+            int prefetchPolls, int bufferSize) {
+        this.sqsClient = sqsClient;
+        this.claimCheck = claimCheck;
+        this.messagesPerPoll = Math.min(request.maxNumberOfMessages() == null
+                ? MAX_MESSAGES_PER_POLL : request.maxNumberOfMessages(), bufferSize);
+        // Without an explicit wait time, the queue's own setting applies, which defaults to
+        // short polling and would make the pollers spin on an empty queue.
+        this.receiveRequest = request.toBuilder()
+                .maxNumberOfMessages(messagesPerPoll)
+                .waitTimeSeconds(request.waitTimeSeconds() == null ? MAX_WAIT_TIME_SECONDS : request.waitTimeSeconds())
+                .build();
+        this.bufferCapacity = new Semaphore(bufferSize);
+        for (int i = 0; i < prefetchPolls; i++) {
+            pollers.add(Thread.ofVirtual().unstarted(this::poll));
+        }
+    }
+
+    public static void init(BObject bStream, BObject bClient, BString queueUrl, BMap<BString, Object> bConfig) {
+        SqsClient sqsClient = (SqsClient) bClient.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT);
+        ClaimCheck claimCheck = (ClaimCheck) bClient.getNativeData(NativeClientAdaptor.NATIVE_CLAIM_CHECK);
+        MessageStreamIterator iterator = null;
+        try {
+            if (sqsClient == null) {
+                throw new IllegalStateException("The SQS client is already closed");
+            }
+            int prefetchPolls = bConfig.getIntValue(PREFETCH_POLLS).intValue();
+            int bufferSize = bConfig.getIntValue(BUFFER_SIZE).intValue();
+            if (prefetchPolls < 1 || bufferSize < 1) {
+                throw new IllegalArgumentException("prefetchPolls and bufferSize must be greater than zero");
+            }
+            // Requests the attribute marking aggregated messages, so that their records are unpacked.
+            ReceiveMessageRequest request = ReceiveMessageMapper.requestAttribute(
+                    ReceiveMessageMapper.getNativeReceiveMessageRequest(queueUrl, bConfig),
+                    MessageAggregation.ENVELOPE_ATTRIBUTE);
+            // Requests the attribute marking binary bodies, so that they are decoded.
+            request = ReceiveMessageMapper.requestAttribute(request, BinaryBody.BODY_ATTRIBUTE);
+            if (claimCheck != null) {
+                request = ReceiveMessageMapper.requestAttribute(request, ClaimCheck.POINTER_ATTRIBUTE);
+            }
+            iterator = new MessageStreamIterator(sqsClient, claimCheck, request, prefetchPolls, bufferSize);
+            iterator.pollers.forEach(Thread::start);
+        } catch (Exception e) {
+            // Reported by the first call to next(), since a stream cannot fail on creation.
+            iterator = new MessageStreamIterator(e);
+        }
+        bStream.addNativeData(NATIVE_MESSAGE_STREAM_ITERATOR, iterator);
+    }
+
+    private MessageStreamIterator(Exception failure) {
+        this.sqsClient = null;
+        this.claimCheck = null;
+        this.receiveRequest = null;
+        this.messagesPerPoll = 0;
+        this.bufferCapacity = new Semaphore(0);
+        this.failure = failure;
+        this.buffer.add(END_OF_STREAM);
+    }
+
+    public static Object next(Environment env, BObject bStream) {
+        MessageStreamIterator iterator = (MessageStreamIterator) bStream.getNativeData(
+                NATIVE_MESSAGE_STREAM_ITERATOR);
+        return env.yieldAndRun(() -> {
+            try {
+                Message message = iterator.take();
+                if (message != END_OF_STREAM) {
+                    return ReceiveMessageMapper.getNativeMessage(message);
+                }
+                Exception e = iterator.failure;
+                if (e == null) {
+                    return null;
+                }
+                String msg = "Failed to receive message: " + Objects.requireNonNullElse(e.getMessage(),
+                        "Unknown error");
+                return CommonUtils.createError(msg, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CommonUtils.createError("Receiving from the message stream was interrupted", e);
+            } catch (Exception e) {
+                String msg = "Failed to receive message: " + Objects.requireNonNullElse(e.getMessage(),
+                        "Unknown error");
+                return CommonUtils.createError(msg, e);
+            }
+        });
+    }
+
+    public static Object close(BObject bStream) {
+        MessageStreamIterator iterator = (MessageStreamIterator) bStream.getNativeData(
+                NATIVE_MESSAGE_STREAM_ITERATOR);
+        if (iterator == null || !iterator.closed.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            iterator.pollers.forEach(Thread::interrupt);
+            List<Message> pending = new ArrayList<>();
+            // A poller that receives messages from now on releases them itself, see deliver().
+            synchronized (iterator.buffer) {
+                iterator.buffer.drainTo(pending);
+                iterator.buffer.add(END_OF_STREAM);
+            }
+            pending.remove(END_OF_STREAM);
+            // The aggregated message being consumed is not released, as that would deliver its
+            // records consumed already again; it stays hidden until its visibility timeout.
+            synchronized (iterator.pendingRecords) {
+                iterator.pendingRecords.clear();
+            }
+            iterator.release(pending);
+        } catch (Exception e) {
+            String msg = "Failed to close the message stream: "
+                    + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
+            return CommonUtils.createError(msg, e);
+        }
+        return null;
+    }
+
+    private Message take() throws InterruptedException {
+        synchronized (pendingRecords) {
+            Message record = pendingRecords.poll();
+            if (record != null) {
+                return record;
+            }
+        }
+        while (true) {
+            Message message = buffer.take();
+            if (message == END_OF_STREAM) {
+                // Keep the marker in place for any later call.
+                buffer.add(END_OF_STREAM);
+                return message;
+            }
+            bufferCapacity.release();
+            if (claimCheck != null) {
+                try {
+                    message = claimCheck.resolve(message);
+                } catch (IOException e) {
+                    // Never hand out the pointer as the body: the stream ends with the error instead.
+                    fail(message, e);
+                    continue;
+                }
+            }
+            if (!MessageAggregation.isEnvelope(message)) {
+                return message;
+            }
+            // A malformed aggregated message is returned as it is, and an empty one skipped.
+            List<Message> records = MessageAggregation.unpackAll(List.of(message));
+            if (!records.isEmpty()) {
+                synchronized (pendingRecords) {
+                    pendingRecords.addAll(records.subList(1, records.size()));
+                }
+                return records.get(0);
+            }
+        }
+    }
+
+    private void poll() {
+        long backoffMillis = MIN_RETRY_BACKOFF_MILLIS;
+        try {
+            while (!closed.get() && failure == null) {
+                bufferCapacity.acquire(messagesPerPoll);
+                ReceiveMessageResponse response;
+                try {
+                    response = sqsClient.receiveMessage(receiveRequest);
+                } catch (Exception e) {
+                    bufferCapacity.release(messagesPerPoll);
+                    // A throttled or timed out poll is retried: only a failure that would happen
+                    // again, such as a missing queue or a denied access, ends the stream.
+                    if (!Outbox.isTransient(e) || closed.get() || failure != null) {
+                        throw e;
+                    }
+                    Thread.sleep(backoffMillis);
+                    backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+                    continue;
+                }
+                backoffMillis = MIN_RETRY_BACKOFF_MILLIS;
+                List<Message> messages = response.messages();
+                // Give back the room reserved for the messages that did not arrive.
+                bufferCapacity.release(messagesPerPoll - messages.size());
+                deliver(messages);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            synchronized (buffer) {
+                // Only the first failure ends the stream; the stream may also be closed already.
+                if (failure == null && !closed.get()) {
+                    failure = e;
+                    buffer.add(END_OF_STREAM);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends the stream with an error right away, ahead of the messages still buffered, which are
+     * made visible again along with the message that could not be returned.
+     */
+    private void fail(Message message, Exception e) {
+        List<Message> pending = new ArrayList<>();
+        pending.add(message);
+        synchronized (buffer) {
+            if (failure == null && !closed.get()) {
+                failure = e;
+            }
+            buffer.drainTo(pending);
+            buffer.add(END_OF_STREAM);
+        }
+        pollers.forEach(Thread::interrupt);
+        pending.remove(END_OF_STREAM);
+        try {
+            release(pending);
+        } catch (Exception releaseError) {
+            CommonUtils.createError("Failed to release the messages of the failed message stream", releaseError)
+                    .printStackTrace();
+        }
+    }
+
+    /**
+     * Buffers the messages of a poll, unless the stream has ended while it was in flight, in which
+     * case nothing will consume them and they are made visible again.
+     */
+    private void deliver(List<Message> messages) {
+        synchronized (buffer) {
+            if (!closed.get() && failure == null) {
+                buffer.addAll(messages);
+                return;
+            }
+        }
+        try {
+            release(messages);
+        } catch (Exception e) {
+            CommonUtils.createError("Failed to release the messages received after the message stream ended", e)
+                    .printStackTrace();
+        }
+    }
+
+    /**
+     * Makes the messages received but not consumed visible again right away, instead of leaving
+     * them hidden until their visibility timeout expires.
+     */
+    private void release(List<Message> pending) {
+        for (int from = 0; from < pending.size(); from += MAX_MESSAGES_PER_POLL) {
+            List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>();
+            for (Message message : pending.subList(from, Math.min(from + MAX_MESSAGES_PER_POLL, pending.size()))) {
+                entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                        .id(Integer.toString(entries.size()))
+                        .receiptHandle(message.receiptHandle())
+                        .visibilityTimeout(0)
+                        .build());
+            }
+            sqsClient.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                    .queueUrl(receiveRequest.queueUrl())
+                    .entries(entries)
+                    .build());
+        }
+    }
+}
@@ -16,17 +16,24 @@
 
 package io.ballerina.lib.aws.sqs.client;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.ballerina.lib.aws.EndpointConfigUtils;
 import io.ballerina.lib.aws.auth.ProviderFactory;
 import io.ballerina.lib.aws.sqs.CommonUtils;
 import io.ballerina.lib.aws.sqs.auth.ConnectionConfig;
+import io.ballerina.lib.aws.sqs.auth.HttpClientConfig;
+import io.ballerina.lib.aws.sqs.claimcheck.ClaimCheck;
+import io.ballerina.lib.aws.sqs.inmemory.InMemorySqsClient;
+import io.ballerina.lib.aws.sqs.inmemory.InMemoryTransportConfig;
+import io.ballerina.lib.aws.sqs.mappers.BinaryBody;
 import io.ballerina.lib.aws.sqs.mappers.CancelMessageMoveTaskMapper;
 import io.ballerina.lib.aws.sqs.mappers.CreateQueueMapper;
 import io.ballerina.lib.aws.sqs.mappers.DeleteMessageBatchMapper;
@@ -34,18 +41,27 @@ import io.ballerina.lib.aws.sqs.mappers.GetQueueAttributesMapper;
 import io.ballerina.lib.aws.sqs.mappers.GetQueueUrlMapper;
 import io.ballerina.lib.aws.sqs.mappers.ListQueueTagsMapper;
 import io.ballerina.lib.aws.sqs.mappers.ListQueuesMapper;
+import io.ballerina.lib.aws.sqs.mappers.MessageAggregation;
 import io.ballerina.lib.aws.sqs.mappers.ReceiveMessageMapper;
 import io.ballerina.lib.aws.sqs.mappers.SendMessageBatchMapper;
 import io.ballerina.lib.aws.sqs.mappers.SendMessageMapper;
 import io.ballerina.lib.aws.sqs.mappers.SetQueueAttributesMapper;
 import io.ballerina.lib.aws.sqs.mappers.StartMessageMoveTaskMapper;
+import io.ballerina.lib.aws.sqs.observability.MetricsInterceptor;
+import io.ballerina.lib.aws.sqs.observability.SdkMetricsPublisher;
+import io.ballerina.lib.aws.sqs.observability.SqsMetrics;
+import io.ballerina.lib.aws.sqs.observability.TraceContext;
+import io.ballerina.lib.aws.sqs.outbox.Outbox;
+import io.ballerina.lib.aws.sqs.outbox.OutboxConfig;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.SqsClientBuilder;
 import software.amazon.awssdk.services.sqs.model.CancelMessageMoveTaskRequest;
@@ -65,7 +81,9 @@ import software.amazon.awssdk.services.sqs.model.ListQueueTagsRequest;
 import software.amazon.awssdk.services.sqs.model.ListQueueTagsResponse;
 import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
 import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.PurgeQueueRequest;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
@@ -86,14 +104,34 @@ import software.amazon.awssdk.services.sqs.model.UntagQueueRequest;
 public class NativeClientAdaptor {
     public static final String NATIVE_SQS_CLIENT = "nativeClient";
     public static final String NATIVE_CLIENT_CLOSED = "nativeClientClosed";
+    public static final String NATIVE_CLIENT_LEASE = "nativeClientLease";
+    static final String NATIVE_QUEUE_URL_CACHE = "nativeQueueUrlCache";
+    static final String NATIVE_QUEUE_ATTRIBUTES_CACHE = "nativeQueueAttributesCache";
+    static final String NATIVE_SEND_HEDGING = "nativeSendHedging";
+    public static final String NATIVE_CLAIM_CHECK = "nativeClaimCheck";
+    static final String NATIVE_OUTBOX = "nativeOutbox";
+    static final String NATIVE_OUTBOX_MODE = "nativeOutboxMode";
+
+    private static final BString QUEUE_URL_CACHE = StringUtils.fromString("queueUrlCache");
+    private static final BString QUEUE_ATTRIBUTES_CACHE = StringUtils.fromString("queueAttributesCache");
+    private static final BString MESSAGE_DEDUPLICATION_ID = StringUtils.fromString("messageDeduplicationId");
 
     private NativeClientAdaptor() {
     }
 
-    public static SqsClient createSqsClient(BMap<BString, Object> bConnectionConfig) {
+    static SqsClient createSqsClient(BMap<BString, Object> bConnectionConfig, HttpClientConfig httpClientConfig,
+            ClientRateLimiter rateLimiter) {
+        InMemoryTransportConfig inMemoryConfig = InMemoryTransportConfig.from(bConnectionConfig);
+        if (inMemoryConfig != null) {
+            // The in-process queues need neither credentials nor an HTTP transport.
+            return new InMemorySqsClient(inMemoryConfig);
+        }
         ConnectionConfig connectionConfig = new ConnectionConfig(bConnectionConfig);
+        if (httpClientConfig != null) {
+            connectionConfig = connectionConfig.withHttpClientConfig(httpClientConfig);
+        }
         try {
-            return buildSqsClient(connectionConfig);
+            return buildSqsClient(connectionConfig, rateLimiter);
         } catch (Exception e) {
             // The credentials provider is built before the client, and it is the client
             // that releases it. Hence, it has to be released here when there is no client.
@@ -117,11 +155,31 @@ public class NativeClientAdaptor {
         }
     }
 
-    private static SqsClient buildSqsClient(ConnectionConfig connectionConfig) {
+    private static SqsClient buildSqsClient(ConnectionConfig connectionConfig, ClientRateLimiter rateLimiter) {
         SqsClientBuilder builder = SqsClient.builder()
                 .region(connectionConfig.region())
                 .credentialsProvider(connectionConfig.credentialsProvider());
         EndpointConfigUtils.applyEndpointConfig(builder, connectionConfig.endpointConfig());
+        if (connectionConfig.httpClientConfig() != null) {
+            builder.httpClientBuilder(connectionConfig.httpClientConfig().httpClientBuilder());
+        }
+        ClientOverrideConfiguration.Builder overrideConfig = ClientOverrideConfiguration.builder();
+        if (connectionConfig.retryConfig() != null) {
+            overrideConfig.retryStrategy(connectionConfig.retryConfig().retryStrategy());
+        }
+        if (connectionConfig.timeoutConfig() != null) {
+            overrideConfig.addExecutionInterceptor(new TimeoutInterceptor(connectionConfig.timeoutConfig()));
+        }
+        if (rateLimiter != null) {
+            overrideConfig.addExecutionInterceptor(rateLimiter);
+        }
+        if (SqsMetrics.isEnabled()) {
+            overrideConfig.addExecutionInterceptor(new MetricsInterceptor());
+            if (connectionConfig.publishSdkMetrics()) {
+                overrideConfig.addMetricPublisher(new SdkMetricsPublisher());
+            }
+        }
+        builder.overrideConfiguration(overrideConfig.build());
         return builder.build();
     }
 
@@ -129,13 +187,41 @@ public class NativeClientAdaptor {
         // Registered before anything else so that close() always finds its guard, even if
         // initialization fails part-way through.
         bClient.addNativeData(NATIVE_CLIENT_CLOSED, new AtomicBoolean(false));
-        ConnectionConfig connectionConfig = null;
+        SqsClientPool.Lease lease = null;
         try {
-            connectionConfig = new ConnectionConfig(bConnectionConfig);
-            SqsClient nativeClient = buildSqsClient(connectionConfig);
-            bClient.addNativeData(NATIVE_SQS_CLIENT, nativeClient);
+            lease = SqsClientPool.acquire(bConnectionConfig);
+            bClient.addNativeData(NATIVE_CLIENT_LEASE, lease);
+            bClient.addNativeData(NATIVE_SQS_CLIENT, lease.client());
+
+            CacheConfig queueUrlCacheConfig = CacheConfig.from(bConnectionConfig, QUEUE_URL_CACHE);
+            if (queueUrlCacheConfig != null) {
+                bClient.addNativeData(NATIVE_QUEUE_URL_CACHE, new ExpiringCache<QueueUrlKey, String>(
+                        queueUrlCacheConfig));
+            }
+            CacheConfig attributesCacheConfig = CacheConfig.from(bConnectionConfig, QUEUE_ATTRIBUTES_CACHE);
+            if (attributesCacheConfig != null) {
+                bClient.addNativeData(NATIVE_QUEUE_ATTRIBUTES_CACHE,
+                        new ExpiringCache<QueueAttributesKey, GetQueueAttributesResponse>(attributesCacheConfig));
+            }
+            HedgedSender hedgedSender = HedgedSender.from(bConnectionConfig);
+            if (hedgedSender != null) {
+                bClient.addNativeData(NATIVE_SEND_HEDGING, hedgedSender);
+            }
+            ClaimCheck claimCheck = ClaimCheck.from(bConnectionConfig);
+            if (claimCheck != null) {
+                bClient.addNativeData(NATIVE_CLAIM_CHECK, claimCheck);
+            }
+            OutboxConfig outboxConfig = OutboxConfig.from(bConnectionConfig);
+            if (outboxConfig != null) {
+                // Acquired last, as nothing releases it if the initialization fails.
+                bClient.addNativeData(NATIVE_OUTBOX, Outbox.acquire(outboxConfig, bConnectionConfig));
+                bClient.addNativeData(NATIVE_OUTBOX_MODE, outboxConfig.mode());
+            }
         } catch (Exception e) {
-            releaseProvider(connectionConfig, e);
+            if (lease != null) {
+                releaseLease(lease, e);
+                bClient.addNativeData(NATIVE_SQS_CLIENT, null);
+            }
             String errorMsg = String.format("Error occurred while initializing the SQS client: %s",
                     Objects.requireNonNullElse(e.getMessage(), "Unknown error"));
             return CommonUtils.createError(errorMsg, e);
@@ -143,33 +229,161 @@ public class NativeClientAdaptor {
         return null;
     }
 
+    private static void releaseLease(SqsClientPool.Lease lease, Exception failure) {
+        try {
+            lease.release();
+        } catch (Exception releaseFailure) {
+            failure.addSuppressed(releaseFailure);
+        }
+    }
+
     public static Object sendMessage(Environment env, BObject bClient, BString queueUrl, BString messageBody,
             BMap<BString, Object> bConfig) {
+        return send(env, bClient, queueUrl,
+                () -> SendMessageMapper.getNativeSendMessageRequest(queueUrl, messageBody, bConfig));
+    }
+
+    public static Object sendBinaryMessage(Environment env, BObject bClient, BString queueUrl, BArray messageBody,
+            BMap<BString, Object> bConfig) {
+        return send(env, bClient, queueUrl,
+                () -> SendMessageMapper.getNativeSendBinaryMessageRequest(queueUrl, messageBody, bConfig));
+    }
+
+    /**
+     * Maps the arguments of a send to its request, on the thread that sends it.
+     */
+    @FunctionalInterface
+    private interface SendRequestMapper {
+        SendMessageRequest map() throws Exception;
+    }
+
+    private static Object send(Environment env, BObject bClient, BString queueUrl, SendRequestMapper mapper) {
         SqsClient sqsClient = (SqsClient) bClient.getNativeData(NATIVE_SQS_CLIENT);
+        HedgedSender hedgedSender = (HedgedSender) bClient.getNativeData(NATIVE_SEND_HEDGING);
+        Outbox outbox = (Outbox) bClient.getNativeData(NATIVE_OUTBOX);
+        Object outboxMode = bClient.getNativeData(NATIVE_OUTBOX_MODE);
+        ClaimCheck claimCheck = (ClaimCheck) bClient.getNativeData(NATIVE_CLAIM_CHECK);
+        Map<String, String> traceContext = TraceContext.current(env);
 
         return env.yieldAndRun(() -> {
+            SendMessageRequest request = null;
             try {
-                SendMessageRequest request = SendMessageMapper.getNativeSendMessageRequest(queueUrl, messageBody,
-                        bConfig);
-                SendMessageResponse response = sqsClient.sendMessage(request);
+                request = TraceContext.inject(mapper.map(), traceContext);
+                if (claimCheck != null) {
+                    request = claimCheck.offload(request);
+                }
+                if (outboxMode == OutboxConfig.OutboxMode.ALWAYS) {
+                    return SendMessageMapper.getNativeDeferredSendMessageResponse(outbox.append(request));
+                }
+                SendMessageResponse response;
+                try {
+                    response = hedgedSender == null ? sqsClient.sendMessage(request)
+                            : hedgedSender.send(sqsClient, request);
+                } catch (Exception e) {
+                    if (outbox == null || !Outbox.isTransient(e)) {
+                        throw e;
+                    }
+                    return SendMessageMapper.getNativeDeferredSendMessageResponse(defer(outbox, request, e));
+                }
                 return SendMessageMapper.getNativeSendMessageResponse(response);
             } catch (Exception e) {
+                // A message whose send timed out may have been sent all the same, and keeps its body.
+                if (claimCheck != null && request != null && !Outbox.isTransient(e)) {
+                    claimCheck.discard(request);
+                }
+                invalidateIfQueueMissing(bClient, queueUrl, e);
                 String msg = "Failed to send message: " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
             }
         });
     }
 
+    /**
+     * Writes a message that could not be sent to the outbox, or fails with the send failure
+     * if the outbox cannot take it either.
+     */
+    private static SendMessageResponse defer(Outbox outbox, SendMessageRequest request, Exception sendFailure)
+            throws Exception {
+        try {
+            return outbox.append(request);
+        } catch (IOException outboxFailure) {
+            sendFailure.addSuppressed(outboxFailure);
+            throw sendFailure;
+        }
+    }
+
+    public static Object sendAggregatedMessages(Environment env, BObject bClient, BString queueUrl, BArray bRecords,
+            BMap<BString, Object> bConfig) {
+        SqsClient sqsClient = (SqsClient) bClient.getNativeData(NATIVE_SQS_CLIENT);
+        Map<String, String> traceContext = TraceContext.current(env);
+
+        return env.yieldAndRun(() -> {
+            List<SendMessageResponse> responses = new ArrayList<>();
+            int envelopeCount = 0;
+            int sentRecords = 0;
+            try {
+                // The attributes of the messages, added up, leave the rest of the size limit to the records.
+                SendMessageRequest template = TraceContext.inject(SendMessageMapper.getNativeSendMessageRequest(
+                        queueUrl, StringUtils.fromString(""), bConfig), traceContext);
+                MessageAttributeValue countAttribute = MessageAggregation.envelopeAttribute(bRecords.size());
+                int maxBytes = MessageAggregation.MAX_MESSAGE_SIZE
+                        - MessageAggregation.attributesSize(template.messageAttributes())
+                        - MessageAggregation.attributesSize(Map.of(MessageAggregation.ENVELOPE_ATTRIBUTE,
+                                countAttribute));
+                List<MessageAggregation.Envelope> envelopes = MessageAggregation.pack(bRecords, maxBytes);
+                envelopeCount = envelopes.size();
+                if (envelopeCount > 1 && bConfig.containsKey(MESSAGE_DEDUPLICATION_ID)) {
+                    throw new IllegalArgumentException("a messageDeduplicationId cannot be given to records that "
+                            + "span " + envelopeCount + " messages");
+                }
+                for (MessageAggregation.Envelope envelope : envelopes) {
+                    SendMessageRequest request = TraceContext.inject(SendMessageMapper.getNativeSendMessageRequest(
+                            queueUrl, StringUtils.fromString(envelope.body()), bConfig), traceContext);
+                    Map<String, MessageAttributeValue> attributes = new HashMap<>(request.messageAttributes());
+                    attributes.put(MessageAggregation.ENVELOPE_ATTRIBUTE,
+                            MessageAggregation.envelopeAttribute(envelope.recordCount()));
+                    responses.add(sqsClient.sendMessage(request.toBuilder().messageAttributes(attributes).build()));
+                    sentRecords += envelope.recordCount();
+                }
+                return SendMessageMapper.getNativeSendAggregatedMessagesResponse(responses, sentRecords, null);
+            } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueUrl, e);
+                String msg = "Failed to send aggregated messages"
+                        + (responses.isEmpty() ? "" : " after sending " + responses.size() + " of " + envelopeCount)
+                        + ": " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
+                BError error = CommonUtils.createError(msg, e);
+                // The messages sent hold the first records, which a retry must leave out not to send them twice.
+                return responses.isEmpty() ? error
+                        : SendMessageMapper.getNativeSendAggregatedMessagesResponse(responses, sentRecords, error);
+            }
+        });
+    }
+
     public static Object receiveMessage(Environment env, BObject bClient, BString queueUrl,
             BMap<BString, Object> bConfig) {
         SqsClient sqsClient = (SqsClient) bClient.getNativeData(NATIVE_SQS_CLIENT);
+        ClaimCheck claimCheck = (ClaimCheck) bClient.getNativeData(NATIVE_CLAIM_CHECK);
 
         return env.yieldAndRun(() -> {
             try {
-                ReceiveMessageRequest request = ReceiveMessageMapper.getNativeReceiveMessageRequest(queueUrl, bConfig);
+                // Requests the attribute marking aggregated messages, so that their records are unpacked.
+                ReceiveMessageRequest request = ReceiveMessageMapper.requestAttribute(
+                        ReceiveMessageMapper.getNativeReceiveMessageRequest(queueUrl, bConfig),
+                        MessageAggregation.ENVELOPE_ATTRIBUTE);
+                // Requests the attribute marking binary bodies, so that they are decoded.
+                request = ReceiveMessageMapper.requestAttribute(request, BinaryBody.BODY_ATTRIBUTE);
+                if (claimCheck != null) {
+                    request = ReceiveMessageMapper.requestAttribute(request, ClaimCheck.POINTER_ATTRIBUTE);
+                }
                 ReceiveMessageResponse response = sqsClient.receiveMessage(request);
+                if (claimCheck != null) {
+                    // A body that cannot be read fails the receive; its messages reappear after their
+                    // visibility timeout, as they do when the listener fails to read one.
+                    response = response.toBuilder().messages(claimCheck.resolveAll(response.messages())).build();
+                }
                 return ReceiveMessageMapper.getNativeReceiveMessageResponse(response);
             } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueUrl, e);
                 String msg = "Failed to receive message: "
                         + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
@@ -189,6 +403,7 @@ public class NativeClientAdaptor {
                 sqsClient.deleteMessage(request);
                 return null;
             } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueUrl, e);
                 String msg = "Failed to delete message: " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
             }
@@ -197,14 +412,27 @@ public class NativeClientAdaptor {
 
     public static Object sendMessageBatch(Environment env, BObject bClient, BString queueurl, BArray bEntries) {
         SqsClient sqsClient = (SqsClient) bClient.getNativeData(NATIVE_SQS_CLIENT);
+        ClaimCheck claimCheck = (ClaimCheck) bClient.getNativeData(NATIVE_CLAIM_CHECK);
+        Map<String, String> traceContext = TraceContext.current(env);
 
         return env.yieldAndRun(() -> {
+            SendMessageBatchRequest request = null;
             try {
-                SendMessageBatchRequest request = SendMessageBatchMapper.getNativeSendMessageBatchRequest(queueurl,
-                        bEntries);
+                request = TraceContext.inject(
+                        SendMessageBatchMapper.getNativeSendMessageBatchRequest(queueurl, bEntries), traceContext);
+                if (claimCheck != null) {
+                    request = claimCheck.offload(request);
+                }
                 SendMessageBatchResponse response = sqsClient.sendMessageBatch(request);
+                if (claimCheck != null && !response.failed().isEmpty()) {
+                    claimCheck.discard(request, response);
+                }
                 return SendMessageBatchMapper.getNativeSendMessageBatchResponse(response);
             } catch (Exception e) {
+                if (claimCheck != null && request != null && !Outbox.isTransient(e)) {
+                    claimCheck.discard(request, null);
+                }
+                invalidateIfQueueMissing(bClient, queueurl, e);
                 String msg = "Failed to send batch message: "
                         + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
@@ -222,6 +450,7 @@ public class NativeClientAdaptor {
                 DeleteMessageBatchResponse response = sqsClient.deleteMessageBatch(request);
                 return DeleteMessageBatchMapper.getNativeDeleteMessageBatchResponse(response);
             } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueUrl, e);
                 String msg = "Failed to delete batch message: "
                         + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
@@ -237,6 +466,8 @@ public class NativeClientAdaptor {
             try {
                 CreateQueueRequest request = CreateQueueMapper.getNativeCreateQueueRequest(queueName, bConfig);
                 CreateQueueResponse response = sqsClient.createQueue(request);
+                // Whatever was resolved for the name before the queue was (re)created is stale.
+                invalidateQueueName(bClient, request.queueName());
                 return StringUtils.fromString(response.queueUrl());
             } catch (Exception e) {
                 String msg = "Failed to create queue: " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
@@ -255,8 +486,10 @@ public class NativeClientAdaptor {
                         .queueUrl(queueUrl.getValue())
                         .build();
                 sqsClient.deleteQueue(request);
+                invalidateQueue(bClient, queueUrl.getValue());
                 return null;
             } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueUrl, e);
                 String msg = "Failed to delete queue: " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
             }
@@ -266,12 +499,19 @@ public class NativeClientAdaptor {
     public static Object getQueueUrl(Environment env, BObject bClient, BString queueName,
             BMap<BString, Object> bConfig) {
         SqsClient sqsClient = (SqsClient) bClient.getNativeData(NATIVE_SQS_CLIENT);
+        ExpiringCache<QueueUrlKey, String> queueUrlCache = getQueueUrlCache(bClient);
 
         return env.yieldAndRun(() -> {
             try {
                 GetQueueUrlRequest request = GetQueueUrlMapper.getNativeGetQueueUrlRequest(queueName, bConfig);
-                GetQueueUrlResponse response = sqsClient.getQueueUrl(request);
-                return StringUtils.fromString(response.queueUrl());
+                if (queueUrlCache == null) {
+                    GetQueueUrlResponse response = sqsClient.getQueueUrl(request);
+                    return StringUtils.fromString(response.queueUrl());
+                }
+                String queueUrl = queueUrlCache.get(
+                        new QueueUrlKey(request.queueName(), request.queueOwnerAWSAccountId()),
+                        () -> sqsClient.getQueueUrl(request).queueUrl());
+                return StringUtils.fromString(queueUrl);
             } catch (Exception e) {
                 String msg = "Failed to get queue URL: " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
@@ -297,14 +537,26 @@ public class NativeClientAdaptor {
     public static Object getQueueAttributes(Environment env, BObject bClient, BString queueUrl,
             BMap<BString, Object> bConfig) {
         SqsClient sqsClient = (SqsClient) bClient.getNativeData(NATIVE_SQS_CLIENT);
+        ExpiringCache<QueueAttributesKey, GetQueueAttributesResponse> attributesCache =
+                getQueueAttributesCache(bClient);
 
         return env.yieldAndRun(() -> {
             try {
                 GetQueueAttributesRequest request = GetQueueAttributesMapper
                         .getNativeGetQueueAttributesRequest(queueUrl, bConfig);
-                GetQueueAttributesResponse response = sqsClient.getQueueAttributes(request);
+                // The SDK response is cached rather than the Ballerina record, since each caller
+                // gets a record of its own that it is free to mutate.
+                GetQueueAttributesResponse response;
+                if (attributesCache == null) {
+                    response = sqsClient.getQueueAttributes(request);
+                } else {
+                    QueueAttributesKey key = new QueueAttributesKey(request.queueUrl(),
+                            Set.copyOf(request.attributeNamesAsStrings()));
+                    response = attributesCache.get(key, () -> sqsClient.getQueueAttributes(request));
+                }
                 return GetQueueAttributesMapper.getNativeGetQueueAttributesResponse(response);
             } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueUrl, e);
                 String msg = "Failed to get queue attributes: "
                         + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
@@ -321,8 +573,10 @@ public class NativeClientAdaptor {
                 SetQueueAttributesRequest request = SetQueueAttributesMapper
                         .getNativeSetQueueAttributesRequest(queueUrl, bQueueAttributes);
                 sqsClient.setQueueAttributes(request);
+                invalidateQueueAttributes(bClient, queueUrl.getValue());
                 return null;
             } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueUrl, e);
                 String msg = "Failed to set queue attributes: "
                         + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
@@ -346,6 +600,7 @@ public class NativeClientAdaptor {
                 return null;
 
             } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueUrl, e);
                 String msg = "Failed to change message visibility: "
                         + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
@@ -362,8 +617,10 @@ public class NativeClientAdaptor {
                         .queueUrl(queueurl.getValue())
                         .build();
                 sqsClient.purgeQueue(request);
+                invalidateQueueAttributes(bClient, queueurl.getValue());
                 return null;
             } catch (Exception e) {
+                invalidateIfQueueMissing(bClient, queueurl, e);
                 String msg = "Failed to purge queue: " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 return CommonUtils.createError(msg, e);
             }
@@ -476,20 +733,72 @@ public class NativeClientAdaptor {
         });
     }
 
+    @SuppressWarnings("unchecked")
+    private static ExpiringCache<QueueUrlKey, String> getQueueUrlCache(BObject bClient) {
+        return (ExpiringCache<QueueUrlKey, String>) bClient.getNativeData(NATIVE_QUEUE_URL_CACHE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ExpiringCache<QueueAttributesKey, GetQueueAttributesResponse> getQueueAttributesCache(
+            BObject bClient) {
+        return (ExpiringCache<QueueAttributesKey, GetQueueAttributesResponse>) bClient
+                .getNativeData(NATIVE_QUEUE_ATTRIBUTES_CACHE);
+    }
+
+    /**
+     * Drops everything cached for a queue that SQS reported as non-existent, so that the next
+     * {@code getQueueUrl} resolves it again instead of handing out the stale URL.
+     */
+    private static void invalidateIfQueueMissing(BObject bClient, BString queueUrl, Exception e) {
+        if (e instanceof QueueDoesNotExistException) {
+            invalidateQueue(bClient, queueUrl.getValue());
+        }
+    }
+
+    private static void invalidateQueue(BObject bClient, String queueUrl) {
+        ExpiringCache<QueueUrlKey, String> queueUrlCache = getQueueUrlCache(bClient);
+        if (queueUrlCache != null) {
+            queueUrlCache.invalidateIf((key, url) -> queueUrl.equals(url));
+        }
+        invalidateQueueAttributes(bClient, queueUrl);
+    }
+
+    private static void invalidateQueueAttributes(BObject bClient, String queueUrl) {
+        ExpiringCache<QueueAttributesKey, GetQueueAttributesResponse> attributesCache =
+                getQueueAttributesCache(bClient);
+        if (attributesCache != null) {
+            attributesCache.invalidateIf((key, response) -> queueUrl.equals(key.queueUrl()));
+        }
+    }
+
+    private static void invalidateQueueName(BObject bClient, String queueName) {
+        ExpiringCache<QueueUrlKey, String> queueUrlCache = getQueueUrlCache(bClient);
+        if (queueUrlCache != null) {
+            queueUrlCache.invalidateIf((key, url) -> queueName.equals(key.queueName()));
+        }
+    }
+
     public static Object close(BObject bClient) {
         if (!(bClient.getNativeData(NATIVE_CLIENT_CLOSED) instanceof AtomicBoolean closed)
                 || !closed.compareAndSet(false, true)) {
             return null;
         }
-        Object client = bClient.getNativeData(NATIVE_SQS_CLIENT);
+        Object lease = bClient.getNativeData(NATIVE_CLIENT_LEASE);
         try {
-            if (client instanceof SqsClient sqsClient) {
-                // This also releases the configured credentials provider, along with any
-                // STS/SSO client and background refresh thread it holds.
-                sqsClient.close();
+            try {
+                if (bClient.getNativeData(NATIVE_OUTBOX) instanceof Outbox outbox) {
+                    // Sends the messages in the outbox, if any, once the outbox is opened again.
+                    outbox.release();
+                }
+            } finally {
+                // Released even if the outbox fails to close, so that the native client never leaks.
+                if (lease instanceof SqsClientPool.Lease clientLease) {
+                    // The native client is closed along with the last lease on it.
+                    clientLease.release();
+                }
+                // Clear the stale reference
+                bClient.addNativeData(NATIVE_SQS_CLIENT, null);
             }
-            // Clear the stale reference
-            bClient.addNativeData(NATIVE_SQS_CLIENT, null);
         } catch (Exception e) {
             String errorMsg = String.format("Error occurred while closing the SQS client: %s",
                     Objects.requireNonNullElse(e.getMessage(), "Unknown error"));
@@ -497,4 +806,18 @@ public class NativeClientAdaptor {
         }
         return null;
     }
+
+    /**
+     * Identifies a queue URL resolution: the queue name along with the owning account,
+     * which is {@code null} for queues of the caller's own account.
+     */
+    private record QueueUrlKey(String queueName, String queueOwnerAwsAccountId) {
+    }
+
+    /**
+     * Identifies a queue attributes lookup: the queue along with the set of requested
+     * attribute names, which is empty when the defaults are requested.
+     */
+    private record QueueAttributesKey(String queueUrl, Set<String> attributeNames) {
+    }
 }
@@ -0,0 +1,142 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+
+/**
+ * Native implementation of the stream returned by {@code listAllQueues}.
+ *
+ * <p>Pages are fetched lazily through the SDK paginator, one page ahead of the consumer:
+ * as soon as a page is handed over, the request for the next one is issued in the
+ * background, so that listing overlaps with processing while at most two pages are held
+ * in memory.
+ */
+public final class QueueUrlIterator {
+    static final String NATIVE_QUEUE_URL_ITERATOR = "nativeQueueUrlIterator";
+    // The largest page size allowed by SQS. Without it, SQS returns no token for the next page.
+    private static final int PAGE_SIZE = 1000;
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Iterator<ListQueuesResponse> pages;
+    private Iterator<String> currentPage = Collections.emptyIterator();
+    private CompletableFuture<ListQueuesResponse> nextPage;
+
+    private QueueUrlIterator(Iterator<ListQueuesResponse> pages) {
+        this.pages = pages;
+        this.nextPage = fetchNextPage();
+    }
+
+    private QueueUrlIterator(Exception failure) {
+        this.pages = Collections.emptyIterator();
+        this.nextPage = CompletableFuture.failedFuture(failure);
+    }
+
+    public static void init(BObject bStream, BObject bClient, Object queueNamePrefix) {
+        QueueUrlIterator iterator;
+        try {
+            SqsClient sqsClient = (SqsClient) bClient.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT);
+            if (sqsClient == null) {
+                throw new IllegalStateException("The SQS client is already closed");
+            }
+            ListQueuesRequest.Builder request = ListQueuesRequest.builder().maxResults(PAGE_SIZE);
+            if (queueNamePrefix instanceof BString prefix) {
+                request.queueNamePrefix(prefix.getValue());
+            }
+            iterator = new QueueUrlIterator(sqsClient.listQueuesPaginator(request.build()).iterator());
+        } catch (Exception e) {
+            // Reported by the first call to next(), since a stream cannot fail on creation.
+            iterator = new QueueUrlIterator(e);
+        }
+        bStream.addNativeData(NATIVE_QUEUE_URL_ITERATOR, iterator);
+    }
+
+    public static Object next(Environment env, BObject bStream) {
+        QueueUrlIterator iterator = (QueueUrlIterator) bStream.getNativeData(NATIVE_QUEUE_URL_ITERATOR);
+        return env.yieldAndRun(() -> {
+            try {
+                String queueUrl = iterator.nextQueueUrl();
+                return queueUrl == null ? null : StringUtils.fromString(queueUrl);
+            } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                String msg = "Failed to list queues: "
+                        + Objects.requireNonNullElse(cause.getMessage(), "Unknown error");
+                return CommonUtils.createError(msg, cause);
+            }
+        });
+    }
+
+    public static Object close(BObject bStream) {
+        QueueUrlIterator iterator = (QueueUrlIterator) bStream.getNativeData(NATIVE_QUEUE_URL_ITERATOR);
+        if (iterator != null) {
+            iterator.release();
+        }
+        return null;
+    }
+
+    private synchronized String nextQueueUrl() {
+        while (!currentPage.hasNext()) {
+            if (nextPage == null) {
+                return null;
+            }
+            ListQueuesResponse page;
+            try {
+                page = nextPage.join();
+            } catch (RuntimeException e) {
+                // The stream ends with the failure; there is no token left to resume from.
+                nextPage = null;
+                throw e;
+            }
+            if (page == null) {
+                nextPage = null;
+                return null;
+            }
+            currentPage = page.queueUrls().iterator();
+            nextPage = fetchNextPage();
+        }
+        return currentPage.next();
+    }
+
+    private CompletableFuture<ListQueuesResponse> fetchNextPage() {
+        // The paginator only issues a request from hasNext() when the previous page carried a
+        // token, hence the end of the listing costs no extra round trip.
+        return CompletableFuture.supplyAsync(() -> pages.hasNext() ? pages.next() : null, PREFETCH_EXECUTOR);
+    }
+
+    private synchronized void release() {
+        if (nextPage != null) {
+            nextPage.cancel(false);
+            nextPage = null;
+        }
+        currentPage = Collections.emptyIterator();
+    }
+}
@@ -0,0 +1,57 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Maps the shard keys of a sharded queue to its shards.
+ *
+ * <p>Keys are hashed with 64-bit FNV-1a over their UTF-16 code units, finalised with the
+ * MurmurHash3 mixer, and the hash is mapped to a shard with the jump consistent hash of
+ * Lamping and Veach. Adding a shard to a sharded queue of {@code n} shards thus moves only
+ * {@code 1/(n+1)} of the keys, all of them to the new shard, so that most message groups
+ * keep their order across the change.
+ */
+public final class Sharding {
+
+    private Sharding() {
+    }
+
+    /**
+     * Returns the index of the shard of a key.
+     *
+     * @param key        The shard key, such as a message group ID
+     * @param shardCount The number of shards of the queue
+     * @return The shard index, from 0 to {@code shardCount - 1}
+     */
+    public static long shardIndex(BString key, long shardCount) {
+        return jumpConsistentHash(CommonUtils.hash64(key.getValue()), (int) shardCount);
+    }
+
+    static int jumpConsistentHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
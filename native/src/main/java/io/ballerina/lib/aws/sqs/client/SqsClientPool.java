@@ -0,0 +1,208 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.ballerina.lib.aws.sqs.auth.HttpClientConfig;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+/**
+ * Process-wide registry of the native SQS clients, shared by every {@code Client} and
+ * {@code Listener} created with an identical connection configuration.
+ *
+ * <p>Each user holds a {@link Lease} on the shared client, and the client, along with its
+ * connection pool and credentials provider, is closed once the last lease is released.
+ * The credentials provider is only built when no client exists yet for the configuration.
+ */
+public final class SqsClientPool {
+    // Fields applied by the connector itself, on top of the native client, which hence
+    // do not prevent two configurations from sharing it.
+    private static final Set<String> CLIENT_SIDE_FIELDS = Set.of("queueUrlCache", "queueAttributesCache",
+            "sendHedging", "outbox", "claimCheck");
+    private static final Map<String, PooledClient> CLIENTS = new HashMap<>();
+    // Shared by all the native clients of a connection configuration, whatever their transport.
+    private static final Map<String, ClientRateLimiter> RATE_LIMITERS = new HashMap<>();
+
+    private SqsClientPool() {
+    }
+
+    /**
+     * Acquires a lease on the native client for the given connection configuration,
+     * creating the client if it is not in use already.
+     *
+     * @param bConnectionConfig the Ballerina connection configuration
+     * @return the lease, which must be released exactly once when the client is no longer used
+     */
+    public static Lease acquire(BMap<BString, Object> bConnectionConfig) {
+        return acquire(bConnectionConfig, null);
+    }
+
+    /**
+     * Acquires a lease on the native client for the given connection configuration, with
+     * its HTTP transport replaced by the given one.
+     *
+     * @param bConnectionConfig the Ballerina connection configuration
+     * @param httpClientConfig  the HTTP transport to use instead of the configured one, or
+     *                          {@code null} to use the configured one
+     * @return the lease, which must be released exactly once when the client is no longer used
+     */
+    public static Lease acquire(BMap<BString, Object> bConnectionConfig, HttpClientConfig httpClientConfig) {
+        String configKey = getKey(bConnectionConfig);
+        String key = httpClientConfig == null ? configKey
+                : configKey + "httpClientOverride=" + httpClientConfig + ';';
+        PooledClient pooled;
+        ClientRateLimiter rateLimiter = null;
+        boolean build = false;
+        synchronized (CLIENTS) {
+            pooled = CLIENTS.get(key);
+            if (pooled == null) {
+                rateLimiter = RATE_LIMITERS.get(configKey);
+                if (rateLimiter == null) {
+                    rateLimiter = ClientRateLimiter.from(bConnectionConfig);
+                    if (rateLimiter != null) {
+                        RATE_LIMITERS.put(configKey, rateLimiter);
+                    }
+                }
+                pooled = new PooledClient(configKey);
+                CLIENTS.put(key, pooled);
+                build = true;
+            }
+            pooled.references++;
+        }
+        // Built outside the registry lock, so that a slow build, such as one resolving credentials,
+        // only holds up the acquisitions of the same configuration, which wait for its client.
+        if (build) {
+            try {
+                pooled.client.complete(NativeClientAdaptor.createSqsClient(bConnectionConfig, httpClientConfig,
+                        rateLimiter));
+            } catch (RuntimeException e) {
+                synchronized (CLIENTS) {
+                    unregister(key, pooled);
+                }
+                pooled.client.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return new Lease(key, pooled, pooled.client.join());
+        } catch (CompletionException e) {
+            // Surface the failure of the build, as the acquisition that ran it does.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of native clients currently in use, each with its own connection pool.
+     */
+    public static int size() {
+        synchronized (CLIENTS) {
+            return CLIENTS.size();
+        }
+    }
+
+    private static String getKey(BMap<BString, Object> bConnectionConfig) {
+        StringBuilder key = new StringBuilder();
+        for (BString field : bConnectionConfig.getKeys()) {
+            if (!CLIENT_SIDE_FIELDS.contains(field.getValue())) {
+                key.append(field.getValue()).append('=')
+                        .append(StringUtils.getExpressionStringValue(bConnectionConfig.get(field))).append(';');
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Removes a client from the registry, along with the rate limiter of its configuration
+     * once no other client uses it. Must be called while holding the registry.
+     */
+    private static void unregister(String key, PooledClient pooled) {
+        CLIENTS.remove(key, pooled);
+        if (CLIENTS.values().stream().noneMatch(other -> other.configKey.equals(pooled.configKey))) {
+            RATE_LIMITERS.remove(pooled.configKey);
+        }
+    }
+
+    private static final class PooledClient {
+        private final String configKey;
+        // Completed once the client is built, outside the registry lock
+        private final CompletableFuture<SqsClient> client = new CompletableFuture<>();
+        private int references;
+
+        private PooledClient(String configKey) {
+            this.configKey = configKey;
+        }
+    }
+
+    /**
+     * A reference to a shared native client.
+     */
+    public static final class Lease {
+        private final String key;
+        private final PooledClient pooled;
+        private final SqsClient client;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Lease(String key, PooledClient pooled, SqsClient client) {
+            this.key = key;
+            this.pooled = pooled;
+            this.client = client;
+        }
+
+        public SqsClient client() {
+            return client;
+        }
+
+        /**
+         * Tells whether this lease is on the native client of the given connection configuration,
+         * with its configured HTTP transport.
+         */
+        public boolean matches(BMap<BString, Object> bConnectionConfig) {
+            return key.equals(getKey(bConnectionConfig));
+        }
+
+        /**
+         * Releases this lease, closing the shared client if it was the last one. Releasing
+         * a lease again has no effect.
+         */
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            synchronized (CLIENTS) {
+                if (--pooled.references > 0) {
+                    return;
+                }
+                unregister(key, pooled);
+            }
+            // This also releases the configured credentials provider, along with any
+            // STS/SSO client and background refresh thread it holds.
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.client;
+
+import io.ballerina.lib.aws.sqs.auth.TimeoutConfig;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Applies the configured timeouts of each operation family to the requests of a native
+ * client, as request-level overrides, so that they hold for the calls of the listener as
+ * well as those of the {@code Client}. Timeouts already set on a request are kept.
+ */
+final class TimeoutInterceptor implements ExecutionInterceptor {
+    private final TimeoutConfig timeoutConfig;
+
+    TimeoutInterceptor(TimeoutConfig timeoutConfig) {
+        this.timeoutConfig = timeoutConfig;
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        SdkRequest request = context.request();
+        TimeoutConfig.Timeouts timeouts = timeoutConfig.forRequest(request);
+        if (timeouts == null || !(request instanceof AwsRequest awsRequest)) {
+            return request;
+        }
+        AwsRequestOverrideConfiguration.Builder overrideConfig = awsRequest.overrideConfiguration()
+                .map(AwsRequestOverrideConfiguration::toBuilder)
+                .orElseGet(AwsRequestOverrideConfiguration::builder);
+        if (timeouts.apiCallTimeout() != null && overrideConfig.apiCallTimeout() == null) {
+            overrideConfig.apiCallTimeout(timeouts.apiCallTimeout());
+        }
+        if (timeouts.apiCallAttemptTimeout() != null && overrideConfig.apiCallAttemptTimeout() == null) {
+            overrideConfig.apiCallAttemptTimeout(timeouts.apiCallAttemptTimeout());
+        }
+        return awsRequest.toBuilder().overrideConfiguration(overrideConfig.build()).build();
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Selects the message attributes returned by a receive, as SQS does for the requested attribute names:
+ * {@code All} or {@code .*} selects every attribute, a name ending with {@code .*} selects the attributes
+ * with that prefix, and any other name selects the attribute with that exact name.
+ */
+final class AttributeFilter {
+    private static final AttributeFilter NONE = new AttributeFilter(List.of(), false);
+    private static final AttributeFilter ALL = new AttributeFilter(List.of(), true);
+
+    private final List<String> names;
+    private final boolean all;
+
+    private AttributeFilter(List<String> names, boolean all) {
+        this.names = names;
+        this.all = all;
+    }
+
+    static AttributeFilter of(List<String> names) {
+        if (names.isEmpty()) {
+            return NONE;
+        }
+        if (names.contains("All") || names.contains(".*")) {
+            return ALL;
+        }
+        return new AttributeFilter(names, false);
+    }
+
+    Map<String, MessageAttributeValue> apply(Map<String, MessageAttributeValue> attributes) {
+        if (all || attributes.isEmpty()) {
+            return attributes;
+        }
+        Map<String, MessageAttributeValue> selected = new HashMap<>();
+        for (Map.Entry<String, MessageAttributeValue> attribute : attributes.entrySet()) {
+            if (matches(attribute.getKey())) {
+                selected.put(attribute.getKey(), attribute.getValue());
+            }
+        }
+        return selected;
+    }
+
+    private boolean matches(String attributeName) {
+        for (String name : names) {
+            if (name.endsWith(".*") ? attributeName.startsWith(name.substring(0, name.length() - 1))
+                    : attributeName.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
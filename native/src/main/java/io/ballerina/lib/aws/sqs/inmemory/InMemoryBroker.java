@@ -0,0 +1,134 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The process-wide set of in-memory queues, shared by every client and listener that uses the
+ * in-memory transport.
+ */
+final class InMemoryBroker {
+    static final InMemoryBroker INSTANCE = new InMemoryBroker();
+
+    private static final String URL_PREFIX = "http://sqs.in-memory.localhost/000000000000/";
+    private static final String ARN_PREFIX = "arn:aws:sqs:in-memory:000000000000:";
+
+    private final Map<String, InMemoryQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, MessageMoveTask> moveTasks = new ConcurrentHashMap<>();
+
+    private InMemoryBroker() {
+    }
+
+    InMemoryQueue createQueue(String name, Map<String, String> attributes, Map<String, String> tags) {
+        boolean fifo = Boolean.parseBoolean(attributes.get(InMemoryQueue.FIFO_QUEUE));
+        if (fifo != name.endsWith(".fifo")) {
+            throw InMemoryErrors.invalidParameterValue("The name of a FIFO queue can only include alphanumeric "
+                    + "characters, hyphens, or underscores, must end with .fifo suffix.");
+        }
+        return queues.computeIfAbsent(name, queueName -> {
+            InMemoryQueue queue = new InMemoryQueue(this, queueName, URL_PREFIX + queueName, ARN_PREFIX + queueName,
+                    new HashMap<>(attributes));
+            queue.tags().putAll(tags);
+            return queue;
+        });
+    }
+
+    InMemoryQueue getQueueByName(String name) {
+        InMemoryQueue queue = queues.get(name);
+        if (queue == null) {
+            throw InMemoryErrors.nonExistentQueue();
+        }
+        return queue;
+    }
+
+    InMemoryQueue getQueue(String queueUrl) {
+        InMemoryQueue queue = queueUrl.startsWith(URL_PREFIX) ? queues.get(queueUrl.substring(URL_PREFIX.length()))
+                : null;
+        if (queue == null) {
+            throw InMemoryErrors.nonExistentQueue();
+        }
+        return queue;
+    }
+
+    /**
+     * Returns the queue with the given ARN, or {@code null} if there is none.
+     */
+    InMemoryQueue findQueueByArn(String arn) {
+        return arn != null && arn.startsWith(ARN_PREFIX) ? queues.get(arn.substring(ARN_PREFIX.length())) : null;
+    }
+
+    void deleteQueue(String queueUrl) {
+        InMemoryQueue queue = getQueue(queueUrl);
+        queues.remove(queue.name(), queue);
+        queue.purge();
+    }
+
+    List<InMemoryQueue> listQueues(String prefix) {
+        return queues.values().stream()
+                .filter(queue -> prefix == null || queue.name().startsWith(prefix))
+                .sorted(Comparator.comparing(InMemoryQueue::name))
+                .toList();
+    }
+
+    /**
+     * Moves the messages a queue received more times than its redrive policy allows to its
+     * dead-letter queue. They are made visible again in their queue if the dead-letter queue does
+     * not exist.
+     */
+    void deadLetter(String deadLetterTargetArn, String sourceArn, List<InMemoryMessage> messages) {
+        InMemoryQueue deadLetterQueue = findQueueByArn(deadLetterTargetArn);
+        InMemoryQueue sourceQueue = findQueueByArn(sourceArn);
+        for (InMemoryMessage message : messages) {
+            if (deadLetterQueue != null) {
+                deadLetterQueue.accept(message.moveTo(sourceArn));
+            } else if (sourceQueue != null) {
+                sourceQueue.accept(message);
+            }
+        }
+    }
+
+    String startMessageMoveTask(String sourceArn, String destinationArn, Integer maxMessagesPerSecond) {
+        InMemoryQueue source = findQueueByArn(sourceArn);
+        if (source == null) {
+            throw InMemoryErrors.resourceNotFound("The resource that you specified for the SourceArn parameter "
+                    + "doesn't exist.");
+        }
+        if (destinationArn != null && findQueueByArn(destinationArn) == null) {
+            throw InMemoryErrors.resourceNotFound("The resource that you specified for the DestinationArn "
+                    + "parameter doesn't exist.");
+        }
+        String taskHandle = UUID.randomUUID().toString();
+        MessageMoveTask task = new MessageMoveTask(this, source, destinationArn, maxMessagesPerSecond);
+        moveTasks.put(taskHandle, task);
+        task.start();
+        return taskHandle;
+    }
+
+    long cancelMessageMoveTask(String taskHandle) {
+        MessageMoveTask task = moveTasks.get(taskHandle);
+        if (task == null || !task.cancel()) {
+            throw InMemoryErrors.resourceNotFound("The task handle doesn't refer to a running message move task.");
+        }
+        return task.movedCount();
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sqs.model.BatchEntryIdsNotDistinctException;
+import software.amazon.awssdk.services.sqs.model.EmptyBatchRequestException;
+import software.amazon.awssdk.services.sqs.model.MessageNotInflightException;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+import software.amazon.awssdk.services.sqs.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+import software.amazon.awssdk.services.sqs.model.TooManyEntriesInBatchRequestException;
+
+/**
+ * Builds the errors of the in-memory transport, with the exception types and error codes SQS uses.
+ */
+final class InMemoryErrors {
+    static final String INVALID_PARAMETER_VALUE = "InvalidParameterValue";
+
+    private InMemoryErrors() {
+    }
+
+    static SqsException nonExistentQueue() {
+        return build(QueueDoesNotExistException.builder(), "AWS.SimpleQueueService.NonExistentQueue",
+                "The specified queue does not exist.");
+    }
+
+    static SqsException messageNotInflight() {
+        return build(MessageNotInflightException.builder(), "AWS.SimpleQueueService.MessageNotInflight",
+                "The message referred to isn't in flight.");
+    }
+
+    static SqsException emptyBatch() {
+        return build(EmptyBatchRequestException.builder(), "AWS.SimpleQueueService.EmptyBatchRequest",
+                "There should be at least one entry in the request.");
+    }
+
+    static SqsException tooManyEntriesInBatch(int entries) {
+        return build(TooManyEntriesInBatchRequestException.builder(),
+                "AWS.SimpleQueueService.TooManyEntriesInBatchRequest",
+                "Maximum number of entries per request are 10. You have sent " + entries + ".");
+    }
+
+    static SqsException batchEntryIdsNotDistinct() {
+        return build(BatchEntryIdsNotDistinctException.builder(), "AWS.SimpleQueueService.BatchEntryIdsNotDistinct",
+                "Two or more batch entries in the request have the same Id.");
+    }
+
+    static SqsException resourceNotFound(String message) {
+        return build(ResourceNotFoundException.builder(), "ResourceNotFoundException", message);
+    }
+
+    static SqsException invalidParameterValue(String message) {
+        return build(SqsException.builder(), INVALID_PARAMETER_VALUE, message);
+    }
+
+    private static SqsException build(SqsException.Builder builder, String errorCode, String message) {
+        // The builder of each SQS exception builds an instance of that exception.
+        return (SqsException) builder.message(message)
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode(errorCode)
+                        .errorMessage(message)
+                        .serviceName("Sqs")
+                        .build())
+                .build();
+    }
+}
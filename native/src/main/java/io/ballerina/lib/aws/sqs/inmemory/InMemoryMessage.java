@@ -0,0 +1,104 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.ballerina.lib.aws.sqs.mappers.ReceiveMessageMapper;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * A message stored in an {@link InMemoryQueue}. Its mutable state is guarded by the lock of the queue.
+ */
+final class InMemoryMessage {
+    private static final String SENDER_ID = "000000000000";
+
+    final String messageId;
+    final String body;
+    final String md5OfBody;
+    final Map<String, MessageAttributeValue> attributes;
+    final String messageGroupId;
+    final String deduplicationId;
+    final long sentTimestamp;
+    // The queue the message was moved from by its redrive policy, if it is in a dead-letter queue.
+    final String deadLetterSourceArn;
+
+    long sequenceNumber;
+    String receiptHandle;
+    int receiveCount;
+    long firstReceiveTimestamp;
+    // Incremented whenever the message is received, deleted or has its visibility changed, so that
+    // the entries it left in the queue's visibility schedule can be told apart from the current one.
+    long version;
+
+    InMemoryMessage(String messageId, String body, String md5OfBody, Map<String, MessageAttributeValue> attributes,
+            String messageGroupId, String deduplicationId, long sentTimestamp, String deadLetterSourceArn) {
+        this.messageId = messageId;
+        this.body = body;
+        this.md5OfBody = md5OfBody;
+        this.attributes = attributes;
+        this.messageGroupId = messageGroupId;
+        this.deduplicationId = deduplicationId;
+        this.sentTimestamp = sentTimestamp;
+        this.deadLetterSourceArn = deadLetterSourceArn;
+    }
+
+    /**
+     * Returns a copy of this message, as it is stored in another queue after a redrive or a message
+     * move task.
+     */
+    InMemoryMessage moveTo(String deadLetterSourceArn) {
+        return new InMemoryMessage(messageId, body, md5OfBody, attributes, messageGroupId, deduplicationId,
+                sentTimestamp, deadLetterSourceArn);
+    }
+
+    Message toMessage(AttributeFilter attributeFilter, SystemAttributeFilter systemAttributeFilter) {
+        Message.Builder message = Message.builder()
+                .messageId(messageId)
+                .receiptHandle(receiptHandle)
+                .body(body)
+                .md5OfBody(md5OfBody)
+                // Each receive gets its own binary values, as it does from SQS.
+                .messageAttributes(ReceiveMessageMapper.copyBinaryValues(attributeFilter.apply(attributes)));
+        if (systemAttributeFilter.isEmpty()) {
+            return message.build();
+        }
+        Map<String, String> systemAttributes = new HashMap<>();
+        systemAttributeFilter.put(systemAttributes, "SenderId", SENDER_ID);
+        systemAttributeFilter.put(systemAttributes, "SentTimestamp", Long.toString(sentTimestamp));
+        systemAttributeFilter.put(systemAttributes, "ApproximateReceiveCount", Integer.toString(receiveCount));
+        systemAttributeFilter.put(systemAttributes, "ApproximateFirstReceiveTimestamp",
+                Long.toString(firstReceiveTimestamp));
+        if (messageGroupId != null) {
+            systemAttributeFilter.put(systemAttributes, "MessageGroupId", messageGroupId);
+            systemAttributeFilter.put(systemAttributes, "SequenceNumber", String.format("%020d", sequenceNumber));
+        }
+        if (deduplicationId != null) {
+            systemAttributeFilter.put(systemAttributes, "MessageDeduplicationId", deduplicationId);
+        }
+        if (deadLetterSourceArn != null) {
+            systemAttributeFilter.put(systemAttributes, "DeadLetterQueueSourceArn", deadLetterSourceArn);
+        }
+        MessageAttributeValue traceHeader = attributes.get("AWSTraceHeader");
+        if (traceHeader != null) {
+            systemAttributeFilter.put(systemAttributes, "AWSTraceHeader", traceHeader.stringValue());
+        }
+        return message.attributesWithStrings(systemAttributes).build();
+    }
+}
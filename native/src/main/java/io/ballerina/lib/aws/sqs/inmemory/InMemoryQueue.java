@@ -0,0 +1,528 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * An in-memory SQS queue. Visible messages are kept in arrival order, while delayed and in-flight
+ * messages are scheduled by the time they become visible.
+ *
+ * <p>On FIFO queues, the visible messages are kept per message group, in the order of their sequence
+ * numbers, and no message of a group is received while another one of the group is in flight.
+ */
+final class InMemoryQueue {
+    static final String VISIBILITY_TIMEOUT = "VisibilityTimeout";
+    static final String DELAY_SECONDS = "DelaySeconds";
+    static final String RECEIVE_MESSAGE_WAIT_TIME_SECONDS = "ReceiveMessageWaitTimeSeconds";
+    static final String MESSAGE_RETENTION_PERIOD = "MessageRetentionPeriod";
+    static final String MAXIMUM_MESSAGE_SIZE = "MaximumMessageSize";
+    static final String REDRIVE_POLICY = "RedrivePolicy";
+    static final String FIFO_QUEUE = "FifoQueue";
+    static final String CONTENT_BASED_DEDUPLICATION = "ContentBasedDeduplication";
+
+    private static final long DEDUPLICATION_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+    private static final Pattern MAX_RECEIVE_COUNT = Pattern.compile("\"maxReceiveCount\"\\s*:\\s*\"?(\\d+)");
+    private static final Pattern DEAD_LETTER_TARGET_ARN = Pattern.compile(
+            "\"deadLetterTargetArn\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final InMemoryBroker broker;
+    private final String name;
+    private final String url;
+    private final String arn;
+    private final boolean fifo;
+    private final long createdTimestamp = System.currentTimeMillis();
+    private final Map<String, String> tags = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition messageAvailable = lock.newCondition();
+    private final Map<String, String> attributes = new HashMap<>();
+    private long lastModifiedTimestamp = createdTimestamp;
+    private int maxReceiveCount;
+    private String deadLetterTargetArn;
+
+    // The visible messages of a standard queue.
+    private final ArrayDeque<InMemoryMessage> visible = new ArrayDeque<>();
+    // The visible messages of a FIFO queue, per message group, and the number of in-flight messages of
+    // the groups that have some.
+    private final LinkedHashMap<String, PriorityQueue<InMemoryMessage>> groups = new LinkedHashMap<>();
+    private final Map<String, Integer> inFlightGroups = new HashMap<>();
+    private final LinkedHashMap<String, InMemoryMessage> deduplicated = new LinkedHashMap<>();
+    private long sequenceNumber;
+    private int visibleCount;
+
+    private final PriorityQueue<Scheduled> invisible = new PriorityQueue<>(
+            Comparator.comparingLong(Scheduled::visibleAt));
+    private final Map<String, InMemoryMessage> inFlight = new HashMap<>();
+    private int delayedCount;
+
+    InMemoryQueue(InMemoryBroker broker, String name, String url, String arn, Map<String, String> attributes) {
+        this.broker = broker;
+        this.name = name;
+        this.url = url;
+        this.arn = arn;
+        this.fifo = Boolean.parseBoolean(attributes.get(FIFO_QUEUE));
+        this.attributes.put(VISIBILITY_TIMEOUT, "30");
+        this.attributes.put(DELAY_SECONDS, "0");
+        this.attributes.put(RECEIVE_MESSAGE_WAIT_TIME_SECONDS, "0");
+        this.attributes.put(MESSAGE_RETENTION_PERIOD, "345600");
+        this.attributes.put(MAXIMUM_MESSAGE_SIZE, "262144");
+        setAttributes(attributes);
+    }
+
+    String name() {
+        return name;
+    }
+
+    String url() {
+        return url;
+    }
+
+    String arn() {
+        return arn;
+    }
+
+    Map<String, String> tags() {
+        return tags;
+    }
+
+    Map<String, String> getAttributes(List<String> names) {
+        lock.lock();
+        try {
+            Map<String, String> all = new HashMap<>(attributes);
+            all.put("QueueArn", arn);
+            all.put("ApproximateNumberOfMessages", Integer.toString(visibleCount));
+            all.put("ApproximateNumberOfMessagesNotVisible", Integer.toString(inFlight.size()));
+            all.put("ApproximateNumberOfMessagesDelayed", Integer.toString(delayedCount));
+            all.put("CreatedTimestamp", Long.toString(TimeUnit.MILLISECONDS.toSeconds(createdTimestamp)));
+            all.put("LastModifiedTimestamp", Long.toString(TimeUnit.MILLISECONDS.toSeconds(lastModifiedTimestamp)));
+            if (names.contains("All")) {
+                return all;
+            }
+            Map<String, String> selected = new HashMap<>();
+            for (String attributeName : names) {
+                String value = all.get(attributeName);
+                if (value != null) {
+                    selected.put(attributeName, value);
+                }
+            }
+            return selected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void setAttributes(Map<String, String> newAttributes) {
+        lock.lock();
+        try {
+            attributes.putAll(newAttributes);
+            if (!fifo) {
+                attributes.remove(FIFO_QUEUE);
+                attributes.remove(CONTENT_BASED_DEDUPLICATION);
+            }
+            String redrivePolicy = attributes.get(REDRIVE_POLICY);
+            if (redrivePolicy == null || redrivePolicy.isEmpty()) {
+                maxReceiveCount = 0;
+                deadLetterTargetArn = null;
+            } else {
+                Matcher maxReceiveCountMatcher = MAX_RECEIVE_COUNT.matcher(redrivePolicy);
+                Matcher targetArnMatcher = DEAD_LETTER_TARGET_ARN.matcher(redrivePolicy);
+                if (!maxReceiveCountMatcher.find() || !targetArnMatcher.find()) {
+                    throw InMemoryErrors.invalidParameterValue("Invalid value for the parameter RedrivePolicy.");
+                }
+                maxReceiveCount = Integer.parseInt(maxReceiveCountMatcher.group(1));
+                deadLetterTargetArn = targetArnMatcher.group(1);
+            }
+            lastModifiedTimestamp = System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends a message to this queue.
+     *
+     * @return the message as stored, which, on a FIFO queue, is the one sent before with the same
+     * deduplication ID within the deduplication interval, if any
+     */
+    InMemoryMessage send(String body, Map<String, MessageAttributeValue> messageAttributes, Integer delaySeconds,
+            String messageGroupId, String deduplicationId) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (body.getBytes(StandardCharsets.UTF_8).length > intAttribute(MAXIMUM_MESSAGE_SIZE)) {
+                throw InMemoryErrors.invalidParameterValue("The message is longer than the maximum message size "
+                        + "allowed by the queue.");
+            }
+            if (fifo) {
+                if (messageGroupId == null) {
+                    throw InMemoryErrors.invalidParameterValue(
+                            "The request must contain the parameter MessageGroupId.");
+                }
+                if (delaySeconds != null) {
+                    throw InMemoryErrors.invalidParameterValue("The request include parameter DelaySeconds that "
+                            + "is not valid for this queue type. Delays can only be set on FIFO queues as a whole.");
+                }
+                if (deduplicationId == null) {
+                    if (!Boolean.parseBoolean(attributes.get(CONTENT_BASED_DEDUPLICATION))) {
+                        throw InMemoryErrors.invalidParameterValue("The queue should either have "
+                                + "ContentBasedDeduplication enabled or MessageDeduplicationId provided explicitly");
+                    }
+                    deduplicationId = sha256(body);
+                }
+                expireDeduplicationIds(now);
+                InMemoryMessage duplicate = deduplicated.get(deduplicationId);
+                if (duplicate != null) {
+                    return duplicate;
+                }
+            } else if (deduplicationId != null) {
+                throw InMemoryErrors.invalidParameterValue("The request include parameter "
+                        + "MessageDeduplicationId that is not valid for this queue type.");
+            }
+            InMemoryMessage message = new InMemoryMessage(UUID.randomUUID().toString(), body, CommonUtils.md5(body),
+                    messageAttributes, fifo ? messageGroupId : null, fifo ? deduplicationId : null, now, null);
+            if (fifo) {
+                message.sequenceNumber = ++sequenceNumber;
+                deduplicated.put(deduplicationId, message);
+            }
+            int delay = delaySeconds == null ? intAttribute(DELAY_SECONDS) : delaySeconds;
+            if (delay > 0) {
+                delayedCount++;
+                schedule(message, System.nanoTime() + TimeUnit.SECONDS.toNanos(delay));
+            } else {
+                makeVisible(message);
+            }
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a message moved from another queue, by a redrive policy or a message move task.
+     */
+    void accept(InMemoryMessage message) {
+        lock.lock();
+        try {
+            if (fifo) {
+                message.sequenceNumber = ++sequenceNumber;
+            }
+            makeVisible(message);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Receives up to the given number of messages, waiting for the first one for up to the given
+     * time, as a long poll does. Messages received more times than the redrive policy allows are
+     * moved to the dead-letter queue instead.
+     */
+    List<Message> receive(int maxMessages, Integer visibilityTimeout, Integer waitTimeSeconds,
+            AttributeFilter attributeFilter, SystemAttributeFilter systemAttributeFilter)
+            throws InterruptedException {
+        List<Message> received = new ArrayList<>(maxMessages);
+        List<InMemoryMessage> deadLetters = new ArrayList<>();
+        String deadLetterTarget;
+        lock.lockInterruptibly();
+        try {
+            long visibilityNanos = TimeUnit.SECONDS.toNanos(
+                    visibilityTimeout == null ? intAttribute(VISIBILITY_TIMEOUT) : visibilityTimeout);
+            long now = System.nanoTime();
+            long deadline = now + TimeUnit.SECONDS.toNanos(
+                    waitTimeSeconds == null ? intAttribute(RECEIVE_MESSAGE_WAIT_TIME_SECONDS) : waitTimeSeconds);
+            releaseDue(now);
+            while (true) {
+                take(maxMessages, now, visibilityNanos, received, deadLetters, attributeFilter,
+                        systemAttributeFilter);
+                if (!received.isEmpty() || now - deadline >= 0) {
+                    break;
+                }
+                long wait = deadline - now;
+                Scheduled next = invisible.peek();
+                if (next != null) {
+                    wait = Math.min(wait, next.visibleAt() - now);
+                }
+                messageAvailable.awaitNanos(wait);
+                now = System.nanoTime();
+                releaseDue(now);
+            }
+            if (hasReceivable()) {
+                // Another receiver may be waiting for the messages left over.
+                messageAvailable.signal();
+            }
+            deadLetterTarget = deadLetterTargetArn;
+        } finally {
+            lock.unlock();
+        }
+        if (!deadLetters.isEmpty()) {
+            broker.deadLetter(deadLetterTarget, arn, deadLetters);
+        }
+        return received;
+    }
+
+    /**
+     * Takes up to the given number of visible messages out of this queue, for a message move task.
+     */
+    List<InMemoryMessage> takeForMove(int maxMessages) {
+        lock.lock();
+        try {
+            List<InMemoryMessage> taken = new ArrayList<>(maxMessages);
+            while (taken.size() < maxMessages) {
+                InMemoryMessage message = pollVisible(null);
+                if (message == null) {
+                    break;
+                }
+                taken.add(message);
+            }
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void delete(String receiptHandle) {
+        lock.lock();
+        try {
+            InMemoryMessage message = inFlight.get(receiptHandle);
+            if (message != null) {
+                endInFlight(message);
+                message.version++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the visibility timeout of an in-flight message.
+     *
+     * @return {@code false} if no message is in flight with the given receipt handle
+     */
+    boolean changeVisibility(String receiptHandle, int visibilityTimeout) {
+        lock.lock();
+        try {
+            InMemoryMessage message = inFlight.get(receiptHandle);
+            if (message == null) {
+                return false;
+            }
+            if (visibilityTimeout == 0) {
+                endInFlight(message);
+                message.version++;
+                makeVisible(message);
+            } else {
+                schedule(message, System.nanoTime() + TimeUnit.SECONDS.toNanos(visibilityTimeout));
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void purge() {
+        lock.lock();
+        try {
+            visible.clear();
+            groups.clear();
+            inFlightGroups.clear();
+            invisible.clear();
+            inFlight.clear();
+            visibleCount = 0;
+            delayedCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void take(int maxMessages, long now, long visibilityNanos, List<Message> received,
+            List<InMemoryMessage> deadLetters, AttributeFilter attributeFilter,
+            SystemAttributeFilter systemAttributeFilter) {
+        long expiredBefore = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(
+                intAttribute(MESSAGE_RETENTION_PERIOD));
+        String receivingGroup = null;
+        while (received.size() < maxMessages) {
+            InMemoryMessage message = pollVisible(receivingGroup);
+            if (message == null) {
+                return;
+            }
+            if (message.sentTimestamp < expiredBefore) {
+                continue;
+            }
+            if (maxReceiveCount > 0 && message.receiveCount >= maxReceiveCount) {
+                deadLetters.add(message);
+                continue;
+            }
+            message.receiveCount++;
+            if (message.firstReceiveTimestamp == 0) {
+                message.firstReceiveTimestamp = System.currentTimeMillis();
+            }
+            message.receiptHandle = UUID.randomUUID().toString();
+            inFlight.put(message.receiptHandle, message);
+            if (fifo) {
+                inFlightGroups.merge(message.messageGroupId, 1, Integer::sum);
+                receivingGroup = message.messageGroupId;
+            }
+            schedule(message, now + visibilityNanos);
+            received.add(message.toMessage(attributeFilter, systemAttributeFilter));
+        }
+    }
+
+    /**
+     * Removes the next receivable message. On a FIFO queue, it is the next message of the given group,
+     * whose messages are being received, so that a receive returns the messages of a group together, or
+     * else the first message of the first group with no message in flight.
+     */
+    private InMemoryMessage pollVisible(String receivingGroup) {
+        if (!fifo) {
+            InMemoryMessage message = visible.poll();
+            if (message != null) {
+                visibleCount--;
+            }
+            return message;
+        }
+        String group = receivingGroup != null && groups.containsKey(receivingGroup) ? receivingGroup : null;
+        if (group == null) {
+            for (String candidate : groups.keySet()) {
+                if (!inFlightGroups.containsKey(candidate)) {
+                    group = candidate;
+                    break;
+                }
+            }
+            if (group == null) {
+                return null;
+            }
+        }
+        PriorityQueue<InMemoryMessage> messages = groups.get(group);
+        InMemoryMessage message = messages.poll();
+        if (messages.isEmpty()) {
+            groups.remove(group);
+        }
+        visibleCount--;
+        return message;
+    }
+
+    private boolean hasReceivable() {
+        if (!fifo) {
+            return !visible.isEmpty();
+        }
+        for (String group : groups.keySet()) {
+            if (!inFlightGroups.containsKey(group)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void makeVisible(InMemoryMessage message) {
+        visibleCount++;
+        if (!fifo) {
+            visible.add(message);
+            messageAvailable.signal();
+            return;
+        }
+        groups.computeIfAbsent(message.messageGroupId,
+                group -> new PriorityQueue<>(Comparator.comparingLong(queued -> queued.sequenceNumber)))
+                .add(message);
+        if (!inFlightGroups.containsKey(message.messageGroupId)) {
+            messageAvailable.signal();
+        }
+    }
+
+    private void endInFlight(InMemoryMessage message) {
+        inFlight.remove(message.receiptHandle);
+        message.receiptHandle = null;
+        if (fifo && inFlightGroups.merge(message.messageGroupId, -1, Integer::sum) == 0) {
+            inFlightGroups.remove(message.messageGroupId);
+            if (groups.containsKey(message.messageGroupId)) {
+                messageAvailable.signal();
+            }
+        }
+    }
+
+    private void schedule(InMemoryMessage message, long visibleAt) {
+        message.version++;
+        invisible.add(new Scheduled(visibleAt, message, message.version));
+    }
+
+    /**
+     * Makes visible the delayed messages whose delay is over and the in-flight messages whose
+     * visibility timeout expired.
+     */
+    private void releaseDue(long now) {
+        Scheduled next;
+        while ((next = invisible.peek()) != null && next.visibleAt() - now <= 0) {
+            invisible.poll();
+            InMemoryMessage message = next.message();
+            if (next.version() != message.version) {
+                // The message was deleted, or rescheduled, since.
+                continue;
+            }
+            if (message.receiptHandle != null) {
+                endInFlight(message);
+            } else {
+                delayedCount--;
+            }
+            makeVisible(message);
+        }
+    }
+
+    private void expireDeduplicationIds(long now) {
+        Iterator<InMemoryMessage> iterator = deduplicated.values().iterator();
+        while (iterator.hasNext() && iterator.next().sentTimestamp < now - DEDUPLICATION_INTERVAL) {
+            iterator.remove();
+        }
+    }
+
+    private int intAttribute(String attributeName) {
+        return Integer.parseInt(attributes.get(attributeName));
+    }
+
+    private static String sha256(String body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Scheduled(long visibleAt, InMemoryMessage message, long version) {
+    }
+}
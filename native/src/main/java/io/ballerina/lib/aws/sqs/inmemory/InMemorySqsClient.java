@@ -0,0 +1,332 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.CancelMessageMoveTaskRequest;
+import software.amazon.awssdk.services.sqs.model.CancelMessageMoveTaskResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteQueueResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueueTagsRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueueTagsResponse;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueRequest;
+import software.amazon.awssdk.services.sqs.model.PurgeQueueResponse;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+import software.amazon.awssdk.services.sqs.model.StartMessageMoveTaskRequest;
+import software.amazon.awssdk.services.sqs.model.StartMessageMoveTaskResponse;
+import software.amazon.awssdk.services.sqs.model.TagQueueRequest;
+import software.amazon.awssdk.services.sqs.model.TagQueueResponse;
+import software.amazon.awssdk.services.sqs.model.UntagQueueRequest;
+import software.amazon.awssdk.services.sqs.model.UntagQueueResponse;
+
+/**
+ * An {@link SqsClient} backed by the in-process queues of the {@link InMemoryBroker}, used in place of
+ * the AWS client when the connection configuration selects the in-memory transport. Operations it does
+ * not implement fail with an {@link UnsupportedOperationException}.
+ */
+public final class InMemorySqsClient implements SqsClient {
+    private static final int MAX_BATCH_ENTRIES = 10;
+
+    private final InMemoryBroker broker = InMemoryBroker.INSTANCE;
+    private final InMemoryTransportConfig config;
+
+    public InMemorySqsClient(InMemoryTransportConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // The queues outlive the clients, as they would on SQS.
+    }
+
+    @Override
+    public CreateQueueResponse createQueue(CreateQueueRequest request) {
+        simulateLatency();
+        InMemoryQueue queue = broker.createQueue(request.queueName(), request.attributesAsStrings(), request.tags());
+        return CreateQueueResponse.builder().queueUrl(queue.url()).build();
+    }
+
+    @Override
+    public GetQueueUrlResponse getQueueUrl(GetQueueUrlRequest request) {
+        simulateLatency();
+        return GetQueueUrlResponse.builder().queueUrl(broker.getQueueByName(request.queueName()).url()).build();
+    }
+
+    @Override
+    public DeleteQueueResponse deleteQueue(DeleteQueueRequest request) {
+        simulateLatency();
+        broker.deleteQueue(request.queueUrl());
+        return DeleteQueueResponse.builder().build();
+    }
+
+    @Override
+    public PurgeQueueResponse purgeQueue(PurgeQueueRequest request) {
+        simulateLatency();
+        broker.getQueue(request.queueUrl()).purge();
+        return PurgeQueueResponse.builder().build();
+    }
+
+    @Override
+    public ListQueuesResponse listQueues(ListQueuesRequest request) {
+        simulateLatency();
+        List<InMemoryQueue> queues = broker.listQueues(request.queueNamePrefix());
+        int from = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+        int to = request.maxResults() == null ? queues.size() : Math.min(queues.size(), from + request.maxResults());
+        ListQueuesResponse.Builder response = ListQueuesResponse.builder()
+                .queueUrls(queues.subList(Math.min(from, to), to).stream().map(InMemoryQueue::url).toList());
+        if (to < queues.size()) {
+            response.nextToken(Integer.toString(to));
+        }
+        return response.build();
+    }
+
+    @Override
+    public GetQueueAttributesResponse getQueueAttributes(GetQueueAttributesRequest request) {
+        simulateLatency();
+        return GetQueueAttributesResponse.builder()
+                .attributesWithStrings(broker.getQueue(request.queueUrl())
+                        .getAttributes(request.attributeNamesAsStrings()))
+                .build();
+    }
+
+    @Override
+    public SetQueueAttributesResponse setQueueAttributes(SetQueueAttributesRequest request) {
+        simulateLatency();
+        broker.getQueue(request.queueUrl()).setAttributes(request.attributesAsStrings());
+        return SetQueueAttributesResponse.builder().build();
+    }
+
+    @Override
+    public TagQueueResponse tagQueue(TagQueueRequest request) {
+        simulateLatency();
+        broker.getQueue(request.queueUrl()).tags().putAll(request.tags());
+        return TagQueueResponse.builder().build();
+    }
+
+    @Override
+    public UntagQueueResponse untagQueue(UntagQueueRequest request) {
+        simulateLatency();
+        broker.getQueue(request.queueUrl()).tags().keySet().removeAll(request.tagKeys());
+        return UntagQueueResponse.builder().build();
+    }
+
+    @Override
+    public ListQueueTagsResponse listQueueTags(ListQueueTagsRequest request) {
+        simulateLatency();
+        return ListQueueTagsResponse.builder().tags(Map.copyOf(broker.getQueue(request.queueUrl()).tags())).build();
+    }
+
+    @Override
+    public SendMessageResponse sendMessage(SendMessageRequest request) {
+        simulateLatency();
+        InMemoryMessage message = broker.getQueue(request.queueUrl()).send(request.messageBody(),
+                request.messageAttributes(), request.delaySeconds(), request.messageGroupId(),
+                request.messageDeduplicationId());
+        SendMessageResponse.Builder response = SendMessageResponse.builder()
+                .messageId(message.messageId)
+                .md5OfMessageBody(message.md5OfBody);
+        if (message.messageGroupId != null) {
+            response.sequenceNumber(String.format("%020d", message.sequenceNumber));
+        }
+        return response.build();
+    }
+
+    @Override
+    public SendMessageBatchResponse sendMessageBatch(SendMessageBatchRequest request) {
+        simulateLatency();
+        validateBatch(request.entries().stream().map(SendMessageBatchRequestEntry::id).toList());
+        InMemoryQueue queue = broker.getQueue(request.queueUrl());
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            try {
+                InMemoryMessage message = queue.send(entry.messageBody(), entry.messageAttributes(),
+                        entry.delaySeconds(), entry.messageGroupId(), entry.messageDeduplicationId());
+                SendMessageBatchResultEntry.Builder result = SendMessageBatchResultEntry.builder()
+                        .id(entry.id())
+                        .messageId(message.messageId)
+                        .md5OfMessageBody(message.md5OfBody);
+                if (message.messageGroupId != null) {
+                    result.sequenceNumber(String.format("%020d", message.sequenceNumber));
+                }
+                successful.add(result.build());
+            } catch (SqsException e) {
+                failed.add(failure(entry.id(), e));
+            }
+        }
+        return SendMessageBatchResponse.builder().successful(successful).failed(failed).build();
+    }
+
+    @Override
+    public ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request) {
+        simulateLatency();
+        InMemoryQueue queue = broker.getQueue(request.queueUrl());
+        int maxMessages = Math.min(request.maxNumberOfMessages() == null ? 1 : request.maxNumberOfMessages(),
+                config.maxMessagesPerReceive());
+        List<String> systemAttributeNames = new ArrayList<>(request.messageSystemAttributeNamesAsStrings());
+        systemAttributeNames.addAll(request.attributeNamesAsStrings());
+        try {
+            List<Message> messages = queue.receive(maxMessages, request.visibilityTimeout(),
+                    request.waitTimeSeconds(), AttributeFilter.of(request.messageAttributeNames()),
+                    SystemAttributeFilter.of(systemAttributeNames));
+            return ReceiveMessageResponse.builder().messages(messages).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AbortedException.builder().message("The receive was interrupted").cause(e).build();
+        }
+    }
+
+    @Override
+    public DeleteMessageResponse deleteMessage(DeleteMessageRequest request) {
+        simulateLatency();
+        broker.getQueue(request.queueUrl()).delete(request.receiptHandle());
+        return DeleteMessageResponse.builder().build();
+    }
+
+    @Override
+    public DeleteMessageBatchResponse deleteMessageBatch(DeleteMessageBatchRequest request) {
+        simulateLatency();
+        validateBatch(request.entries().stream().map(DeleteMessageBatchRequestEntry::id).toList());
+        InMemoryQueue queue = broker.getQueue(request.queueUrl());
+        List<DeleteMessageBatchResultEntry> successful = new ArrayList<>(request.entries().size());
+        for (DeleteMessageBatchRequestEntry entry : request.entries()) {
+            queue.delete(entry.receiptHandle());
+            successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+        }
+        return DeleteMessageBatchResponse.builder().successful(successful).failed(List.of()).build();
+    }
+
+    @Override
+    public ChangeMessageVisibilityResponse changeMessageVisibility(ChangeMessageVisibilityRequest request) {
+        simulateLatency();
+        InMemoryQueue queue = broker.getQueue(request.queueUrl());
+        if (!queue.changeVisibility(request.receiptHandle(), request.visibilityTimeout())) {
+            throw InMemoryErrors.messageNotInflight();
+        }
+        return ChangeMessageVisibilityResponse.builder().build();
+    }
+
+    @Override
+    public ChangeMessageVisibilityBatchResponse changeMessageVisibilityBatch(
+            ChangeMessageVisibilityBatchRequest request) {
+        simulateLatency();
+        validateBatch(request.entries().stream().map(ChangeMessageVisibilityBatchRequestEntry::id).toList());
+        InMemoryQueue queue = broker.getQueue(request.queueUrl());
+        List<ChangeMessageVisibilityBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (ChangeMessageVisibilityBatchRequestEntry entry : request.entries()) {
+            if (queue.changeVisibility(entry.receiptHandle(), entry.visibilityTimeout())) {
+                successful.add(ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build());
+            } else {
+                failed.add(failure(entry.id(), InMemoryErrors.messageNotInflight()));
+            }
+        }
+        return ChangeMessageVisibilityBatchResponse.builder().successful(successful).failed(failed).build();
+    }
+
+    @Override
+    public StartMessageMoveTaskResponse startMessageMoveTask(StartMessageMoveTaskRequest request) {
+        simulateLatency();
+        String taskHandle = broker.startMessageMoveTask(request.sourceArn(), request.destinationArn(),
+                request.maxNumberOfMessagesPerSecond());
+        return StartMessageMoveTaskResponse.builder().taskHandle(taskHandle).build();
+    }
+
+    @Override
+    public CancelMessageMoveTaskResponse cancelMessageMoveTask(CancelMessageMoveTaskRequest request) {
+        simulateLatency();
+        return CancelMessageMoveTaskResponse.builder()
+                .approximateNumberOfMessagesMoved(broker.cancelMessageMoveTask(request.taskHandle()))
+                .build();
+    }
+
+    private static void validateBatch(List<String> entryIds) {
+        if (entryIds.isEmpty()) {
+            throw InMemoryErrors.emptyBatch();
+        }
+        if (entryIds.size() > MAX_BATCH_ENTRIES) {
+            throw InMemoryErrors.tooManyEntriesInBatch(entryIds.size());
+        }
+        if (new HashSet<>(entryIds).size() != entryIds.size()) {
+            throw InMemoryErrors.batchEntryIdsNotDistinct();
+        }
+    }
+
+    private static BatchResultErrorEntry failure(String entryId, SqsException e) {
+        return BatchResultErrorEntry.builder()
+                .id(entryId)
+                .code(e.awsErrorDetails().errorCode())
+                .message(e.awsErrorDetails().errorMessage())
+                .senderFault(true)
+                .build();
+    }
+
+    private void simulateLatency() {
+        if (config.latency().isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(config.latency());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AbortedException.builder().message("The call was interrupted").cause(e).build();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import java.time.Duration;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Configuration of the in-process stand-in for Amazon SQS, read from the optional
+ * {@code inMemory} field of the connection configuration.
+ *
+ * @param latency               the delay added to each API call, to simulate the network round trip
+ * @param maxMessagesPerReceive the maximum number of messages returned by a receive
+ */
+public record InMemoryTransportConfig(Duration latency, int maxMessagesPerReceive) {
+
+    private static final BString IN_MEMORY = StringUtils.fromString("inMemory");
+    private static final BString LATENCY = StringUtils.fromString("latency");
+    private static final BString MAX_MESSAGES_PER_RECEIVE = StringUtils.fromString("maxMessagesPerReceive");
+
+    /**
+     * Reads the in-memory transport configuration of the given connection configuration.
+     *
+     * @param bConnectionConfig the Ballerina connection configuration
+     * @return the configuration, or {@code null} if the connection does not use the in-memory transport
+     */
+    @SuppressWarnings("unchecked")
+    public static InMemoryTransportConfig from(BMap<BString, Object> bConnectionConfig) {
+        BMap<BString, Object> config = (BMap<BString, Object>) bConnectionConfig.getMapValue(IN_MEMORY);
+        if (config == null) {
+            return null;
+        }
+        return new InMemoryTransportConfig(
+                Duration.ofMillis((long) (((BDecimal) config.get(LATENCY)).value().doubleValue() * 1000)),
+                config.getIntValue(MAX_MESSAGES_PER_RECEIVE).intValue());
+    }
+}
@@ -0,0 +1,90 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves the messages of a dead-letter queue to a destination queue, or back to the queues they came
+ * from, at a bounded rate, until the dead-letter queue has no visible message left or the task is
+ * cancelled.
+ */
+final class MessageMoveTask implements Runnable {
+    private final InMemoryBroker broker;
+    private final InMemoryQueue source;
+    private final String destinationArn;
+    private final long pauseNanos;
+
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final AtomicLong movedCount = new AtomicLong();
+
+    MessageMoveTask(InMemoryBroker broker, InMemoryQueue source, String destinationArn,
+            Integer maxMessagesPerSecond) {
+        this.broker = broker;
+        this.source = source;
+        this.destinationArn = destinationArn;
+        this.pauseNanos = maxMessagesPerSecond == null ? 0 : TimeUnit.SECONDS.toNanos(1) / maxMessagesPerSecond;
+    }
+
+    void start() {
+        Thread.ofVirtual().name("sqs-in-memory-message-move").start(this);
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running.get()) {
+                List<InMemoryMessage> messages = source.takeForMove(1);
+                if (messages.isEmpty()) {
+                    return;
+                }
+                InMemoryMessage message = messages.get(0);
+                InMemoryQueue destination = broker.findQueueByArn(
+                        destinationArn != null ? destinationArn : message.deadLetterSourceArn);
+                if (destination == null) {
+                    source.accept(message);
+                    return;
+                }
+                destination.accept(message.moveTo(null));
+                movedCount.incrementAndGet();
+                if (pauseNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(pauseNanos);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Cancels this task.
+     *
+     * @return {@code false} if the task is not running anymore
+     */
+    boolean cancel() {
+        return running.compareAndSet(true, false);
+    }
+
+    long movedCount() {
+        return movedCount.get();
+    }
+}
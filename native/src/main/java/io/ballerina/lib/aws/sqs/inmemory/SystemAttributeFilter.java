@@ -0,0 +1,54 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.inmemory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects the system attributes returned by a receive, from the requested system attribute names,
+ * where {@code All} selects every one of them.
+ */
+final class SystemAttributeFilter {
+    private static final SystemAttributeFilter NONE = new SystemAttributeFilter(List.of(), false);
+    private static final SystemAttributeFilter ALL = new SystemAttributeFilter(List.of(), true);
+
+    private final List<String> names;
+    private final boolean all;
+
+    private SystemAttributeFilter(List<String> names, boolean all) {
+        this.names = names;
+        this.all = all;
+    }
+
+    static SystemAttributeFilter of(List<String> names) {
+        if (names.isEmpty()) {
+            return NONE;
+        }
+        return names.contains("All") ? ALL : new SystemAttributeFilter(names, false);
+    }
+
+    boolean isEmpty() {
+        return this == NONE;
+    }
+
+    void put(Map<String, String> systemAttributes, String name, String value) {
+        if (all || names.contains(name)) {
+            systemAttributes.put(name, value);
+        }
+    }
+}
@@ -19,6 +19,12 @@ package io.ballerina.lib.aws.sqs.listener;
 /**
  * A minimal internal representation of an SQS message
  * used for acknowledgment and negative acknowledgment.
+ *
+ * @param blobKey the key of the offloaded body of the message, deleted along with it, or null
  */
-public record AckMessage(String messageId, String receiptHandle) {
+public record AckMessage(String messageId, String receiptHandle, String blobKey) {
+
+    public AckMessage(String messageId, String receiptHandle) {
+        this(messageId, receiptHandle, null);
+    }
 }
@@ -22,9 +22,13 @@ import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
 
 import static io.ballerina.lib.aws.sqs.CommonUtils.createError;
+import io.ballerina.lib.aws.sqs.claimcheck.ClaimCheck;
 import io.ballerina.lib.aws.sqs.client.NativeClientAdaptor;
+import io.ballerina.lib.aws.sqs.observability.SqsEvents;
+import io.ballerina.lib.aws.sqs.observability.SqsMetrics;
 
 /**
  * Native implementation of the Ballerina AWS SQS Caller object.
@@ -34,6 +38,10 @@ public final class Caller {
 
     static final String NATIVE_QUEUE_URL = "native.queue.url";
     static final String NATIVE_ACK_MESSAGES = "native.ack.messages";
+    static final String NATIVE_ENVELOPE_ACKS = "native.envelope.acks";
+    static final String NATIVE_ENVELOPE_RECORD = "native.envelope.record";
+    static final String NATIVE_IDEMPOTENCY_FILTER = "native.idempotency.filter";
+    static final String NATIVE_RECEIVED_MESSAGE = "native.received.message";
 
     private Caller() {
     }
@@ -46,18 +54,63 @@ public final class Caller {
      * @return null on success, Error on failure
      */
     public static Object delete(BObject callerObj) {
-        try {
-            // Extract the SQS client, queue URL, and messages from the caller object
-            SqsClient client = (SqsClient) callerObj.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT);
-            String queueUrl = (String) callerObj.getNativeData(NATIVE_QUEUE_URL);
-            AckMessage ackMessage = (AckMessage) callerObj.getNativeData(NATIVE_ACK_MESSAGES);
+        // Extract the SQS client, queue URL, and messages from the caller object
+        SqsClient client = (SqsClient) callerObj.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT);
+        String queueUrl = (String) callerObj.getNativeData(NATIVE_QUEUE_URL);
+        AckMessage ackMessage = (AckMessage) callerObj.getNativeData(NATIVE_ACK_MESSAGES);
+        if (ackMessage == null) {
+            return null;
+        }
+        EnvelopeAcks envelopeAcks = (EnvelopeAcks) callerObj.getNativeData(NATIVE_ENVELOPE_ACKS);
+        if (envelopeAcks != null) {
+            // The record of an aggregated message, which is deleted along with its last record.
+            if (!envelopeAcks.acknowledge((Integer) callerObj.getNativeData(NATIVE_ENVELOPE_RECORD))) {
+                return null;
+            }
+            ackMessage = envelopeAcks.envelope();
+        }
+        Object result = delete(client, queueUrl, ackMessage,
+                (ClaimCheck) callerObj.getNativeData(NativeClientAdaptor.NATIVE_CLAIM_CHECK));
+        // The message is remembered as processed only once it is deleted, hence a message the
+        // service leaves in the queue is processed again when it is received again.
+        IdempotencyFilter idempotencyFilter = (IdempotencyFilter) callerObj.getNativeData(NATIVE_IDEMPOTENCY_FILTER);
+        if (result == null && idempotencyFilter != null) {
+            idempotencyFilter.markProcessed((Message) callerObj.getNativeData(NATIVE_RECEIVED_MESSAGE));
+        }
+        return result;
+    }
 
-            if (ackMessage != null) {
-                DeleteMessageRequest req = DeleteMessageRequest.builder()
-                        .queueUrl(queueUrl)
-                        .receiptHandle(ackMessage.receiptHandle())
-                        .build();
-                client.deleteMessage(req);
+    /**
+     * Deletes a received message without a Caller object, as done for services that
+     * auto-delete their messages.
+     *
+     * @param client     The SQS client to delete the message with
+     * @param queueUrl   The URL of the queue the message was received from
+     * @param ackMessage The message
+     * @param claimCheck The store of the offloaded body of the message, or null if there is none
+     * @return null on success, Error on failure
+     */
+    static Object delete(SqsClient client, String queueUrl, AckMessage ackMessage, ClaimCheck claimCheck) {
+        try {
+            long startTime = System.nanoTime();
+            SqsEvents.Ack ackEvent = new SqsEvents.Ack();
+            ackEvent.begin();
+            DeleteMessageRequest req = DeleteMessageRequest.builder()
+                    .queueUrl(queueUrl)
+                    .receiptHandle(ackMessage.receiptHandle())
+                    .build();
+            client.deleteMessage(req);
+            ackEvent.end();
+            if (ackEvent.shouldCommit()) {
+                ackEvent.queueUrl = queueUrl;
+                ackEvent.messageId = ackMessage.messageId();
+                ackEvent.commit();
+            }
+            if (SqsMetrics.isEnabled()) {
+                SqsMetrics.recordAck(queueUrl, System.nanoTime() - startTime);
+            }
+            if (ackMessage.blobKey() != null && claimCheck != null) {
+                claimCheck.deleteBlob(ackMessage.blobKey());
             }
         } catch (BError e) {
             return e;
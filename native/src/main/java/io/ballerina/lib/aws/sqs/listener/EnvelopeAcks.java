@@ -0,0 +1,53 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.listener;
+
+import java.util.BitSet;
+
+/**
+ * Tracks the acknowledgements of the records of an aggregated message, which share its
+ * receipt handle: the message is only deleted once all of its records are acknowledged.
+ */
+final class EnvelopeAcks {
+    private final AckMessage envelope;
+    private final int recordCount;
+    private final BitSet acknowledged;
+
+    EnvelopeAcks(AckMessage envelope, int recordCount) {
+        this.envelope = envelope;
+        this.recordCount = recordCount;
+        this.acknowledged = new BitSet(recordCount);
+    }
+
+    AckMessage envelope() {
+        return envelope;
+    }
+
+    /**
+     * Records the acknowledgement of a record. Acknowledging a record again has no effect.
+     *
+     * @param record the position of the record in the message
+     * @return whether this acknowledgement completes the message, which is then to be deleted
+     */
+    synchronized boolean acknowledge(int record) {
+        if (acknowledged.get(record)) {
+            return false;
+        }
+        acknowledged.set(record);
+        return acknowledged.cardinality() == recordCount;
+    }
+}
@@ -0,0 +1,60 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.listener;
+
+import java.time.Duration;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Configuration of the idempotency filter of a service, mapped from the Ballerina
+ * {@code IdempotencyConfig} record of the service configuration.
+ */
+public record IdempotencyConfig(int maxEntries, Duration ttl, String keyAttribute) {
+
+    static final BString MAX_ENTRIES = StringUtils.fromString("maxEntries");
+    static final BString TTL = StringUtils.fromString("ttl");
+    static final BString KEY_ATTRIBUTE = StringUtils.fromString("keyAttribute");
+
+    // Keeps the filter's table, sized at twice the entries, within the bounds of an array
+    private static final int MAX_ENTRIES_LIMIT = 1 << 28;
+
+    /**
+     * Creates an idempotency configuration from Ballerina config map.
+     *
+     * @param config The Ballerina configuration map containing the idempotency settings
+     */
+    public IdempotencyConfig(BMap<BString, Object> config) {
+        this(config.getIntValue(MAX_ENTRIES).intValue(),
+                Duration.ofMillis((long) (((BDecimal) config.get(TTL)).value().doubleValue() * 1000)),
+                config.containsKey(KEY_ATTRIBUTE) ? config.getStringValue(KEY_ATTRIBUTE).getValue() : null);
+    }
+
+    public IdempotencyConfig {
+        if (maxEntries < 1 || maxEntries > MAX_ENTRIES_LIMIT) {
+            throw CommonUtils.createError("Invalid idempotency configuration : maxEntries must be between 1 and "
+                    + MAX_ENTRIES_LIMIT + ".");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw CommonUtils.createError("Invalid idempotency configuration : ttl must be positive.");
+        }
+    }
+}
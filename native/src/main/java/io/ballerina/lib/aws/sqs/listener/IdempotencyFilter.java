@@ -0,0 +1,136 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.listener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * A bounded set of the messages recently processed by a service, used to acknowledge
+ * redelivered messages without invoking {@code onMessage} again.
+ *
+ * <p>Messages are identified by a 64-bit fingerprint of their message ID, or of the value of
+ * a configured message attribute, held in an open-addressing table along with the time at
+ * which it expires. Lookups and insertions are lock-free and never allocate: an insertion
+ * claims a free or expired slot within a short probe window with a compare-and-set, or
+ * replaces the entry of that window expiring first once the table is full. A replaced entry
+ * is forgotten early, which only lets a later duplicate of it through.
+ */
+final class IdempotencyFilter {
+
+    private static final int PROBE_WINDOW = 8;
+    private static final long EMPTY = 0;
+
+    // Fingerprint and expiry time of each slot, in consecutive elements
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final long ttlNanos;
+    private final String keyAttribute;
+
+    IdempotencyFilter(IdempotencyConfig config) {
+        // Keep the table at most half full, so that probe windows rarely fill up.
+        int capacity = Integer.highestOneBit(Math.max(PROBE_WINDOW, config.maxEntries()) * 2 - 1) << 1;
+        this.slots = new AtomicLongArray(capacity * 2);
+        this.mask = capacity - 1;
+        this.ttlNanos = config.ttl().toNanos();
+        this.keyAttribute = config.keyAttribute();
+    }
+
+    /**
+     * Returns the name of the message attribute that identifies messages, or null if
+     * messages are identified by their message ID.
+     */
+    String keyAttribute() {
+        return keyAttribute;
+    }
+
+    /**
+     * Returns whether a message with the same key was processed within the time-to-live.
+     */
+    boolean isDuplicate(Message message) {
+        long fingerprint = fingerprint(key(message));
+        long now = System.nanoTime();
+        int index = index(fingerprint);
+        for (int i = 0; i < PROBE_WINDOW; i++) {
+            int slot = ((index + i) & mask) * 2;
+            if (slots.get(slot) == fingerprint && slots.get(slot + 1) - now > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a message as processed, once it is deleted from the queue.
+     */
+    void markProcessed(Message message) {
+        long fingerprint = fingerprint(key(message));
+        long now = System.nanoTime();
+        long expiresAt = now + ttlNanos;
+        int index = index(fingerprint);
+        int victim = -1;
+        long victimExpiresAt = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_WINDOW; i++) {
+            int slot = ((index + i) & mask) * 2;
+            long current = slots.get(slot);
+            long currentExpiresAt = slots.get(slot + 1);
+            if (current == fingerprint) {
+                slots.set(slot + 1, expiresAt);
+                return;
+            }
+            if ((current == EMPTY || currentExpiresAt - now <= 0) && slots.compareAndSet(slot, current, fingerprint)) {
+                slots.set(slot + 1, expiresAt);
+                return;
+            }
+            if (victim < 0 || currentExpiresAt - victimExpiresAt < 0) {
+                victim = slot;
+                victimExpiresAt = currentExpiresAt;
+            }
+        }
+        // The window is full of live entries: replace the one expiring first. Losing a race
+        // for it to another insertion only forgets this message early.
+        long current = slots.get(victim);
+        if (slots.compareAndSet(victim, current, fingerprint)) {
+            slots.set(victim + 1, expiresAt);
+        }
+    }
+
+    private String key(Message message) {
+        if (keyAttribute != null && message.hasMessageAttributes()) {
+            MessageAttributeValue value = message.messageAttributes().get(keyAttribute);
+            if (value != null && value.stringValue() != null) {
+                return value.stringValue();
+            }
+        }
+        return message.messageId();
+    }
+
+    private int index(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    /**
+     * Hashes a key into a fingerprint. Zero marks a free slot, hence is never returned.
+     */
+    private static long fingerprint(String key) {
+        long hash = CommonUtils.hash64(key);
+        return hash == EMPTY ? 1 : hash;
+    }
+}
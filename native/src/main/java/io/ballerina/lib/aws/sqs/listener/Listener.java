@@ -19,17 +19,21 @@ package io.ballerina.lib.aws.sqs.listener;
 import java.util.Objects;
 
 import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.lib.aws.sqs.auth.HttpClientConfig;
+import io.ballerina.lib.aws.sqs.claimcheck.ClaimCheck;
 import io.ballerina.lib.aws.sqs.client.NativeClientAdaptor;
+import io.ballerina.lib.aws.sqs.client.SqsClientPool;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 
-import software.amazon.awssdk.services.sqs.SqsClient;
-
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -42,7 +46,9 @@ public final class Listener {
     static final String NATIVE_SERVICES = "native.services";
     static final String NATIVE_STOPPED = "native.stopped";
     static final String NATIVE_SERVICE = "native.service";
-    static final String NATIVE_RECEIVER = "native.receiver";
+    static final String NATIVE_RECEIVERS = "native.receivers";
+    static final String NATIVE_POLL_CLIENT_LEASE = "native.poll.client.lease";
+    static final String NATIVE_LISTENER_CONFIG = "native.listener.config";
 
     private Listener() {
     }
@@ -54,12 +60,30 @@ public final class Listener {
     public static Object init(Environment env,
             BObject bListener,
             BMap<BString, Object> connectionConfig,
-            BMap<BString, Object> pollingConfig) {
+            BMap<BString, Object> pollingConfig,
+            BMap<BString, Object> listenerConfig) {
         try {
-            // create the native SQS client
-            SqsClient nativeSqsClient = NativeClientAdaptor.createSqsClient(connectionConfig);
+            // acquire the native SQS client, shared with clients of the same configuration
+            SqsClientPool.Lease lease = SqsClientPool.acquire(connectionConfig);
+            bListener.addNativeData(NativeClientAdaptor.NATIVE_CLIENT_LEASE, lease);
             // set the native client as native data in the listener object
-            bListener.addNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT, nativeSqsClient);
+            bListener.addNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT, lease.client());
+
+            // acquire a separate native client for the long polls, so that the connections they
+            // hold for up to their whole wait time never delay acknowledgements
+            ListenerConfig listenerCfg = new ListenerConfig(listenerConfig);
+            HttpClientConfig httpClientConfig = Objects.requireNonNullElse(
+                    HttpClientConfig.from(connectionConfig), HttpClientConfig.DEFAULT);
+            SqsClientPool.Lease pollLease = SqsClientPool.acquire(connectionConfig,
+                    httpClientConfig.forLongPolling(listenerCfg.longPollMaxConnections()));
+            bListener.addNativeData(NATIVE_POLL_CLIENT_LEASE, pollLease);
+            bListener.addNativeData(NATIVE_LISTENER_CONFIG, listenerCfg);
+
+            // open the blob store of the offloaded message bodies, if any
+            ClaimCheck claimCheck = ClaimCheck.from(connectionConfig);
+            if (claimCheck != null) {
+                bListener.addNativeData(NativeClientAdaptor.NATIVE_CLAIM_CHECK, claimCheck);
+            }
 
             // parse and store polling configuration
             PollingConfig pollingCfg = new PollingConfig(pollingConfig);
@@ -85,21 +109,35 @@ public final class Listener {
     }
 
     /**
-     * Closes the native SQS client of a listener that failed to initialize. The listener
-     * is never started, hence never stopped, so a client created before the failure would
+     * Releases the native SQS client of a listener that failed to initialize. The listener
+     * is never started, hence never stopped, so a client acquired before the failure would
      * otherwise be left open along with its credentials provider.
      */
     private static void closeSqsClient(BObject bListener) {
         try {
-            if (bListener.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT) instanceof SqsClient client) {
-                client.close();
-            }
-            bListener.addNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT, null);
+            releaseSqsClient(bListener);
         } catch (Exception e) {
             // Nothing can be done about a failure while cleaning up after another failure.
         }
     }
 
+    /**
+     * Releases the listener's leases on the shared native SQS clients, for short requests
+     * and for long polls, each closed once no client or listener uses it anymore.
+     */
+    private static void releaseSqsClient(BObject bListener) {
+        try {
+            if (bListener.getNativeData(NATIVE_POLL_CLIENT_LEASE) instanceof SqsClientPool.Lease pollLease) {
+                pollLease.release();
+            }
+        } finally {
+            if (bListener.getNativeData(NativeClientAdaptor.NATIVE_CLIENT_LEASE) instanceof SqsClientPool.Lease lease) {
+                lease.release();
+            }
+            bListener.addNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT, null);
+        }
+    }
+
     /**
      * Attaches an SQS service to this listener.
      * Each service is mapped to a specific queue URL.
@@ -114,18 +152,28 @@ public final class Listener {
             PollingConfig effectiveConfig = cfg.pollingConfig() != null ? cfg.pollingConfig() : pollingConfig;
 
             MessageDispatcher dispatcher = new MessageDispatcher(env, nativeService);
-            MessageReceiver receiver = new MessageReceiver(
-                    (SqsClient) bListener.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT),
-                    cfg.queueUrl(),
-                    effectiveConfig,
-                    dispatcher,
-                    bListener,
-                    cfg.autoDelete());
+            // isolated onMessage methods are safe to invoke concurrently, the others are not
+            int maxConcurrency = nativeService.isOnMessageMethodIsolated() ? effectiveConfig.maxConcurrency() : 1;
+            // the shards of a sharded queue are polled independently but share the concurrency limit
+            Semaphore dispatchPermits = new Semaphore(maxConcurrency);
+            List<MessageReceiver> receivers = new ArrayList<>(cfg.queueUrls().size());
+            for (String queueUrl : cfg.queueUrls()) {
+                receivers.add(new MessageReceiver(
+                        ((SqsClientPool.Lease) bListener.getNativeData(NATIVE_POLL_CLIENT_LEASE)).client(),
+                        queueUrl,
+                        effectiveConfig,
+                        dispatcher,
+                        bListener,
+                        cfg.autoDelete(),
+                        dispatchPermits,
+                        maxConcurrency));
+            }
 
             Map<String, Service> services = getServices(bListener);
+            validateLongPollConnections(bListener, services, cfg.queueUrl(), receivers.size());
             services.put(cfg.queueUrl(), nativeService);
             bService.addNativeData(NATIVE_SERVICE, nativeService);
-            bService.addNativeData(NATIVE_RECEIVER, receiver);
+            bService.addNativeData(NATIVE_RECEIVERS, List.copyOf(receivers));
         } catch (BError e) {
             return e;
         } catch (Exception e) {
@@ -134,6 +182,31 @@ public final class Listener {
         return null;
     }
 
+    /**
+     * Checks that every receiver of the listener can hold a long-poll connection at once. A
+     * receiver waiting for a connection past the acquisition timeout would fail its poll, which
+     * stops it for good.
+     *
+     * @param queueUrl  the queue of the service being attached, which replaces any service of
+     *                  the same queue
+     * @param receivers the number of receivers of the service being attached
+     */
+    private static void validateLongPollConnections(BObject bListener, Map<String, Service> services,
+            String queueUrl, int receivers) {
+        int total = receivers;
+        for (Map.Entry<String, Service> entry : services.entrySet()) {
+            if (!entry.getKey().equals(queueUrl)) {
+                total += getReceivers(entry.getValue().getConsumerService()).size();
+            }
+        }
+        int maxConnections = ((ListenerConfig) bListener.getNativeData(NATIVE_LISTENER_CONFIG))
+                .longPollMaxConnections();
+        if (total > maxConnections) {
+            throw CommonUtils.createError("Invalid listener configuration : the attached services poll " + total
+                    + " queues, more than longPollMaxConnections (" + maxConnections + ").");
+        }
+    }
+
     /**
      * Detaches a service from this listener.
      * Stops message polling for the associated queue.
@@ -166,9 +239,10 @@ public final class Listener {
         try {
             for (Service service : services.values()) {
                 BObject bService = service.getConsumerService();
-                MessageReceiver receiver = (MessageReceiver) bService.getNativeData(NATIVE_RECEIVER);
-                receiver.setStopListener(() -> gracefulStop(null, bListener));
-                receiver.consume();
+                for (MessageReceiver receiver : getReceivers(bService)) {
+                    receiver.setStopListener(() -> gracefulStop(null, bListener));
+                    receiver.consume();
+                }
             }
         } catch (Exception e) {
             stopAllReceivers(services);
@@ -194,15 +268,9 @@ public final class Listener {
         try {
             for (Service service : services.values()) {
                 BObject bService = service.getConsumerService();
-                MessageReceiver receiver = (MessageReceiver) bService.getNativeData(NATIVE_RECEIVER);
-                if (receiver != null) {
-                    receiver.stop();
-                }
-            }
-            SqsClient client = (SqsClient) bListener.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT);
-            if (client != null) {
-                client.close();
+                MessageReceiver.stop(getReceivers(bService));
             }
+            releaseSqsClient(bListener);
         } catch (Exception e) {
             return CommonUtils.createError("Error occurred while gracefully stopping the Ballerina AWS SQS listener", e);
         }
@@ -220,15 +288,9 @@ public final class Listener {
         try {
             for (Service service : services.values()) {
                 BObject bService = service.getConsumerService();
-                MessageReceiver receiver = (MessageReceiver) bService.getNativeData(NATIVE_RECEIVER);
-                if (receiver != null) {
-                    receiver.stop();
-                }
-            }
-            SqsClient client = (SqsClient) bListener.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT);
-            if (client != null) {
-                client.close();
+                MessageReceiver.stop(getReceivers(bService));
             }
+            releaseSqsClient(bListener);
         } catch (Exception e) {
             return CommonUtils.createError("Error occurred while immediately stopping the Ballerina AWS SQS listener",
                     e);
@@ -244,14 +306,20 @@ public final class Listener {
         return (Map<String, Service>) bListener.getNativeData(NATIVE_SERVICES);
     }
 
+    /**
+     * Retrieves the receivers of a service, one per shard of its queue.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<MessageReceiver> getReceivers(BObject bService) {
+        Object receivers = bService.getNativeData(NATIVE_RECEIVERS);
+        return receivers != null ? (List<MessageReceiver>) receivers : List.of();
+    }
+
     private static void stopAllReceivers(Map<String, Service> services) {
         for (Service service : services.values()) {
             try {
                 BObject bService = service.getConsumerService();
-                MessageReceiver receiver = (MessageReceiver) bService.getNativeData(NATIVE_RECEIVER);
-                if (receiver != null) {
-                    receiver.stop();
-                }
+                MessageReceiver.stop(getReceivers(bService));
             } catch (Exception e) {
             }
         }
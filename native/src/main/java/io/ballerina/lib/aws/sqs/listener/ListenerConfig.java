@@ -0,0 +1,38 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.listener;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Configuration record for the listener-wide settings that are not specific to a service.
+ */
+public record ListenerConfig(int longPollMaxConnections) {
+
+    static final BString LONG_POLL_MAX_CONNECTIONS = StringUtils.fromString("longPollMaxConnections");
+
+    /**
+     * Creates listener configuration from Ballerina config map.
+     *
+     * @param config The Ballerina configuration map containing listener settings
+     */
+    public ListenerConfig(BMap<BString, Object> config) {
+        this(config.getIntValue(LONG_POLL_MAX_CONNECTIONS).intValue());
+    }
+}
@@ -53,6 +53,8 @@ public final class ListenerUtils {
         // copy the SqsClient from the listener onto the caller
         SqsClient sqsClient = (SqsClient) bListener.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT);
         caller.addNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT, sqsClient);
+        caller.addNativeData(NativeClientAdaptor.NATIVE_CLAIM_CHECK,
+                bListener.getNativeData(NativeClientAdaptor.NATIVE_CLAIM_CHECK));
         // add the queue URL and the raw message
         caller.addNativeData(NATIVE_QUEUE_URL, queueUrl);
         caller.addNativeData(NATIVE_ACK_MESSAGES, ackMessage);
@@ -19,21 +19,25 @@ package io.ballerina.lib.aws.sqs.listener;
 import java.util.Objects;
 
 import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.lib.aws.sqs.claimcheck.ClaimCheck;
+import io.ballerina.lib.aws.sqs.client.NativeClientAdaptor;
+import io.ballerina.lib.aws.sqs.mappers.MessageAggregation;
 import io.ballerina.lib.aws.sqs.mappers.ReceiveMessageMapper;
+import io.ballerina.lib.aws.sqs.observability.SqsEvents;
+import io.ballerina.lib.aws.sqs.observability.SqsMetrics;
+import io.ballerina.lib.aws.sqs.observability.TraceContext;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Runtime;
 import io.ballerina.runtime.api.concurrent.StrandMetadata;
-import io.ballerina.runtime.api.types.Parameter;
-import io.ballerina.runtime.api.types.RemoteMethodType;
-import io.ballerina.runtime.api.types.Type;
-import io.ballerina.runtime.api.types.TypeTags;
-import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.Message;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,6 +51,7 @@ public final class MessageDispatcher {
     private final Runtime ballerinaRuntime;
     private final Service nativeService;
     private final Environment environment;
+    private final IdempotencyFilter idempotencyFilter;
 
     /**
      * Creates a new message dispatcher.
@@ -58,6 +63,16 @@ public final class MessageDispatcher {
         this.environment = env;
         this.ballerinaRuntime = env.getRuntime();
         this.nativeService = nativeService;
+        IdempotencyConfig idempotency = nativeService.getServiceConfig().idempotency();
+        this.idempotencyFilter = idempotency != null ? new IdempotencyFilter(idempotency) : null;
+    }
+
+    /**
+     * Returns the name of the message attribute that identifies redelivered messages, which
+     * must be requested on receive, or null if none is needed.
+     */
+    String getIdempotencyKeyAttribute() {
+        return idempotencyFilter != null ? idempotencyFilter.keyAttribute() : null;
     }
 
     /**
@@ -71,41 +86,79 @@ public final class MessageDispatcher {
      */
     public void dispatch(List<Message> message, BObject bListener, String queueUrl, boolean autoDelete,
             OnMsgCallback callback) {
+        boolean metricsEnabled = SqsMetrics.isEnabled();
+        if (metricsEnabled) {
+            SqsMetrics.messageInFlight(queueUrl, true);
+        }
+        SqsEvents.Dispatch dispatchEvent = new SqsEvents.Dispatch();
+        dispatchEvent.begin();
         Thread.startVirtualThread(() -> {
             try {
                 if (!message.isEmpty()) {
                     Message msg = message.get(0);
                     try {
-                        // convert to Ballerina record (single message)
-                        BMap<BString, Object> bMsg = ReceiveMessageMapper.getNativeMessage(msg);
-
-                        // build args of length 1 or 2
-                        Object[] args = getOnMessageParams(bMsg, bListener, queueUrl, msg);
-
-                        // invoke onMessage
-                        StrandMetadata meta = new StrandMetadata(
-                                nativeService.isOnMessageMethodIsolated(), null);
-                        if (args.length > 2 || args.length < 1) {
-                            throw CommonUtils.createError(
-                                    "Invalid number of parameters for onMessage method. Expected 1 or 2, got "
-                                            + args.length);
+                        if (idempotencyFilter != null && idempotencyFilter.isDuplicate(msg)) {
+                            // already processed, hence only acknowledge the redelivery
+                            if (metricsEnabled) {
+                                SqsMetrics.recordDuplicate(queueUrl);
+                            }
+                            Object err = deleteMessage(bListener, queueUrl, msg);
+                            if (err instanceof BError) {
+                                invokeOnError((BError) err, bListener);
+                                callback.notifyFailure((BError) err);
+                                return;
+                            }
+                            callback.notifySuccess(null);
+                            return;
+                        }
+
+                        // The offloaded body, if any, is only read for the messages that are processed.
+                        Message resolved = resolve(bListener, msg);
+                        AckMessage ackMessage = new AckMessage(msg.messageId(), msg.receiptHandle(),
+                                ClaimCheck.pointer(msg));
+                        // A malformed aggregated message is dispatched as it is.
+                        List<Message> records = MessageAggregation.isEnvelope(resolved)
+                                ? MessageAggregation.unpackAll(List.of(resolved)) : List.of(resolved);
+                        Object result = null;
+                        boolean failed;
+                        if (!records.isEmpty() && records.get(0) != resolved) {
+                            // The records of an aggregated message are dispatched one by one. Through the
+                            // Caller, the message is only deleted once all of its records are acknowledged.
+                            // With autoDelete, it is deleted once all of them are processed, whatever their
+                            // results, as a message of its own is.
+                            EnvelopeAcks envelopeAcks = new EnvelopeAcks(ackMessage, records.size());
+                            List<BError> recordErrors = new ArrayList<>();
+                            for (int i = 0; i < records.size(); i++) {
+                                Message record = records.get(i);
+                                Object recordResult = invokeOnMessage(record,
+                                        new AckMessage(record.messageId(), record.receiptHandle()), envelopeAcks, i,
+                                        msg, bListener, queueUrl, metricsEnabled);
+                                if (recordResult instanceof BError recordError) {
+                                    recordErrors.add(recordError);
+                                }
+                            }
+                            callback.notifyRecordErrors(recordErrors);
+                            failed = !recordErrors.isEmpty();
+                        } else {
+                            result = invokeOnMessage(resolved, ackMessage, null, 0, msg, bListener, queueUrl,
+                                    metricsEnabled);
+                            failed = result instanceof BError;
                         }
-                        Object result = ballerinaRuntime.callMethod(
-                                nativeService.getConsumerService(),
-                                ON_MESSAGE_METHOD,
-                                meta,
-                                args);
 
                         if (autoDelete) {
-                            BObject caller = ListenerUtils.createCaller(environment, bListener, queueUrl,
-                                    new AckMessage(msg.messageId(), msg.receiptHandle()));
-                            Object err = Caller.delete(caller);
+                            Object err = deleteMessage(bListener, queueUrl, msg);
                             if (err instanceof BError) {
                                 // invoke onError for framework error
                                 invokeOnError((BError) err, bListener);
                                 callback.notifyFailure((BError) err);
                                 return;
                             }
+                            // Only a deleted message is remembered: one left in the queue, on purpose
+                            // or not, must be processed again when it is received again. Without
+                            // autoDelete, the Caller remembers the messages it deletes.
+                            if (idempotencyFilter != null && !failed) {
+                                idempotencyFilter.markProcessed(msg);
+                            }
                         }
                         callback.notifySuccess(result);
                         // only framework errors
@@ -124,10 +177,87 @@ public final class MessageDispatcher {
                 String msg = "Dispatch error: " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
                 BError err = CommonUtils.createError(msg, e);
                 callback.notifyFailure(err);
+            } finally {
+                if (metricsEnabled) {
+                    SqsMetrics.messageInFlight(queueUrl, false);
+                }
+                commit(dispatchEvent, queueUrl, message.isEmpty() ? null : message.get(0));
             }
         });
     }
 
+    /**
+     * Maps a message, or a record of an aggregated message, and invokes onMessage with it.
+     *
+     * @param ackMessage   the message to acknowledge through the Caller
+     * @param envelopeAcks the acknowledgements of the aggregated message the record belongs to,
+     *                     or null for a message of its own
+     * @param record       the position of the record in the aggregated message
+     * @param received     the message as received, remembered by the idempotency filter once deleted
+     * @return the result of onMessage
+     */
+    private Object invokeOnMessage(Message msg, AckMessage ackMessage, EnvelopeAcks envelopeAcks, int record,
+            Message received, BObject bListener, String queueUrl, boolean metricsEnabled) {
+        // convert to Ballerina record (single message)
+        SqsEvents.MessageMapping mappingEvent = new SqsEvents.MessageMapping();
+        mappingEvent.begin();
+        BMap<BString, Object> bMsg = ReceiveMessageMapper.getNativeMessage(msg);
+        commit(mappingEvent, queueUrl, msg);
+
+        // build args of length 1 or 2
+        Object[] args = getOnMessageParams(bMsg, bListener, queueUrl, ackMessage, envelopeAcks, record, received);
+
+        // invoke onMessage
+        StrandMetadata meta = nativeService.getOnMessageMetadata(TraceContext.strandProperties(msg));
+        long handlerStartTime = System.nanoTime();
+        SqsEvents.HandlerInvoke handlerEvent = new SqsEvents.HandlerInvoke();
+        handlerEvent.begin();
+        Object result = ballerinaRuntime.callMethod(
+                nativeService.getConsumerService(),
+                ON_MESSAGE_METHOD,
+                meta,
+                args);
+        commit(handlerEvent, queueUrl, msg);
+        if (metricsEnabled) {
+            SqsMetrics.recordHandler(queueUrl, System.nanoTime() - handlerStartTime);
+        }
+        return result;
+    }
+
+    /**
+     * Deletes a message without a Caller, as services that auto-delete cannot take one.
+     */
+    private static Object deleteMessage(BObject bListener, String queueUrl, Message msg) {
+        SqsClient sqsClient = (SqsClient) bListener.getNativeData(NativeClientAdaptor.NATIVE_SQS_CLIENT);
+        ClaimCheck claimCheck = (ClaimCheck) bListener.getNativeData(NativeClientAdaptor.NATIVE_CLAIM_CHECK);
+        return Caller.delete(sqsClient, queueUrl,
+                new AckMessage(msg.messageId(), msg.receiptHandle(), ClaimCheck.pointer(msg)), claimCheck);
+    }
+
+    /**
+     * Reads the offloaded body of a message back from the blob store of the listener.
+     */
+    private static Message resolve(BObject bListener, Message msg) {
+        ClaimCheck claimCheck = (ClaimCheck) bListener.getNativeData(NativeClientAdaptor.NATIVE_CLAIM_CHECK);
+        if (claimCheck == null) {
+            return msg;
+        }
+        try {
+            return claimCheck.resolve(msg);
+        } catch (IOException e) {
+            throw CommonUtils.createError(e.getMessage(), e);
+        }
+    }
+
+    private static void commit(SqsEvents.MessageEvent event, String queueUrl, Message msg) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.queueUrl = queueUrl;
+            event.messageId = msg == null ? null : msg.messageId();
+            event.commit();
+        }
+    }
+
     /**
      * Invokes the service's onError method if present.
      *
@@ -137,8 +267,7 @@ public final class MessageDispatcher {
     public void invokeOnError(BError error, BObject bListener) {
         if (nativeService.getOnErrorMethod() != null) {
             try {
-                StrandMetadata meta = new StrandMetadata(
-                        nativeService.getOnErrorMethod().isIsolated(), null);
+                StrandMetadata meta = nativeService.getOnErrorMetadata();
                 ballerinaRuntime.callMethod(
                         nativeService.getConsumerService(),
                         ON_ERROR_METHOD,
@@ -155,27 +284,30 @@ public final class MessageDispatcher {
     }
 
     /**
-     * Prepares parameters for the onMessage method call.
+     * Prepares parameters for the onMessage method call, following the parameter layout
+     * resolved when the service was attached.
      */
     private Object[] getOnMessageParams(BMap<BString, Object> bMsg,
             BObject bListener,
             String queueUrl,
-            Message msg) {
-        RemoteMethodType onMsg = nativeService.getOnMessageMethod();
-        Parameter[] params = onMsg.getParameters();
-        Object[] args = new Object[params.length];
-
-        for (int i = 0; i < params.length; i++) {
-            Type paramType = TypeUtils.getReferredType(params[i].type);
-            if (paramType.getTag() == TypeTags.RECORD_TYPE_TAG) {
-                args[i] = bMsg;
-            } else if (paramType.getTag() == TypeTags.OBJECT_TYPE_TAG) {
-                args[i] = ListenerUtils.createCaller(environment, bListener, queueUrl,
-                        new AckMessage(msg.messageId(), msg.receiptHandle()));
-            } else {
-                throw new RuntimeException(
-                        "onMessage method parameters must be of type sqs:Message or Caller object");
+            AckMessage ackMessage,
+            EnvelopeAcks envelopeAcks,
+            int record,
+            Message received) {
+        Object[] args = new Object[nativeService.getOnMessageParameterCount()];
+        args[nativeService.getMessageParameterIndex()] = bMsg;
+        int callerIndex = nativeService.getCallerParameterIndex();
+        if (callerIndex >= 0) {
+            BObject caller = ListenerUtils.createCaller(environment, bListener, queueUrl, ackMessage);
+            if (envelopeAcks != null) {
+                caller.addNativeData(Caller.NATIVE_ENVELOPE_ACKS, envelopeAcks);
+                caller.addNativeData(Caller.NATIVE_ENVELOPE_RECORD, record);
+            }
+            if (idempotencyFilter != null) {
+                caller.addNativeData(Caller.NATIVE_IDEMPOTENCY_FILTER, idempotencyFilter);
+                caller.addNativeData(Caller.NATIVE_RECEIVED_MESSAGE, received);
             }
+            args[callerIndex] = caller;
         }
         return args;
     }
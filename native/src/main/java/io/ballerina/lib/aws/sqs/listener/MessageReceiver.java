@@ -16,7 +16,10 @@
 
 package io.ballerina.lib.aws.sqs.listener;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -26,22 +29,37 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.lib.aws.sqs.claimcheck.ClaimCheck;
+import io.ballerina.lib.aws.sqs.client.NativeClientAdaptor;
+import io.ballerina.lib.aws.sqs.mappers.BinaryBody;
+import io.ballerina.lib.aws.sqs.mappers.MessageAggregation;
+import io.ballerina.lib.aws.sqs.observability.SqsEvents;
+import io.ballerina.lib.aws.sqs.observability.TraceContext;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
 public class MessageReceiver {
     private static final long STOP_TIMEOUT = 30000;
+    // The most messages a single ReceiveMessage call can return
+    private static final int MAX_MESSAGES_PER_RECEIVE = 10;
+    private static final String FIFO_QUEUE_SUFFIX = ".fifo";
 
     private final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
     private final SqsClient sqsClient;
-    private final ReceiveMessageRequest receiveRequest;
+    // Receive requests indexed by the number of messages to receive minus one
+    private final ReceiveMessageRequest[] receiveRequests;
+    // One permit per message that may be dispatched to the service at a time, shared by the
+    // receivers of all the shards of a sharded queue
+    private final Semaphore dispatchPermits;
+    private final int maxConcurrency;
     private final MessageDispatcher messageDispatcher;
     private final long pollingInterval;
     private final BObject bListener;
@@ -51,21 +69,54 @@ public class MessageReceiver {
     private ScheduledFuture<?> pollingTaskFuture;
     private Runnable stopListener;
 
+    /**
+     * Creates a receiver that polls a queue and dispatches its messages to a service.
+     *
+     * @param dispatchPermits The permits of the messages that may be dispatched at a time, shared
+     *                        with the receivers of the other shards of the queue, if any
+     * @param maxConcurrency  The number of permits, 1 for services whose onMessage method is
+     *                        not isolated
+     */
     public MessageReceiver(SqsClient sqsClient, String queueUrl, PollingConfig pollingConfig,
-            MessageDispatcher messageDispatcher, BObject bListener, boolean autoDelete) {
+            MessageDispatcher messageDispatcher, BObject bListener, boolean autoDelete, Semaphore dispatchPermits,
+            int maxConcurrency) {
         this.sqsClient = sqsClient;
         this.queueUrl = queueUrl;
         this.pollingInterval = pollingConfig.pollIntervalInMillis();
         this.bListener = bListener;
         this.messageDispatcher = messageDispatcher;
         this.autoDelete = autoDelete;
+        this.maxConcurrency = maxConcurrency;
+        this.dispatchPermits = dispatchPermits;
 
-        this.receiveRequest = ReceiveMessageRequest.builder()
+        ReceiveMessageRequest.Builder receiveRequestBuilder = ReceiveMessageRequest.builder()
                 .queueUrl(queueUrl)
-                .maxNumberOfMessages(1)
                 .waitTimeSeconds(pollingConfig.waitTime())
-                .visibilityTimeout(pollingConfig.visibilityTimeout())
-                .build();
+                .visibilityTimeout(pollingConfig.visibilityTimeout());
+        List<String> attributeNames = new ArrayList<>(5);
+        // Marks the messages whose records are to be unpacked and dispatched one by one.
+        attributeNames.add(MessageAggregation.ENVELOPE_ATTRIBUTE);
+        // Marks the messages whose body is to be decoded into bytes.
+        attributeNames.add(BinaryBody.BODY_ATTRIBUTE);
+        if (TraceContext.isEnabled()) {
+            attributeNames.add(TraceContext.ATTRIBUTE_NAMES);
+        }
+        if (bListener.getNativeData(NativeClientAdaptor.NATIVE_CLAIM_CHECK) != null) {
+            attributeNames.add(ClaimCheck.POINTER_ATTRIBUTE);
+        }
+        String idempotencyKeyAttribute = messageDispatcher.getIdempotencyKeyAttribute();
+        if (idempotencyKeyAttribute != null) {
+            attributeNames.add(idempotencyKeyAttribute);
+        }
+        receiveRequestBuilder.messageAttributeNames(attributeNames);
+        if (queueUrl.endsWith(FIFO_QUEUE_SUFFIX)) {
+            // Identifies the messages to process in order, one after the other.
+            receiveRequestBuilder.messageSystemAttributeNames(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+        }
+        this.receiveRequests = new ReceiveMessageRequest[Math.min(maxConcurrency, MAX_MESSAGES_PER_RECEIVE)];
+        for (int i = 0; i < receiveRequests.length; i++) {
+            receiveRequests[i] = receiveRequestBuilder.maxNumberOfMessages(i + 1).build();
+        }
     }
 
     private void poll() {
@@ -73,23 +124,46 @@ public class MessageReceiver {
             if (closed.get())
                 return;
 
-            ReceiveMessageResponse response = sqsClient.receiveMessage(receiveRequest);
-            if (!response.hasMessages())
+            // Receive only as many messages as can be dispatched right away, so that none waits
+            // for a permit while its visibility timeout runs down.
+            int permits = acquireDispatchPermits();
+            if (permits == 0) {
                 return;
+            }
+            ReceiveMessageResponse response;
+            try {
+                SqsEvents.Receive receiveEvent = new SqsEvents.Receive();
+                receiveEvent.begin();
+                response = sqsClient.receiveMessage(receiveRequests[permits - 1]);
+                receiveEvent.end();
+                if (receiveEvent.shouldCommit()) {
+                    receiveEvent.queueUrl = queueUrl;
+                    receiveEvent.batchSize = response.messages().size();
+                    receiveEvent.commit();
+                }
+            } catch (Exception e) {
+                dispatchPermits.release(permits);
+                throw e;
+            }
+            List<Message> messages = response.messages();
+            dispatchPermits.release(permits - messages.size());
 
-            for (Message message : response.messages()) {
-                Semaphore semaphore = new Semaphore(0);
-                OnMsgCallback callback = new OnMsgCallback(semaphore);
-                messageDispatcher.dispatch(List.of(message), bListener, queueUrl, autoDelete, callback);
-                try {
-                    semaphore.acquire();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    CommonUtils.createError("Message processing interrupted", e);
-                    this.pollingTaskFuture.cancel(false);
-                    return;
+            // Each dispatch returns its permit once the message is processed. Isolated services
+            // are thus invoked concurrently, while the others are invoked one message at a time.
+            // The messages of a FIFO message group are still processed one after the other, in order.
+            Map<String, List<Message>> groups = new LinkedHashMap<>();
+            OnMsgCallback callback = new OnMsgCallback(dispatchPermits);
+            for (Message message : messages) {
+                String groupId = message.attributes().get(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+                if (groupId == null) {
+                    messageDispatcher.dispatch(List.of(message), bListener, queueUrl, autoDelete, callback);
+                } else {
+                    groups.computeIfAbsent(groupId, id -> new ArrayList<>()).add(message);
                 }
             }
+            for (List<Message> group : groups.values()) {
+                dispatchInOrder(group, 0);
+            }
         } catch (QueueDoesNotExistException e) {
             String msg = "Polling Error: " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
             BError error = CommonUtils.createError(msg);
@@ -109,6 +183,35 @@ public class MessageReceiver {
         }
     }
 
+    /**
+     * Dispatches the messages of a message group from the given one on, each once the previous
+     * one is processed. A receive may return several messages of a group, in their order.
+     */
+    private void dispatchInOrder(List<Message> group, int index) {
+        Runnable next = index + 1 < group.size() ? () -> dispatchInOrder(group, index + 1) : null;
+        messageDispatcher.dispatch(List.of(group.get(index)), bListener, queueUrl, autoDelete,
+                new OnMsgCallback(dispatchPermits, next));
+    }
+
+    /**
+     * Waits for a dispatch permit, then takes the other free ones up to a receive's worth.
+     *
+     * @return The number of permits taken, 0 if interrupted while waiting
+     */
+    private int acquireDispatchPermits() {
+        try {
+            dispatchPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        int permits = 1;
+        while (permits < receiveRequests.length && dispatchPermits.tryAcquire()) {
+            permits++;
+        }
+        return permits;
+    }
+
     public void consume() {
         this.pollingTaskFuture = this.executorService.scheduleAtFixedRate(
                 this::poll, 0, this.pollingInterval, TimeUnit.MILLISECONDS);
@@ -119,6 +222,25 @@ public class MessageReceiver {
     }
 
     public void stop() throws Exception {
+        stopPolling();
+        awaitDispatched();
+    }
+
+    /**
+     * Stops the receivers of all the shards of a queue, then waits for the messages they
+     * dispatched. Polling is stopped on every shard first, since the receivers share their
+     * dispatch permits.
+     */
+    static void stop(List<MessageReceiver> receivers) {
+        for (MessageReceiver receiver : receivers) {
+            receiver.stopPolling();
+        }
+        if (!receivers.isEmpty()) {
+            receivers.get(0).awaitDispatched();
+        }
+    }
+
+    private void stopPolling() {
         closed.set(true);
         if (Objects.nonNull(this.pollingTaskFuture) && !this.pollingTaskFuture.isCancelled()) {
             this.pollingTaskFuture.cancel(true);
@@ -135,6 +257,19 @@ public class MessageReceiver {
         }
     }
 
+    /**
+     * Lets the messages still being processed finish, as polling does not wait for them.
+     */
+    private void awaitDispatched() {
+        try {
+            if (this.dispatchPermits.tryAcquire(maxConcurrency, STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                this.dispatchPermits.release(maxConcurrency);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public boolean isClosed() {
         return closed.get();
     }
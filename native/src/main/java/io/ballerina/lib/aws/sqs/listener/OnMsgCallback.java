@@ -16,15 +16,23 @@
 
 package io.ballerina.lib.aws.sqs.listener;
 
+import java.util.List;
 import java.util.concurrent.Semaphore;
 
 import io.ballerina.runtime.api.values.BError;
 
 public class OnMsgCallback {
     private final Semaphore semaphore;
+    // Dispatches the next message of the same message group, if any
+    private final Runnable next;
 
     public OnMsgCallback(Semaphore semaphore) {
+        this(semaphore, null);
+    }
+
+    OnMsgCallback(Semaphore semaphore, Runnable next) {
         this.semaphore = semaphore;
+        this.next = next;
     }
 
     public void notifySuccess(Object result) {
@@ -32,10 +40,26 @@ public class OnMsgCallback {
         if (result instanceof BError bError) {
             bError.printStackTrace();
         }
+        dispatchNext();
     }
 
     public void notifyFailure(BError bError) {
         semaphore.release();
         bError.printStackTrace();
+        dispatchNext();
+    }
+
+    /**
+     * Reports the errors returned by onMessage for the records of an aggregated message, each
+     * once. The message itself is notified afterwards, as any other.
+     */
+    public void notifyRecordErrors(List<BError> recordErrors) {
+        recordErrors.forEach(BError::printStackTrace);
+    }
+
+    private void dispatchNext() {
+        if (next != null) {
+            next.run();
+        }
     }
 }
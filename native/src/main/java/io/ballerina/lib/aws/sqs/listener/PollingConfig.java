@@ -16,6 +16,7 @@
 
 package io.ballerina.lib.aws.sqs.listener;
 
+import io.ballerina.lib.aws.sqs.CommonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BMap;
@@ -28,11 +29,13 @@ import io.ballerina.runtime.api.values.BString;
 public record PollingConfig(
         double pollInterval,
         int waitTime,
-        int visibilityTimeout) {
+        int visibilityTimeout,
+        int maxConcurrency) {
 
     static final BString POLL_INTERVAL = StringUtils.fromString("pollInterval");
     static final BString WAIT_TIME = StringUtils.fromString("waitTime");
     static final BString VISIBILITY_TIMEOUT = StringUtils.fromString("visibilityTimeout");
+    static final BString MAX_CONCURRENCY = StringUtils.fromString("maxConcurrency");
 
     /**
      * Creates polling configuration from Ballerina config map.
@@ -43,7 +46,14 @@ public record PollingConfig(
         this(
                 ((BDecimal) config.get(POLL_INTERVAL)).value().doubleValue(),
                 config.getIntValue(WAIT_TIME).intValue(),
-                config.getIntValue(VISIBILITY_TIMEOUT).intValue());
+                config.getIntValue(VISIBILITY_TIMEOUT).intValue(),
+                config.getIntValue(MAX_CONCURRENCY).intValue());
+    }
+
+    public PollingConfig {
+        if (maxConcurrency < 1) {
+            throw CommonUtils.createError("Invalid polling configuration : maxConcurrency must be at least 1.");
+        }
     }
 
     public long pollIntervalInMillis() {
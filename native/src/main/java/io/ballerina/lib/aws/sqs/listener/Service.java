@@ -17,6 +17,7 @@
 package io.ballerina.lib.aws.sqs.listener;
 
 import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.runtime.api.concurrent.StrandMetadata;
 import io.ballerina.runtime.api.types.Parameter;
 import io.ballerina.runtime.api.types.RemoteMethodType;
 import io.ballerina.runtime.api.types.ServiceType;
@@ -33,6 +34,7 @@ import static io.ballerina.lib.aws.sqs.ModuleUtils.getModule;
 import static io.ballerina.runtime.api.constants.RuntimeConstants.ORG_NAME_SEPARATOR;
 import static io.ballerina.runtime.api.constants.RuntimeConstants.VERSION_SEPARATOR;
 
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -57,6 +59,13 @@ public final class Service {
     private final RemoteMethodType onMessage;
     private final RemoteMethodType onError;
 
+    // onMessage parameter layout and strand metadata, resolved once instead of per message
+    private final int onMessageParameterCount;
+    private final int messageParameterIndex;
+    private final int callerParameterIndex;
+    private final StrandMetadata onMessageMetadata;
+    private final StrandMetadata onErrorMetadata;
+
     /**
      * Creates a new Service instance from a Ballerina service object.
      * Validates the service structure and extracts configuration.
@@ -84,6 +93,23 @@ public final class Service {
         }
         this.onMessage = foundOnMessage;
         this.onError = foundOnError;
+
+        int messageIndex = -1;
+        int callerIndex = -1;
+        Parameter[] parameters = foundOnMessage != null ? foundOnMessage.getParameters() : new Parameter[0];
+        for (int i = 0; i < parameters.length; i++) {
+            int tag = TypeUtils.getReferredType(parameters[i].type).getTag();
+            if (tag == TypeTags.RECORD_TYPE_TAG) {
+                messageIndex = i;
+            } else if (tag == TypeTags.OBJECT_TYPE_TAG) {
+                callerIndex = i;
+            }
+        }
+        this.onMessageParameterCount = parameters.length;
+        this.messageParameterIndex = messageIndex;
+        this.callerParameterIndex = callerIndex;
+        this.onMessageMetadata = new StrandMetadata(foundOnMessage != null && foundOnMessage.isIsolated(), null);
+        this.onErrorMetadata = new StrandMetadata(foundOnError != null && foundOnError.isIsolated(), null);
     }
 
     /**
@@ -210,6 +236,45 @@ public final class Service {
         return method != null && method.isIsolated();
     }
 
+    /**
+     * Returns the number of parameters of the onMessage method.
+     */
+    public int getOnMessageParameterCount() {
+        return onMessageParameterCount;
+    }
+
+    /**
+     * Returns the position of the `sqs:Message` parameter of the onMessage method.
+     */
+    public int getMessageParameterIndex() {
+        return messageParameterIndex;
+    }
+
+    /**
+     * Returns the position of the `sqs:Caller` parameter of the onMessage method, or -1 if it
+     * has none.
+     */
+    public int getCallerParameterIndex() {
+        return callerParameterIndex;
+    }
+
+    /**
+     * Returns the strand metadata to invoke onMessage with. The shared instance is used unless
+     * the message carries strand properties, such as a propagated trace context.
+     *
+     * @param properties The strand properties of the message, or null if it has none
+     */
+    public StrandMetadata getOnMessageMetadata(Map<String, Object> properties) {
+        if (properties == null) {
+            return onMessageMetadata;
+        }
+        return new StrandMetadata(onMessageMetadata.isConcurrentSafe(), properties);
+    }
+
+    public StrandMetadata getOnErrorMetadata() {
+        return onErrorMetadata;
+    }
+
     public ServiceConfig getServiceConfig() {
         return serviceConfig;
     }
@@ -16,20 +16,30 @@
 
 package io.ballerina.lib.aws.sqs.listener;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
 
 /**
  * Represents the configuration for an SQS service.
  * Maps the Ballerina ServiceConfig annotation values to Java.
- * Handles queue URL, polling configuration, and acknowledgment behavior.
+ * Handles queue URLs, polling configuration, acknowledgment behavior and the filtering of
+ * redelivered messages. A service consumes a single queue, or all the shards of a sharded
+ * queue.
  */
-public record ServiceConfig(String queueUrl, PollingConfig pollingConfig, boolean autoDelete) {
+public record ServiceConfig(List<String> queueUrls, PollingConfig pollingConfig, boolean autoDelete,
+        IdempotencyConfig idempotency) {
 
     static final BString QUEUE_URL = StringUtils.fromString("queueUrl");
     static final BString CONFIG = StringUtils.fromString("config");
     static final BString AUTO_DELETE = StringUtils.fromString("autoDelete");
+    static final BString IDEMPOTENCY = StringUtils.fromString("idempotency");
 
     /**
      * Creates a service configuration from Ballerina config map.
@@ -38,10 +48,38 @@ public record ServiceConfig(String queueUrl, PollingConfig pollingConfig, boolea
      */
     @SuppressWarnings("unchecked")
     public ServiceConfig(BMap<BString, Object> config) {
-        this(config.getStringValue(QUEUE_URL).getValue(),
+        this(queueUrls(config.get(QUEUE_URL)),
                 config.containsKey(CONFIG) && config.get(CONFIG) != null
                         ? new PollingConfig((BMap<BString, Object>) config.get(CONFIG))
                         : null,
-                config.containsKey(AUTO_DELETE) && config.getBooleanValue(AUTO_DELETE));
+                config.containsKey(AUTO_DELETE) && config.getBooleanValue(AUTO_DELETE),
+                config.get(IDEMPOTENCY) != null
+                        ? new IdempotencyConfig((BMap<BString, Object>) config.get(IDEMPOTENCY))
+                        : null);
+    }
+
+    /**
+     * Returns the URL identifying the service's queue: its first shard for a sharded queue.
+     */
+    public String queueUrl() {
+        return queueUrls.get(0);
+    }
+
+    private static List<String> queueUrls(Object queueUrl) {
+        if (queueUrl instanceof BString url) {
+            return List.of(url.getValue());
+        }
+        BArray shardUrls = (BArray) queueUrl;
+        List<String> urls = new ArrayList<>(shardUrls.size());
+        for (int i = 0; i < shardUrls.size(); i++) {
+            urls.add(shardUrls.getBString(i).getValue());
+        }
+        if (urls.isEmpty()) {
+            throw CommonUtils.createError("Failed to attach service : A sharded queue requires at least one shard.");
+        }
+        if (new HashSet<>(urls).size() != urls.size()) {
+            throw CommonUtils.createError("Failed to attach service : The shards of a sharded queue must be distinct.");
+        }
+        return List.copyOf(urls);
     }
 }
@@ -0,0 +1,69 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.mappers;
+
+import java.util.Base64;
+
+import io.ballerina.runtime.api.values.BArray;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Carries binary message bodies, which SQS only accepts as text.
+ *
+ * <p>The body is sent encoded in base64, and marked by a message attribute, so that receives
+ * decode it back into bytes. The encoding and decoding are done natively, straight from and
+ * into the Ballerina byte arrays.
+ */
+public final class BinaryBody {
+
+    public static final String BODY_ATTRIBUTE = "sqs.binary";
+    private static final String ENCODING = "base64";
+    private static final MessageAttributeValue MARKER = MessageAttributeValue.builder()
+            .dataType("String")
+            .stringValue(ENCODING)
+            .build();
+
+    private BinaryBody() {
+    }
+
+    static String encode(BArray body) {
+        return Base64.getEncoder().encodeToString(body.getBytes());
+    }
+
+    static MessageAttributeValue marker() {
+        return MARKER;
+    }
+
+    /**
+     * Decodes the body of a message marked as binary.
+     *
+     * @return The decoded body, or {@code null} if the message is not marked as binary or its body
+     * is not valid base64, in which case it is left to the application as text
+     */
+    static byte[] decode(Message message) {
+        MessageAttributeValue marker = message.messageAttributes().get(BODY_ATTRIBUTE);
+        if (marker == null || !ENCODING.equals(marker.stringValue()) || message.body() == null) {
+            return null;
+        }
+        try {
+            return Base64.getDecoder().decode(message.body());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.mappers;
+
+import java.util.Map;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Computes message deduplication IDs of FIFO messages from their content, for queues that do
+ * not have content-based deduplication enabled.
+ *
+ * <p>The ID is the 128-bit MurmurHash3 (x64 variant) of the body and of the selected message
+ * attributes, as 32 hexadecimal digits. The hash is computed over the UTF-16 code units of the
+ * strings, read straight from them, so that hashing a body neither encodes nor copies it. Each
+ * string is preceded by its length, so that different contents cannot produce the same input.
+ * Binary attribute values are hashed the same way, two bytes to a code unit.
+ * MurmurHash3 is not a cryptographic hash: messages crafted to collide would be deduplicated.
+ */
+final class ContentDeduplication {
+
+    private static final BString ATTRIBUTES = StringUtils.fromString("attributes");
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // Marks a selected attribute that the message does not have
+    private static final int ABSENT = -1;
+
+    private long h1;
+    private long h2;
+    // Code units not yet mixed in, up to a 16-byte block
+    private long k1;
+    private long k2;
+    private int pending;
+    private long length;
+
+    private ContentDeduplication() {
+    }
+
+    /**
+     * Computes the deduplication ID of a message.
+     *
+     * @param config     The Ballerina content deduplication configuration
+     * @param body       The message body
+     * @param attributes The message attributes, or null if the message has none
+     * @return The deduplication ID
+     */
+    static String deduplicationId(BMap<BString, Object> config, String body,
+            Map<String, MessageAttributeValue> attributes) {
+        ContentDeduplication hash = new ContentDeduplication();
+        hash.putString(body);
+        BArray attributeNames = config.getArrayValue(ATTRIBUTES);
+        for (int i = 0; i < attributeNames.size(); i++) {
+            String name = attributeNames.getBString(i).getValue();
+            MessageAttributeValue value = attributes != null ? attributes.get(name) : null;
+            hash.putString(name);
+            if (value == null) {
+                hash.putInt(ABSENT);
+                continue;
+            }
+            hash.putString(value.dataType());
+            hash.putString(value.stringValue());
+            if (value.binaryValue() != null) {
+                hash.putBytes(value.binaryValue().asByteArrayUnsafe());
+            }
+        }
+        return hash.toHex();
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            putInt(ABSENT);
+            return;
+        }
+        int count = value.length();
+        putInt(count);
+        int i = 0;
+        while (i < count && pending != 0) {
+            putChar(value.charAt(i++));
+        }
+        // Mix whole blocks of 8 code units directly, without going through the pending block.
+        for (; i + 8 <= count; i += 8) {
+            mixBlock(block(value, i), block(value, i + 4));
+            length += 16;
+        }
+        while (i < count) {
+            putChar(value.charAt(i++));
+        }
+    }
+
+    private void putBytes(byte[] value) {
+        putInt(value.length);
+        for (int i = 0; i < value.length; i += 2) {
+            int high = i + 1 < value.length ? value[i + 1] & 0xff : 0;
+            putChar((char) ((value[i] & 0xff) | high << 8));
+        }
+    }
+
+    private void putInt(int value) {
+        putChar((char) value);
+        putChar((char) (value >>> 16));
+    }
+
+    private void putChar(char c) {
+        long shifted = (long) c << ((pending & 3) * 16);
+        if (pending < 4) {
+            k1 |= shifted;
+        } else {
+            k2 |= shifted;
+        }
+        length += 2;
+        if (++pending == 8) {
+            mixBlock(k1, k2);
+            k1 = 0;
+            k2 = 0;
+            pending = 0;
+        }
+    }
+
+    private static long block(String value, int index) {
+        return value.charAt(index)
+                | (long) value.charAt(index + 1) << 16
+                | (long) value.charAt(index + 2) << 32
+                | (long) value.charAt(index + 3) << 48;
+    }
+
+    private void mixBlock(long b1, long b2) {
+        h1 ^= Long.rotateLeft(b1 * C1, 31) * C2;
+        h1 = Long.rotateLeft(h1, 27) + h2;
+        h1 = h1 * 5 + 0x52dce729;
+        h2 ^= Long.rotateLeft(b2 * C2, 33) * C1;
+        h2 = Long.rotateLeft(h2, 31) + h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private String toHex() {
+        if (pending > 4) {
+            h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+        }
+        if (pending > 0) {
+            h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        char[] hex = new char[32];
+        for (int i = 0; i < 16; i++) {
+            int b = (int) ((i < 8 ? h1 >>> (56 - i * 8) : h2 >>> (120 - i * 8)) & 0xff);
+            hex[i * 2] = HEX_DIGITS[b >>> 4];
+            hex[i * 2 + 1] = HEX_DIGITS[b & 0xf];
+        }
+        return new String(hex);
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
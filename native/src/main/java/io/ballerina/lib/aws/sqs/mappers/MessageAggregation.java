@@ -0,0 +1,225 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.mappers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.runtime.api.values.BArray;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Packs many small records into the body of a single SQS message, an envelope, and unpacks
+ * them on receive.
+ *
+ * <p>Each record is framed as its length, in UTF-16 code units, in decimal, followed by a
+ * colon and the record itself, so that records may hold any character. An envelope is marked
+ * by a message attribute holding its number of records. Its records share its receipt handle:
+ * deleting any of them deletes the envelope, and thus all of them.
+ */
+public final class MessageAggregation {
+
+    public static final String ENVELOPE_ATTRIBUTE = "sqs.aggregated";
+    // The largest message, body and attributes included, accepted by SQS
+    public static final int MAX_MESSAGE_SIZE = 256 * 1024;
+    private static final String NUMBER = "Number";
+    private static final char SEPARATOR = ':';
+    private static final String RECORD_ID_SEPARATOR = "#";
+
+    private MessageAggregation() {
+    }
+
+    /**
+     * Packs records into as few envelope bodies as possible, in order.
+     *
+     * @param records  The records to pack
+     * @param maxBytes The maximum size of an envelope body, in UTF-8 bytes
+     * @return The envelopes
+     * @throws IllegalArgumentException if a record does not fit in an envelope on its own
+     */
+    public static List<Envelope> pack(BArray records, int maxBytes) {
+        List<Envelope> envelopes = new ArrayList<>();
+        StringBuilder envelope = new StringBuilder();
+        int envelopeBytes = 0;
+        int recordCount = 0;
+        for (int i = 0; i < records.size(); i++) {
+            String record = records.getBString(i).getValue();
+            String length = Integer.toString(record.length());
+            int recordBytes = length.length() + 1 + utf8Length(record);
+            if (recordBytes > maxBytes) {
+                throw new IllegalArgumentException("record " + i + " does not fit in a message of " + maxBytes
+                        + " bytes");
+            }
+            if (envelopeBytes + recordBytes > maxBytes) {
+                envelopes.add(new Envelope(envelope.toString(), recordCount));
+                envelope.setLength(0);
+                envelopeBytes = 0;
+                recordCount = 0;
+            }
+            envelope.append(length).append(SEPARATOR).append(record);
+            envelopeBytes += recordBytes;
+            recordCount++;
+        }
+        if (recordCount > 0) {
+            envelopes.add(new Envelope(envelope.toString(), recordCount));
+        }
+        return envelopes;
+    }
+
+    /**
+     * Returns the attribute marking an envelope of the given number of records.
+     */
+    public static MessageAttributeValue envelopeAttribute(int recordCount) {
+        return MessageAttributeValue.builder()
+                .dataType(NUMBER)
+                .stringValue(Integer.toString(recordCount))
+                .build();
+    }
+
+    /**
+     * Returns the size that the given message attributes take up in a message, as counted by SQS.
+     */
+    public static int attributesSize(Map<String, MessageAttributeValue> attributes) {
+        int size = 0;
+        for (Map.Entry<String, MessageAttributeValue> attribute : attributes.entrySet()) {
+            MessageAttributeValue value = attribute.getValue();
+            size += utf8Length(attribute.getKey()) + utf8Length(value.dataType());
+            if (value.stringValue() != null) {
+                size += utf8Length(value.stringValue());
+            }
+            if (value.binaryValue() != null) {
+                size += value.binaryValue().asByteArrayUnsafe().length;
+            }
+        }
+        return size;
+    }
+
+    public static boolean isEnvelope(Message message) {
+        return message.messageAttributes().containsKey(ENVELOPE_ATTRIBUTE);
+    }
+
+    /**
+     * Replaces the envelopes among the given messages by their records. A malformed envelope
+     * is left as it is, for the application to handle.
+     */
+    public static List<Message> unpackAll(List<Message> messages) {
+        List<Message> unpacked = null;
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            if (unpacked == null && isEnvelope(message)) {
+                unpacked = new ArrayList<>(messages.subList(0, i));
+            }
+            if (unpacked != null) {
+                unpacked.addAll(isEnvelope(message) ? unpackOrKeep(message) : List.of(message));
+            }
+        }
+        return unpacked == null ? messages : unpacked;
+    }
+
+    /**
+     * Unpacks the records of an envelope. Each record is a message of its own, with the
+     * attributes of the envelope, an ID made of the envelope's ID and the record's position, and
+     * the receipt handle of the envelope.
+     *
+     * @param envelope The envelope
+     * @return The records, in the order they were packed
+     * @throws IllegalArgumentException if the envelope body is not framed as expected
+     */
+    public static List<Message> unpack(Message envelope) {
+        String body = envelope.body();
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(envelope.messageAttributes());
+        MessageAttributeValue countAttribute = attributes.remove(ENVELOPE_ATTRIBUTE);
+        List<Message> records = new ArrayList<>(parseCount(countAttribute));
+        int offset = 0;
+        while (offset < body.length()) {
+            int separator = body.indexOf(SEPARATOR, offset);
+            if (separator < 0) {
+                throw malformed(envelope);
+            }
+            int end;
+            try {
+                end = Math.addExact(separator + 1, Integer.parseInt(body, offset, separator, 10));
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw malformed(envelope);
+            }
+            if (end > body.length() || end < separator + 1) {
+                throw malformed(envelope);
+            }
+            String record = body.substring(separator + 1, end);
+            records.add(envelope.toBuilder()
+                    .messageId(envelope.messageId() + RECORD_ID_SEPARATOR + records.size())
+                    .body(record)
+                    .md5OfBody(CommonUtils.md5(record))
+                    .md5OfMessageAttributes(null)
+                    .messageAttributes(records.isEmpty() ? attributes
+                            : ReceiveMessageMapper.copyBinaryValues(attributes))
+                    .build());
+            offset = end;
+        }
+        return records;
+    }
+
+    private static List<Message> unpackOrKeep(Message envelope) {
+        try {
+            return unpack(envelope);
+        } catch (IllegalArgumentException e) {
+            return List.of(envelope);
+        }
+    }
+
+    private static int parseCount(MessageAttributeValue countAttribute) {
+        try {
+            // Only a capacity hint, bounded in case the attribute was forged
+            return Math.min(Math.max(Integer.parseInt(countAttribute.stringValue()), 0), MAX_MESSAGE_SIZE / 2);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static IllegalArgumentException malformed(Message envelope) {
+        return new IllegalArgumentException("malformed aggregated message: " + envelope.messageId());
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * The body of an envelope, along with the number of records it holds.
+     */
+    public record Envelope(String body, int recordCount) {
+    }
+}
@@ -17,6 +17,7 @@
 package io.ballerina.lib.aws.sqs.mappers;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +30,7 @@ import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
@@ -44,6 +46,7 @@ public final class ReceiveMessageMapper {
     private static final BString MESSAGE_SYSTEM_ATTRIBUTE_NAMES = StringUtils.fromString("messageSystemAttributeNames");
     private static final String MESSAGE_RECORD = "Message";
     private static final BString BODY = StringUtils.fromString("body");
+    private static final BString BINARY_BODY = StringUtils.fromString("binaryBody");
     private static final BString MD5_OF_MESSAGE_ATTRIBUTES = StringUtils.fromString("md5OfMessageAttributes");
     private static final BString RECEIPT_HANDLE = StringUtils.fromString("receiptHandle");
     private static final BString MESSAGE_ID = StringUtils.fromString("messageId");
@@ -68,6 +71,21 @@ public final class ReceiveMessageMapper {
     private ReceiveMessageMapper() {
     }
 
+    /**
+     * Adds a message attribute to those requested by a receive, unless all the attributes are
+     * requested already.
+     */
+    public static ReceiveMessageRequest requestAttribute(ReceiveMessageRequest request, String name) {
+        List<String> names = request.messageAttributeNames();
+        if (names.contains("All") || names.contains(".*") || names.contains(name)) {
+            return request;
+        }
+        List<String> requested = new ArrayList<>(names.size() + 1);
+        requested.addAll(names);
+        requested.add(name);
+        return request.toBuilder().messageAttributeNames(requested).build();
+    }
+
     public static ReceiveMessageRequest getNativeReceiveMessageRequest(BString queueUrl,
             BMap<BString, Object> receiveMessageConfig) {
         ReceiveMessageRequest.Builder builder = ReceiveMessageRequest.builder()
@@ -105,94 +123,43 @@ public final class ReceiveMessageMapper {
     }
 
     public static BArray getNativeReceiveMessageResponse(ReceiveMessageResponse response) {
-        List<Message> messages = response.messages();
+        List<Message> messages = MessageAggregation.unpackAll(response.messages());
         Type recordType = ValueCreator.createRecordValue(ModuleUtils.getModule(), MESSAGE_RECORD).getType();
         BArray resultArr = ValueCreator.createArrayValue(TypeCreator.createArrayType(recordType));
-        int i = 0;
-        for (Message msg : messages) {
-            BMap<BString, Object> msgRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(), MESSAGE_RECORD);
-            msgRecord.put(BODY, StringUtils.fromString(msg.body()));
-            msgRecord.put(MD5_OF_BODY, StringUtils.fromString(msg.md5OfBody()));
-            msgRecord.put(MD5_OF_MESSAGE_ATTRIBUTES, StringUtils.fromString(msg.md5OfMessageAttributes()));
-            msgRecord.put(MESSAGE_ID, StringUtils.fromString(msg.messageId()));
-            msgRecord.put(RECEIPT_HANDLE, StringUtils.fromString(msg.receiptHandle()));
-
-            Map<String, MessageAttributeValue> messageAttributes = msg
-                    .messageAttributes();
-            if (!messageAttributes.isEmpty()) {
-                Type attrRecordType = ValueCreator.createRecordValue(ModuleUtils.getModule(), MESSAGE_ATTRIBUTE_VALUE)
-                        .getType();
-                Type mapType = TypeCreator.createMapType(attrRecordType);
-                BMap<BString, Object> msgAttributes = ValueCreator.createMapValue((MapType) mapType);
+        for (int i = 0; i < messages.size(); i++) {
+            resultArr.add(i, getNativeMessage(messages.get(i)));
+        }
+        return resultArr;
+    }
 
-                for (Map.Entry<String, software.amazon.awssdk.services.sqs.model.MessageAttributeValue> entry : messageAttributes
-                        .entrySet()) {
-                    software.amazon.awssdk.services.sqs.model.MessageAttributeValue attrVal = entry.getValue();
-                    BMap<BString, Object> attrRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(),
-                            MESSAGE_ATTRIBUTE_VALUE);
-                    attrRecord.put(DATA_TYPE, StringUtils.fromString(attrVal.dataType()));
-                    if (attrVal.stringValue() != null) {
-                        attrRecord.put(STRING_VALUE,
-                                StringUtils.fromString(attrVal.stringValue()));
-                    }
-                    if (attrVal.binaryValue() != null) {
-                        attrRecord.put(BINARY_VALUE,
-                                ValueCreator.createArrayValue(attrVal.binaryValue().asByteArray()));
-                    }
-                    msgAttributes.put(StringUtils.fromString(entry.getKey()), attrRecord);
-                }
-                msgRecord.put(MESSAGE_ATTRIBUTES, msgAttributes);
+    /**
+     * Returns attributes whose binary values are copies of the given ones, for a message that is
+     * to share them with another, as the mapping to Ballerina hands the bytes over without a copy.
+     */
+    public static Map<String, MessageAttributeValue> copyBinaryValues(Map<String, MessageAttributeValue> attributes) {
+        Map<String, MessageAttributeValue> copy = null;
+        for (Map.Entry<String, MessageAttributeValue> attribute : attributes.entrySet()) {
+            MessageAttributeValue value = attribute.getValue();
+            if (value.binaryValue() == null) {
+                continue;
             }
-            Map<String, String> systemAttrs = msg.attributesAsStrings();
-            if (!systemAttrs.isEmpty()) {
-                BMap<BString, Object> msgSystemAttributes = ValueCreator.createRecordValue(
-                        ModuleUtils.getModule(), "MessageAttributes");
-                if (systemAttrs.containsKey("MessageGroupId")) {
-                    msgSystemAttributes.put(MESSAGE_GROUP_ID,
-                            StringUtils.fromString(systemAttrs.get("MessageGroupId")));
-                }
-                if (systemAttrs.containsKey("SenderId")) {
-                    msgSystemAttributes.put(SENDER_ID,
-                            StringUtils.fromString(systemAttrs.get("SenderId")));
-                }
-                if (systemAttrs.containsKey("SentTimestamp")) {
-                    msgSystemAttributes.put(SENT_TIMESTAMP,
-                            Long.parseLong(systemAttrs.get("SentTimestamp")));
-                }
-                if (systemAttrs.containsKey("SequenceNumber")) {
-                    msgSystemAttributes.put(SEQUENCE_NUMBER,
-                            StringUtils.fromString(systemAttrs.get("SequenceNumber")));
-                }
-                if (systemAttrs.containsKey("ApproximateReceiveCount")) {
-                    msgSystemAttributes.put(APPROXIMATE_RECEIVE_COUNT,
-                            Integer.parseInt(systemAttrs.get("ApproximateReceiveCount")));
-                }
-                if (systemAttrs.containsKey("ApproximateFirstReceiveTimestamp")) {
-                    msgSystemAttributes.put(APPROXIMATE_FIRST_RECEIVE_TIMESTAMP,
-                            Long.parseLong(systemAttrs.get("ApproximateFirstReceiveTimestamp")));
-                }
-                if (systemAttrs.containsKey("AWSTraceHeader")) {
-                    msgSystemAttributes.put(AWS_TRACE_HEADER,
-                            StringUtils.fromString(systemAttrs.get("AWSTraceHeader")));
-                }
-                if (systemAttrs.containsKey("MessageDeduplicationId")) {
-                    msgSystemAttributes.put(MESSAGE_DEDUPLICATION_ID,
-                            StringUtils.fromString(systemAttrs.get("MessageDeduplicationId")));
-                }
-                if (systemAttrs.containsKey("DeadLetterQueueSourceArn")) {
-                    msgSystemAttributes.put(DEAD_LETTER_QUEUE_SOURCE_ARN,
-                            StringUtils.fromString(systemAttrs.get("DeadLetterQueueSourceArn")));
-                }
-                msgRecord.put(MESSAGE_SYSTEM_ATTRIBUTES, msgSystemAttributes);
+            if (copy == null) {
+                copy = new HashMap<>(attributes);
             }
-            resultArr.add(i++, msgRecord);
+            copy.put(attribute.getKey(), value.toBuilder()
+                    .binaryValue(SdkBytes.fromByteArray(value.binaryValue().asByteArrayUnsafe()))
+                    .build());
         }
-        return resultArr;
+        return copy != null ? copy : attributes;
     }
 
     public static BMap<BString, Object> getNativeMessage(Message msg) {
         BMap<BString, Object> msgRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(), MESSAGE_RECORD);
         msgRecord.put(BODY, StringUtils.fromString(msg.body()));
+        byte[] binaryBody = BinaryBody.decode(msg);
+        if (binaryBody != null) {
+            msgRecord.put(BINARY_BODY, ValueCreator.createArrayValue(binaryBody));
+        }
         msgRecord.put(MD5_OF_BODY, StringUtils.fromString(msg.md5OfBody()));
         msgRecord.put(MD5_OF_MESSAGE_ATTRIBUTES, StringUtils.fromString(msg.md5OfMessageAttributes()));
         msgRecord.put(MESSAGE_ID, StringUtils.fromString(msg.messageId()));
@@ -206,6 +173,9 @@ public final class ReceiveMessageMapper {
             BMap<BString, Object> msgAttributes = ValueCreator.createMapValue((MapType) mapType);
 
             for (Map.Entry<String, MessageAttributeValue> entry : messageAttributes.entrySet()) {
+                if (binaryBody != null && entry.getKey().equals(BinaryBody.BODY_ATTRIBUTE)) {
+                    continue;
+                }
                 MessageAttributeValue attrVal = entry.getValue();
                 BMap<BString, Object> attrRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(),
                         MESSAGE_ATTRIBUTE_VALUE);
@@ -214,7 +184,9 @@ public final class ReceiveMessageMapper {
                     attrRecord.put(STRING_VALUE, StringUtils.fromString(attrVal.stringValue()));
                 }
                 if (attrVal.binaryValue() != null) {
-                    attrRecord.put(BINARY_VALUE, ValueCreator.createArrayValue(attrVal.binaryValue().asByteArray()));
+                    // Each received message owns its bytes, which are hence handed over without a copy.
+                    attrRecord.put(BINARY_VALUE,
+                            ValueCreator.createArrayValue(attrVal.binaryValue().asByteArrayUnsafe()));
                 }
                 msgAttributes.put(StringUtils.fromString(entry.getKey()), attrRecord);
             }
@@ -17,7 +17,6 @@
 package io.ballerina.lib.aws.sqs.mappers;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,9 +54,8 @@ public final class SendMessageBatchMapper {
     private static final BString AWS_TRACE_HEADER = StringUtils.fromString("awsTraceHeader");
     private static final BString MESSAGE_DEDUPLICATION_ID = StringUtils.fromString("messageDeduplicationId");
     private static final BString MESSAGE_GROUP_ID = StringUtils.fromString("messageGroupId");
+    private static final BString CONTENT_DEDUPLICATION = StringUtils.fromString("contentDeduplication");
     private static final BString BODY = StringUtils.fromString("body");
-    private static final BString DATA_TYPE = StringUtils.fromString("dataType");
-    private static final BString STRING_VALUE = StringUtils.fromString("stringValue");
 
     private SendMessageBatchMapper() {
     }
@@ -79,26 +77,23 @@ public final class SendMessageBatchMapper {
             if (entry.containsKey(MESSAGE_GROUP_ID)) {
                 builder.messageGroupId(entry.getStringValue(MESSAGE_GROUP_ID).getValue());
             }
+            Map<String, MessageAttributeValue> messageAttributes = null;
             if (entry.containsKey(AWS_TRACE_HEADER)) {
-                builder.messageAttributes(Map.of("AWSTraceHeader",
+                messageAttributes = Map.of("AWSTraceHeader",
                         MessageAttributeValue.builder()
                                 .dataType("String")
                                 .stringValue(entry.getStringValue(AWS_TRACE_HEADER).getValue())
-                                .build()));
+                                .build());
+                builder.messageAttributes(messageAttributes);
             }
             if (entry.containsKey(MESSAGE_ATTRIBUTES)) {
-                var attrs = entry.getMapValue(MESSAGE_ATTRIBUTES);
-                Map<String, MessageAttributeValue> attrMap = new HashMap<>();
-                for (var entrySet : attrs.entrySet()) {
-                    BString attrKey = (BString) entrySet.getKey();
-                    BMap<BString, Object> attrVal = (BMap<BString, Object>) entrySet.getValue();
-                    MessageAttributeValue mav = MessageAttributeValue.builder()
-                            .dataType(attrVal.getStringValue(DATA_TYPE).getValue())
-                            .stringValue(attrVal.getStringValue(STRING_VALUE).getValue())
-                            .build();
-                    attrMap.put(attrKey.getValue(), mav);
-                }
-                builder.messageAttributes(attrMap);
+                messageAttributes = SendMessageMapper.getNativeMessageAttributes(entry.getMapValue(MESSAGE_ATTRIBUTES));
+                builder.messageAttributes(messageAttributes);
+            }
+            if (!entry.containsKey(MESSAGE_DEDUPLICATION_ID) && entry.get(CONTENT_DEDUPLICATION) != null) {
+                builder.messageDeduplicationId(ContentDeduplication.deduplicationId(
+                        entry.getMapValue(CONTENT_DEDUPLICATION), entry.getStringValue(BODY).getValue(),
+                        messageAttributes));
             }
             entries.add(builder.build());
         }
@@ -17,13 +17,19 @@
 package io.ballerina.lib.aws.sqs.mappers;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.ballerina.lib.aws.sqs.ModuleUtils;
+import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
@@ -36,13 +42,20 @@ public final class SendMessageMapper {
     private static final BString MD5_OF_ATTRIBUTES = StringUtils.fromString("md5OfMessageAttributes");
     private static final BString MD5_OF_SYS_ATTRIBUTES = StringUtils.fromString("md5OfMessageSystemAttributes");
     private static final BString SEQUENCE_NUMBER = StringUtils.fromString("sequenceNumber");
+    private static final BString DEFERRED = StringUtils.fromString("deferred");
+    private static final String SEND_AGGREGATED_MESSAGES_RESPONSE = "SendAggregatedMessagesResponse";
+    private static final BString SUCCESSFUL = StringUtils.fromString("successful");
+    private static final BString SENT_RECORDS = StringUtils.fromString("sentRecords");
+    private static final BString FAILURE = StringUtils.fromString("failure");
     private static final BString DELAY_SECONDS = StringUtils.fromString("delaySeconds");
     private static final BString MESSAGE_ATTRIBUTES = StringUtils.fromString("messageAttributes");
     private static final BString AWS_TRACE_HEADER = StringUtils.fromString("awsTraceHeader");
     private static final BString MESSAGE_DEDUPLICATION_ID = StringUtils.fromString("messageDeduplicationId");
     private static final BString MESSAGE_GROUP_ID = StringUtils.fromString("messageGroupId");
+    private static final BString CONTENT_DEDUPLICATION = StringUtils.fromString("contentDeduplication");
     private static final BString DATA_TYPE = StringUtils.fromString("dataType");
     private static final BString STRING_VALUE = StringUtils.fromString("stringValue");
+    private static final BString BINARY_VALUE = StringUtils.fromString("binaryValue");
 
     private SendMessageMapper() {
     }
@@ -63,31 +76,63 @@ public final class SendMessageMapper {
         if (sendMessageConfig.containsKey(MESSAGE_GROUP_ID)) {
             builder.messageGroupId(sendMessageConfig.getStringValue(MESSAGE_GROUP_ID).getValue());
         }
+        Map<String, MessageAttributeValue> messageAttributes = null;
         if (sendMessageConfig.containsKey(AWS_TRACE_HEADER)) {
-            builder.messageAttributes(Map.of("AWSTraceHeader",
+            messageAttributes = Map.of("AWSTraceHeader",
                     MessageAttributeValue.builder()
                             .dataType("String")
                             .stringValue(sendMessageConfig.getStringValue(AWS_TRACE_HEADER).getValue())
-                            .build()));
+                            .build());
+            builder.messageAttributes(messageAttributes);
         }
         if (sendMessageConfig.containsKey(MESSAGE_ATTRIBUTES)) {
-            var attrs = sendMessageConfig.getMapValue(MESSAGE_ATTRIBUTES);
-            Map<String, MessageAttributeValue> attrMap = new HashMap<>();
-            for (var entrySet : attrs.entrySet()) {
-                BString attrKey = (BString) entrySet.getKey();
-                @SuppressWarnings("unchecked")
-                BMap<BString, Object> attrVal = (BMap<BString, Object>) entrySet.getValue();
-                MessageAttributeValue mav = MessageAttributeValue.builder()
-                        .dataType(attrVal.getStringValue(DATA_TYPE).getValue())
-                        .stringValue(attrVal.getStringValue(STRING_VALUE).getValue())
-                        .build();
-                attrMap.put(attrKey.getValue(), mav);
-            }
-            builder.messageAttributes(attrMap);
+            messageAttributes = getNativeMessageAttributes(sendMessageConfig.getMapValue(MESSAGE_ATTRIBUTES));
+            builder.messageAttributes(messageAttributes);
+        }
+        if (!sendMessageConfig.containsKey(MESSAGE_DEDUPLICATION_ID)
+                && sendMessageConfig.get(CONTENT_DEDUPLICATION) != null) {
+            builder.messageDeduplicationId(ContentDeduplication.deduplicationId(
+                    sendMessageConfig.getMapValue(CONTENT_DEDUPLICATION), messageBody.getValue(), messageAttributes));
         }
         return builder.build();
     }
 
+    /**
+     * Maps a message with a binary body, which is sent encoded in base64 and marked as binary.
+     */
+    public static SendMessageRequest getNativeSendBinaryMessageRequest(BString queueUrl, BArray messageBody,
+            BMap<BString, Object> sendMessageConfig) throws Exception {
+        SendMessageRequest request = getNativeSendMessageRequest(queueUrl,
+                StringUtils.fromString(BinaryBody.encode(messageBody)), sendMessageConfig);
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(request.messageAttributes());
+        attributes.put(BinaryBody.BODY_ATTRIBUTE, BinaryBody.marker());
+        return request.toBuilder().messageAttributes(attributes).build();
+    }
+
+    /**
+     * Maps the message attributes of a message. A binary value is handed to the SDK as the bytes
+     * read from the Ballerina array, without another copy.
+     */
+    static Map<String, MessageAttributeValue> getNativeMessageAttributes(BMap<?, ?> attrs) {
+        Map<String, MessageAttributeValue> attrMap = new HashMap<>();
+        for (var entrySet : attrs.entrySet()) {
+            BString attrKey = (BString) entrySet.getKey();
+            @SuppressWarnings("unchecked")
+            BMap<BString, Object> attrVal = (BMap<BString, Object>) entrySet.getValue();
+            MessageAttributeValue.Builder mav = MessageAttributeValue.builder()
+                    .dataType(attrVal.getStringValue(DATA_TYPE).getValue());
+            if (attrVal.containsKey(STRING_VALUE)) {
+                mav.stringValue(attrVal.getStringValue(STRING_VALUE).getValue());
+            }
+            if (attrVal.containsKey(BINARY_VALUE)) {
+                // getBytes already returns a copy of the array, which the SDK may own.
+                mav.binaryValue(SdkBytes.fromByteArrayUnsafe(attrVal.getArrayValue(BINARY_VALUE).getBytes()));
+            }
+            attrMap.put(attrKey.getValue(), mav.build());
+        }
+        return attrMap;
+    }
+
     public static BMap<BString, Object> getNativeSendMessageResponse(SendMessageResponse response) {
         BMap<BString, Object> result = ValueCreator.createRecordValue(
                 ModuleUtils.getModule(), SEND_MESSAGE_RESPONSE);
@@ -104,4 +149,37 @@ public final class SendMessageMapper {
         }
         return result;
     }
+
+    /**
+     * Maps the response to a message written to the outbox of the client, rather than sent.
+     */
+    public static BMap<BString, Object> getNativeDeferredSendMessageResponse(SendMessageResponse response) {
+        BMap<BString, Object> result = getNativeSendMessageResponse(response);
+        result.put(DEFERRED, true);
+        return result;
+    }
+
+    /**
+     * Maps the responses to the messages that hold aggregated records.
+     *
+     * @param responses   the responses of the messages sent, in order
+     * @param sentRecords the number of records those messages hold
+     * @param failure     the error that stopped the send before all the records were sent, or null
+     */
+    public static BMap<BString, Object> getNativeSendAggregatedMessagesResponse(List<SendMessageResponse> responses,
+            int sentRecords, BError failure) {
+        Type recordType = ValueCreator.createRecordValue(ModuleUtils.getModule(), SEND_MESSAGE_RESPONSE).getType();
+        BArray successful = ValueCreator.createArrayValue(TypeCreator.createArrayType(recordType));
+        for (int i = 0; i < responses.size(); i++) {
+            successful.add(i, getNativeSendMessageResponse(responses.get(i)));
+        }
+        BMap<BString, Object> result = ValueCreator.createRecordValue(
+                ModuleUtils.getModule(), SEND_AGGREGATED_MESSAGES_RESPONSE);
+        result.put(SUCCESSFUL, successful);
+        result.put(SENT_RECORDS, (long) sentRecords);
+        if (failure != null) {
+            result.put(FAILURE, failure);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,92 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.observability;
+
+import java.util.Objects;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+
+/**
+ * Records the latency, errors and payload sizes of every call made through an SQS client,
+ * by the {@code Client} as well as by the {@code Listener}, into {@link SqsMetrics}.
+ */
+public final class MetricsInterceptor implements ExecutionInterceptor {
+    private static final ExecutionAttribute<Long> START_TIME = new ExecutionAttribute<>("SqsMetricsStartTime");
+    private static final ExecutionAttribute<String> QUEUE = new ExecutionAttribute<>("SqsMetricsQueue");
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        SdkRequest request = context.request();
+        String queue = request.getValueForField("QueueUrl", String.class)
+                .map(SqsMetrics::queueName)
+                .or(() -> request.getValueForField("QueueName", String.class))
+                .orElse("");
+        executionAttributes.putAttribute(QUEUE, queue);
+        executionAttributes.putAttribute(START_TIME, System.nanoTime());
+
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        if (request instanceof SendMessageBatchRequest batch) {
+            SqsMetrics.recordBatch(operation, queue, batch.entries().size());
+        } else if (request instanceof DeleteMessageBatchRequest batch) {
+            SqsMetrics.recordBatch(operation, queue, batch.entries().size());
+        } else if (request instanceof ChangeMessageVisibilityBatchRequest batch) {
+            SqsMetrics.recordBatch(operation, queue, batch.entries().size());
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        String queue = executionAttributes.getAttribute(QUEUE);
+        recordCall(executionAttributes);
+        if (context.response() instanceof ReceiveMessageResponse response) {
+            SqsMetrics.recordReceive(queue, response.messages().size());
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        // Failures before the request got to beforeExecution have nothing to be recorded against.
+        if (executionAttributes.getAttribute(START_TIME) == null) {
+            return;
+        }
+        recordCall(executionAttributes);
+        Throwable failure = context.exception();
+        String errorCode = null;
+        if (failure instanceof AwsServiceException serviceException && serviceException.awsErrorDetails() != null) {
+            errorCode = serviceException.awsErrorDetails().errorCode();
+        }
+        SqsMetrics.recordError(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME),
+                executionAttributes.getAttribute(QUEUE),
+                Objects.requireNonNullElse(errorCode, failure.getClass().getSimpleName()));
+    }
+
+    private static void recordCall(ExecutionAttributes executionAttributes) {
+        SqsMetrics.recordCall(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME),
+                executionAttributes.getAttribute(QUEUE),
+                System.nanoTime() - executionAttributes.getAttribute(START_TIME));
+    }
+}
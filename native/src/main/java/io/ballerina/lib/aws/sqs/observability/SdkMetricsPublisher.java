@@ -0,0 +1,66 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.observability;
+
+import java.util.List;
+
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * Bridges the metrics the AWS SDK collects for each API call into {@link SqsMetrics}, so
+ * that the share of tail latency due to retries, backoff, connection pool waits or SQS
+ * itself can be told apart.
+ *
+ * <p>The SDK hands over one collection per API call, with a child per attempt, each with
+ * a child for the HTTP client.
+ */
+public final class SdkMetricsPublisher implements MetricPublisher {
+    private static final String API_CALL_ATTEMPT = "ApiCallAttempt";
+    private static final String HTTP_CLIENT = "HttpClient";
+
+    @Override
+    public void publish(MetricCollection apiCall) {
+        String operation = first(apiCall, CoreMetric.OPERATION_NAME);
+        if (operation == null) {
+            return;
+        }
+        Integer retryCount = first(apiCall, CoreMetric.RETRY_COUNT);
+        SqsMetrics.recordSdkCall(operation, first(apiCall, CoreMetric.API_CALL_DURATION),
+                retryCount == null ? 0 : retryCount);
+        apiCall.childrenWithName(API_CALL_ATTEMPT).forEach(attempt -> {
+            SqsMetrics.recordSdkAttempt(operation, first(attempt, CoreMetric.SERVICE_CALL_DURATION),
+                    first(attempt, CoreMetric.BACKOFF_DELAY_DURATION));
+            attempt.childrenWithName(HTTP_CLIENT).forEach(httpClient -> SqsMetrics.recordSdkConnectionAcquire(
+                    operation, first(httpClient, HttpMetric.CONCURRENCY_ACQUIRE_DURATION),
+                    first(httpClient, HttpMetric.PENDING_CONCURRENCY_ACQUIRES)));
+        });
+    }
+
+    @Override
+    public void close() {
+        // Nothing is buffered, every collection is recorded as it is published.
+    }
+
+    private static <T> T first(MetricCollection collection, SdkMetric<T> metric) {
+        List<T> values = collection.metricValues(metric);
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
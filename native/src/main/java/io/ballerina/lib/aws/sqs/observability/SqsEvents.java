@@ -0,0 +1,90 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events of the listener's stages: receive, map, dispatch, handler
+ * invocation and acknowledgement. All are disabled unless a recording enables them, in
+ * which case a recording shows the latency of each stage per queue and message.
+ *
+ * <p>Events are used as {@code begin()}, then {@code end()} and {@code commit()} only
+ * if {@code shouldCommit()}, so that their fields are not even set when disabled.
+ */
+public final class SqsEvents {
+    private static final String PREFIX = "io.ballerina.lib.aws.sqs.";
+
+    private SqsEvents() {
+    }
+
+    /**
+     * Base of the connector's events, all of which relate to a queue.
+     */
+    @Category({"Ballerina", "AWS SQS"})
+    @StackTrace(false)
+    public abstract static class QueueEvent extends Event {
+        @Label("Queue URL")
+        public String queueUrl;
+    }
+
+    /**
+     * Base of the events that relate to a single message.
+     */
+    public abstract static class MessageEvent extends QueueEvent {
+        @Label("Message ID")
+        public String messageId;
+    }
+
+    @Name(PREFIX + "Receive")
+    @Label("SQS Receive")
+    @Description("A receive call made by the listener, including the long poll wait time")
+    public static final class Receive extends QueueEvent {
+        @Label("Batch Size")
+        @Description("Number of messages received")
+        public int batchSize;
+    }
+
+    @Name(PREFIX + "MessageMapping")
+    @Label("SQS Message Mapping")
+    @Description("Conversion of a received message into a Ballerina record")
+    public static final class MessageMapping extends MessageEvent {
+    }
+
+    @Name(PREFIX + "Dispatch")
+    @Label("SQS Dispatch")
+    @Description("Processing of a received message by the listener, from its dispatch until it is handled")
+    public static final class Dispatch extends MessageEvent {
+    }
+
+    @Name(PREFIX + "HandlerInvoke")
+    @Label("SQS Handler Invocation")
+    @Description("Invocation of the service's onMessage method")
+    public static final class HandlerInvoke extends MessageEvent {
+    }
+
+    @Name(PREFIX + "Ack")
+    @Label("SQS Acknowledgement")
+    @Description("Deletion of a received message once it is handled")
+    public static final class Ack extends MessageEvent {
+    }
+}
@@ -0,0 +1,225 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.observability;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.ballerina.runtime.observability.ObserveUtils;
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+import io.ballerina.runtime.observability.metrics.Tag;
+
+/**
+ * Publishes the connector's metrics through the Ballerina observability metrics API,
+ * tagged by queue name. Nothing is recorded unless metrics are enabled for the program.
+ *
+ * <p>Durations are gauges with statistics, in seconds, so that their percentiles are
+ * reported. The empty-receive ratio is {@code sqs_empty_receives_total} over
+ * {@code sqs_receives_total}.
+ */
+public final class SqsMetrics {
+    static final String TAG_OPERATION = "operation";
+    static final String TAG_QUEUE = "queue";
+    static final String TAG_ERROR_CODE = "error_code";
+    private static final int MAX_BATCH_ENTRIES = 10;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    // Looking a metric up in the registry allocates its id, hence metrics are cached by
+    // their name and tags.
+    private static final Map<List<String>, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<List<String>, Gauge> GAUGES = new ConcurrentHashMap<>();
+
+    private SqsMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ObserveUtils.isMetricsEnabled();
+    }
+
+    /**
+     * Records the completion of an SQS API call, successful or not.
+     */
+    static void recordCall(String operation, String queue, long durationNanos) {
+        counter("sqs_requests_total", "Number of SQS API calls", TAG_OPERATION, operation, TAG_QUEUE, queue)
+                .increment();
+        summary("sqs_request_duration_seconds", "Duration of SQS API calls, including retries",
+                TAG_OPERATION, operation, TAG_QUEUE, queue).setValue(durationNanos / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Records a failed SQS API call.
+     */
+    static void recordError(String operation, String queue, String errorCode) {
+        counter("sqs_request_errors_total", "Number of failed SQS API calls",
+                TAG_OPERATION, operation, TAG_QUEUE, queue, TAG_ERROR_CODE, errorCode).increment();
+    }
+
+    /**
+     * Records the messages returned by a receive call.
+     */
+    static void recordReceive(String queue, int messageCount) {
+        counter("sqs_receives_total", "Number of receive calls", TAG_QUEUE, queue).increment();
+        if (messageCount == 0) {
+            counter("sqs_empty_receives_total", "Number of receive calls that returned no message",
+                    TAG_QUEUE, queue).increment();
+            return;
+        }
+        counter("sqs_messages_received_total", "Number of messages received", TAG_QUEUE, queue)
+                .increment(messageCount);
+        summary("sqs_messages_per_receive", "Number of messages returned by a non-empty receive call",
+                TAG_QUEUE, queue).setValue(messageCount);
+    }
+
+    /**
+     * Records how full a batch request was, relative to the largest batch SQS accepts.
+     */
+    static void recordBatch(String operation, String queue, int entryCount) {
+        summary("sqs_batch_fill_ratio", "Number of entries of a batch call over the maximum of 10",
+                TAG_OPERATION, operation, TAG_QUEUE, queue).setValue((double) entryCount / MAX_BATCH_ENTRIES);
+    }
+
+    /**
+     * Records an API call as reported by the SDK's own metrics.
+     */
+    static void recordSdkCall(String operation, Duration apiCallDuration, int retryCount) {
+        if (apiCallDuration != null) {
+            summary("sqs_sdk_api_call_duration_seconds", "Duration of SQS API calls, as measured by the SDK",
+                    TAG_OPERATION, operation).setValue(seconds(apiCallDuration));
+        }
+        if (retryCount > 0) {
+            counter("sqs_sdk_retries_total", "Number of retried SQS API call attempts", TAG_OPERATION, operation)
+                    .increment(retryCount);
+        }
+    }
+
+    /**
+     * Records an attempt of an API call as reported by the SDK's own metrics.
+     */
+    static void recordSdkAttempt(String operation, Duration serviceCallDuration, Duration backoffDelay) {
+        if (serviceCallDuration != null) {
+            summary("sqs_sdk_service_call_duration_seconds",
+                    "Duration of the HTTP exchanges with SQS of each attempt, as measured by the SDK",
+                    TAG_OPERATION, operation).setValue(seconds(serviceCallDuration));
+        }
+        if (backoffDelay != null && !backoffDelay.isZero()) {
+            summary("sqs_sdk_backoff_delay_seconds", "Delay before retried attempts of SQS API calls",
+                    TAG_OPERATION, operation).setValue(seconds(backoffDelay));
+        }
+    }
+
+    /**
+     * Records how long an attempt waited for a connection from the HTTP client's pool.
+     */
+    static void recordSdkConnectionAcquire(String operation, Duration acquireDuration, Integer pendingAcquires) {
+        if (acquireDuration != null) {
+            summary("sqs_sdk_connection_acquire_duration_seconds",
+                    "Time spent waiting for a connection from the HTTP connection pool",
+                    TAG_OPERATION, operation).setValue(seconds(acquireDuration));
+        }
+        if (pendingAcquires != null) {
+            summary("sqs_sdk_pending_connection_acquires",
+                    "Number of requests waiting for a connection from the HTTP connection pool",
+                    TAG_OPERATION, operation).setValue(pendingAcquires);
+        }
+    }
+
+    /**
+     * Records the time taken by a service's {@code onMessage} method to handle a message.
+     */
+    public static void recordHandler(String queueUrl, long durationNanos) {
+        summary("sqs_listener_handler_duration_seconds", "Duration of the onMessage invocations",
+                TAG_QUEUE, queueName(queueUrl)).setValue(durationNanos / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Records the time taken to acknowledge a message received by the listener.
+     */
+    public static void recordAck(String queueUrl, long durationNanos) {
+        summary("sqs_listener_ack_duration_seconds", "Duration of the acknowledgements of received messages",
+                TAG_QUEUE, queueName(queueUrl)).setValue(durationNanos / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Records a redelivered message acknowledged without invoking the service.
+     */
+    public static void recordDuplicate(String queueUrl) {
+        counter("sqs_listener_duplicates_total", "Number of redelivered messages skipped by the idempotency filter",
+                TAG_QUEUE, queueName(queueUrl)).increment();
+    }
+
+    /**
+     * Tracks the number of messages handed to a service and not yet handled.
+     */
+    public static void messageInFlight(String queueUrl, boolean inFlight) {
+        String queue = queueName(queueUrl);
+        Gauge gauge = GAUGES.computeIfAbsent(key("sqs_listener_inflight_messages", TAG_QUEUE, queue), key ->
+                DefaultMetricRegistry.getInstance().gauge(new MetricId("sqs_listener_inflight_messages",
+                        "Number of messages being handled by the listener's services", tags(TAG_QUEUE, queue))));
+        if (inFlight) {
+            gauge.increment();
+        } else {
+            gauge.decrement();
+        }
+    }
+
+    /**
+     * Derives the queue tag of a queue URL: the queue name, which is its last path segment.
+     */
+    static String queueName(String queueUrl) {
+        if (queueUrl == null) {
+            return "";
+        }
+        return queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / NANOS_PER_SECOND;
+    }
+
+    private static Counter counter(String name, String description, String... tags) {
+        return COUNTERS.computeIfAbsent(key(name, tags), key -> DefaultMetricRegistry.getInstance().counter(
+                new MetricId(name, description, tags(tags))));
+    }
+
+    private static Gauge summary(String name, String description, String... tags) {
+        return GAUGES.computeIfAbsent(key(name, tags), key -> DefaultMetricRegistry.getInstance().gauge(
+                new MetricId(name, description, tags(tags)), StatisticConfig.DEFAULT));
+    }
+
+    private static List<String> key(String name, String... tags) {
+        String[] key = Arrays.copyOf(tags, tags.length + 1);
+        key[tags.length] = name;
+        return Arrays.asList(key);
+    }
+
+    private static Set<Tag> tags(String... keyValues) {
+        Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            tags.add(Tag.of(keyValues[i], keyValues[i + 1]));
+        }
+        return tags;
+    }
+}
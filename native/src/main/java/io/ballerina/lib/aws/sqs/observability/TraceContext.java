@@ -0,0 +1,143 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.observability;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.observability.ObservabilityConstants;
+import io.ballerina.runtime.observability.ObserveUtils;
+import io.ballerina.runtime.observability.ObserverContext;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Propagates the Ballerina trace context from producers to the listener's services
+ * through message attributes.
+ *
+ * <p>On send, the trace context of the calling strand is added to the message as string
+ * attributes named after the propagation headers, with a {@value #ATTRIBUTE_PREFIX} prefix,
+ * unless that would exceed the 10 attributes SQS allows. The listener requests these
+ * attributes with a prefix wildcard, and invokes {@code onMessage} with an observer context
+ * that carries them, so that its span is a child of the producer's.
+ */
+public final class TraceContext {
+    static final String ATTRIBUTE_PREFIX = "trace.";
+    /**
+     * The message attribute names to request on receive for the trace context to be extracted.
+     */
+    public static final String ATTRIBUTE_NAMES = ATTRIBUTE_PREFIX + "*";
+    private static final String STRING_DATA_TYPE = "String";
+    private static final int MAX_MESSAGE_ATTRIBUTES = 10;
+
+    private TraceContext() {
+    }
+
+    public static boolean isEnabled() {
+        return ObserveUtils.isTracingEnabled();
+    }
+
+    /**
+     * Reads the trace context of the calling strand. Has to be called on the strand itself,
+     * before yielding it.
+     *
+     * @param env the Ballerina runtime environment of the caller
+     * @return the propagation headers of the current span, empty when not tracing
+     */
+    public static Map<String, String> current(Environment env) {
+        if (!isEnabled()) {
+            return Map.of();
+        }
+        ObserverContext observerContext = ObserveUtils.getObserverContextOfCurrentFrame(env);
+        if (observerContext == null) {
+            return Map.of();
+        }
+        return ObserveUtils.getContextProperties(observerContext);
+    }
+
+    public static SendMessageRequest inject(SendMessageRequest request, Map<String, String> traceContext) {
+        Map<String, MessageAttributeValue> attributes = inject(request.messageAttributes(), traceContext);
+        return attributes == null ? request : request.toBuilder().messageAttributes(attributes).build();
+    }
+
+    public static SendMessageBatchRequest inject(SendMessageBatchRequest request, Map<String, String> traceContext) {
+        if (traceContext.isEmpty()) {
+            return request;
+        }
+        List<SendMessageBatchRequestEntry> entries = request.entries().stream().map(entry -> {
+            Map<String, MessageAttributeValue> attributes = inject(entry.messageAttributes(), traceContext);
+            return attributes == null ? entry : entry.toBuilder().messageAttributes(attributes).build();
+        }).toList();
+        return request.toBuilder().entries(entries).build();
+    }
+
+    /**
+     * Adds the trace context to message attributes.
+     *
+     * @return the resulting attributes, or {@code null} when they are left as they are
+     */
+    private static Map<String, MessageAttributeValue> inject(Map<String, MessageAttributeValue> attributes,
+            Map<String, String> traceContext) {
+        Map<String, MessageAttributeValue> injected = null;
+        for (Map.Entry<String, String> header : traceContext.entrySet()) {
+            // SQS rejects empty attribute values, such as an empty `tracestate`.
+            if (header.getValue() == null || header.getValue().isEmpty()) {
+                continue;
+            }
+            if (injected == null) {
+                injected = new HashMap<>(attributes);
+            }
+            injected.put(ATTRIBUTE_PREFIX + header.getKey(), MessageAttributeValue.builder()
+                    .dataType(STRING_DATA_TYPE)
+                    .stringValue(header.getValue())
+                    .build());
+        }
+        // A message without its trace context is better than a message that cannot be sent.
+        return injected == null || injected.size() > MAX_MESSAGE_ATTRIBUTES ? null : injected;
+    }
+
+    /**
+     * Creates the strand properties that make the invocation of a service method continue
+     * the trace of the producer of the given message.
+     *
+     * @return the strand properties, or {@code null} when there is no trace to continue
+     */
+    public static Map<String, Object> strandProperties(Message message) {
+        if (!isEnabled() || !message.hasMessageAttributes()) {
+            return null;
+        }
+        Map<String, String> traceContext = new HashMap<>();
+        message.messageAttributes().forEach((name, value) -> {
+            if (name.startsWith(ATTRIBUTE_PREFIX) && value.stringValue() != null) {
+                traceContext.put(name.substring(ATTRIBUTE_PREFIX.length()), value.stringValue());
+            }
+        });
+        if (traceContext.isEmpty()) {
+            return null;
+        }
+        ObserverContext observerContext = new ObserverContext();
+        observerContext.addProperty(ObservabilityConstants.PROPERTY_TRACE_PROPERTIES, traceContext);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ObservabilityConstants.KEY_OBSERVER_CONTEXT, observerContext);
+        return properties;
+    }
+}
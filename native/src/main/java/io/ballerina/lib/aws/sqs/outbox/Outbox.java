@@ -0,0 +1,281 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.outbox;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.lib.aws.sqs.client.SqsClientPool;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+/**
+ * A write-ahead outbox of messages to send, kept on the local disk. The messages appended to
+ * the outbox are sent in the background, in batches, by a replayer thread, which retries them
+ * until SQS accepts them or rejects them for good. Messages are thus delivered at least once,
+ * even across restarts of the process.
+ *
+ * <p>The clients configured with the same outbox directory share a single outbox, which holds
+ * a lease of its own on the native client and is closed along with the last of them. They must
+ * have the same outbox and connection configuration, as the messages of all of them are sent
+ * with that client.
+ */
+public final class Outbox {
+    // SQS accepts at most this many entries, of this total size, in a batch.
+    private static final int MAX_BATCH_ENTRIES = 10;
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+    private static final long MAX_REPLAY_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final Map<Path, Outbox> OUTBOXES = new HashMap<>();
+
+    private final OutboxConfig config;
+    private final SegmentLog log;
+    private final SqsClientPool.Lease lease;
+    private final Thread replayer;
+    private int references;
+    private volatile boolean closed;
+
+    private Outbox(OutboxConfig config, BMap<BString, Object> bConnectionConfig) throws IOException {
+        this.config = config;
+        this.log = new SegmentLog(config.directory(), config.segmentSize(), config.maxSegments(),
+                config.syncOnWrite());
+        try {
+            this.lease = SqsClientPool.acquire(bConnectionConfig);
+        } catch (RuntimeException e) {
+            log.close();
+            throw e;
+        }
+        this.replayer = Thread.ofVirtual().name("sqs-outbox-replayer").start(this::replay);
+    }
+
+    /**
+     * Acquires the outbox of the given configuration, opening it if it is not in use already.
+     * Entries left in the outbox by a previous run are replayed once it is opened.
+     *
+     * @param config            the outbox configuration
+     * @param bConnectionConfig the Ballerina connection configuration, of the client the outbox
+     *                          sends its messages with
+     * @return the outbox, which must be released exactly once when it is no longer used
+     * @throws IOException if the outbox cannot be opened
+     */
+    public static Outbox acquire(OutboxConfig config, BMap<BString, Object> bConnectionConfig) throws IOException {
+        synchronized (OUTBOXES) {
+            Outbox outbox = OUTBOXES.get(config.directory());
+            if (outbox == null) {
+                outbox = new Outbox(config, bConnectionConfig);
+                OUTBOXES.put(config.directory(), outbox);
+            } else if (!outbox.config.equals(config) || !outbox.lease.matches(bConnectionConfig)) {
+                // The outbox sends all its messages with the client, and settings, it was opened with.
+                throw CommonUtils.createError("Invalid outbox configuration : the outbox directory "
+                        + config.directory() + " is in use by a client with a different configuration.");
+            }
+            outbox.references++;
+            return outbox;
+        }
+    }
+
+    /**
+     * Appends a message to the outbox, to be sent in the background.
+     *
+     * @param request the send request of the message
+     * @return the response to report for the message, identified by its position in the outbox
+     * @throws IOException if the outbox is full, or cannot be written
+     */
+    public SendMessageResponse append(SendMessageRequest request) throws IOException {
+        SegmentLog.Position position = log.append(OutboxCodec.encode(request));
+        LockSupport.unpark(replayer);
+        return SendMessageResponse.builder()
+                .messageId(position.toString())
+                .md5OfMessageBody(CommonUtils.md5(request.messageBody()))
+                .build();
+    }
+
+    /**
+     * Releases this outbox, closing it if it was the last reference to it. The messages that
+     * are not sent yet are kept on disk, and sent once the outbox is opened again.
+     *
+     * @throws IOException if the outbox cannot be closed
+     */
+    public void release() throws IOException {
+        // Closed while holding the registry, so that the directory is unlocked before it can be opened again.
+        synchronized (OUTBOXES) {
+            if (--references > 0) {
+                return;
+            }
+            OUTBOXES.remove(config.directory(), this);
+            closed = true;
+            LockSupport.unpark(replayer);
+            try {
+                replayer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                log.close();
+            } finally {
+                lease.release();
+            }
+        }
+    }
+
+    /**
+     * Tells whether a failed call may succeed if it is retried later: the client could not
+     * reach SQS, or SQS throttled the call or failed to process it.
+     *
+     * @param failure the failure of the call
+     * @return whether the failure is transient
+     */
+    public static boolean isTransient(Throwable failure) {
+        if (failure instanceof SdkClientException) {
+            return true;
+        }
+        return failure instanceof AwsServiceException serviceException
+                && (serviceException.isThrottlingException() || serviceException.statusCode() >= 500);
+    }
+
+    private void replay() {
+        long intervalNanos = config.replayInterval().toNanos();
+        long backoffNanos = intervalNanos;
+        while (!closed) {
+            List<SegmentLog.Entry> entries = log.peek(MAX_BATCH_ENTRIES, MAX_BATCH_BYTES);
+            if (entries.isEmpty()) {
+                // Woken up early by the next append.
+                LockSupport.parkNanos(intervalNanos);
+                continue;
+            }
+            try {
+                if (replay(entries)) {
+                    backoffNanos = intervalNanos;
+                    continue;
+                }
+            } catch (Exception e) {
+                report("Failed to replay the outbox", e);
+            }
+            pause(backoffNanos);
+            backoffNanos = Math.min(backoffNanos * 2, MAX_REPLAY_BACKOFF_NANOS);
+        }
+    }
+
+    /**
+     * Sends the longest prefix of the given entries that targets a single queue, as one batch.
+     *
+     * @return whether all the sent entries were consumed, or some have to be retried
+     */
+    private boolean replay(List<SegmentLog.Entry> entries) throws IOException {
+        String queueUrl = null;
+        List<SendMessageRequest> requests = new ArrayList<>();
+        List<SendMessageBatchRequestEntry> batch = new ArrayList<>();
+        for (SegmentLog.Entry entry : entries) {
+            SendMessageRequest request;
+            try {
+                request = OutboxCodec.decode(entry.payload());
+            } catch (IOException e) {
+                if (!batch.isEmpty()) {
+                    break;
+                }
+                report("Dropped an unreadable outbox entry " + entry.position(), e);
+                log.commit(entry.next());
+                return true;
+            }
+            if (queueUrl != null && !queueUrl.equals(request.queueUrl())) {
+                break;
+            }
+            queueUrl = request.queueUrl();
+            requests.add(request);
+            batch.add(SendMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(batch.size()))
+                    .messageBody(request.messageBody())
+                    .delaySeconds(request.delaySeconds())
+                    .messageAttributes(request.messageAttributes())
+                    .messageGroupId(request.messageGroupId())
+                    .messageDeduplicationId(request.messageDeduplicationId())
+                    .build());
+        }
+        SqsClient sqsClient = lease.client();
+        String batchQueueUrl = queueUrl;
+        SendMessageBatchResponse response;
+        try {
+            if (batch.size() == 1) {
+                // Also sends a message too large to share a batch with others.
+                sqsClient.sendMessage(requests.get(0));
+                response = null;
+            } else {
+                response = sqsClient.sendMessageBatch(builder -> builder.queueUrl(batchQueueUrl).entries(batch));
+            }
+        } catch (Exception e) {
+            if (isTransient(e)) {
+                return false;
+            }
+            report("Dropped " + batch.size() + " outbox entries of queue " + queueUrl, e);
+            log.commit(entries.get(batch.size() - 1).next());
+            return true;
+        }
+        if (response == null) {
+            log.commit(entries.get(0).next());
+            return true;
+        }
+        Set<String> retried = response.failed().stream()
+                .filter(failure -> !failure.senderFault())
+                .map(BatchResultErrorEntry::id)
+                .collect(Collectors.toSet());
+        for (BatchResultErrorEntry failure : response.failed()) {
+            if (failure.senderFault()) {
+                String msg = "Dropped the outbox entry " + entries.get(Integer.parseInt(failure.id())).position()
+                        + " rejected by queue " + queueUrl + ": " + failure.message();
+                CommonUtils.createError(msg).printStackTrace();
+            }
+        }
+        // Consumes the entries up to the first one to retry; the ones sent after it are sent again.
+        int consumed = 0;
+        while (consumed < batch.size() && !retried.contains(Integer.toString(consumed))) {
+            consumed++;
+        }
+        if (consumed > 0) {
+            log.commit(entries.get(consumed - 1).next());
+        }
+        return retried.isEmpty();
+    }
+
+    private void pause(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0 && !closed; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void report(String msg, Exception e) {
+        msg = msg + ": " + Objects.requireNonNullElse(e.getMessage(), "Unknown error");
+        CommonUtils.createError(msg, e).printStackTrace();
+    }
+}
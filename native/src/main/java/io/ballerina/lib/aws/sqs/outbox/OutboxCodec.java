@@ -0,0 +1,130 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.outbox;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Encodes the send requests held in the outbox. Absent values are written with a length, or
+ * delay, of -1.
+ */
+final class OutboxCodec {
+    private static final int VERSION = 1;
+
+    private OutboxCodec() {
+    }
+
+    static byte[] encode(SendMessageRequest request) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(request.messageBody().length() + 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, request.queueUrl());
+            writeString(out, request.messageBody());
+            out.writeInt(request.delaySeconds() == null ? -1 : request.delaySeconds());
+            writeString(out, request.messageGroupId());
+            writeString(out, request.messageDeduplicationId());
+            Map<String, MessageAttributeValue> attributes = request.messageAttributes();
+            out.writeInt(attributes.size());
+            for (Map.Entry<String, MessageAttributeValue> attribute : attributes.entrySet()) {
+                writeString(out, attribute.getKey());
+                writeString(out, attribute.getValue().dataType());
+                writeString(out, attribute.getValue().stringValue());
+                SdkBytes binaryValue = attribute.getValue().binaryValue();
+                writeBytes(out, binaryValue == null ? null : binaryValue.asByteArrayUnsafe());
+            }
+        } catch (IOException e) {
+            // Not thrown by an in-memory stream
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static SendMessageRequest decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("unsupported outbox entry version: " + version);
+        }
+        SendMessageRequest.Builder builder = SendMessageRequest.builder()
+                .queueUrl(readString(in))
+                .messageBody(readString(in));
+        int delaySeconds = in.readInt();
+        if (delaySeconds >= 0) {
+            builder.delaySeconds(delaySeconds);
+        }
+        builder.messageGroupId(readString(in))
+                .messageDeduplicationId(readString(in));
+        int attributeCount = in.readInt();
+        if (attributeCount > 0) {
+            Map<String, MessageAttributeValue> attributes = new HashMap<>();
+            for (int i = 0; i < attributeCount; i++) {
+                String name = readString(in);
+                MessageAttributeValue.Builder value = MessageAttributeValue.builder()
+                        .dataType(readString(in))
+                        .stringValue(readString(in));
+                byte[] binaryValue = readBytes(in);
+                if (binaryValue != null) {
+                    value.binaryValue(SdkBytes.fromByteArrayUnsafe(binaryValue));
+                }
+                attributes.put(name, value.build());
+            }
+            builder.messageAttributes(attributes);
+        }
+        return builder.build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] value = readBytes(in);
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.available()) {
+            throw new IOException("truncated outbox entry");
+        }
+        return in.readNBytes(length);
+    }
+}
@@ -0,0 +1,97 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.outbox;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import io.ballerina.lib.aws.sqs.CommonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Configuration of the local outbox of a client, read from the optional {@code outbox} field
+ * of the connection configuration.
+ *
+ * @param directory      the directory holding the segments of the outbox
+ * @param mode           when sends are written to the outbox
+ * @param segmentSize    the size of a segment file, in bytes
+ * @param maxSegments    the maximum number of segment files, which bounds the disk usage
+ * @param replayInterval the delay between two attempts to replay the outbox, while it is
+ *                       empty or SQS is unavailable
+ * @param syncOnWrite    whether each entry is flushed to the storage device before the send
+ *                       returns
+ */
+public record OutboxConfig(Path directory, OutboxMode mode, int segmentSize, int maxSegments,
+                           Duration replayInterval, boolean syncOnWrite) {
+
+    // Leaves room in a segment for an entry of the largest message SQS accepts.
+    private static final int MIN_SEGMENT_SIZE = 1 << 20;
+    // Keeps a segment within the bounds of a single mapped buffer
+    private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+    private static final BString OUTBOX = StringUtils.fromString("outbox");
+    private static final BString DIRECTORY = StringUtils.fromString("directory");
+    private static final BString MODE = StringUtils.fromString("mode");
+    private static final BString SEGMENT_SIZE = StringUtils.fromString("segmentSize");
+    private static final BString MAX_SEGMENTS = StringUtils.fromString("maxSegments");
+    private static final BString REPLAY_INTERVAL = StringUtils.fromString("replayInterval");
+    private static final BString SYNC_ON_WRITE = StringUtils.fromString("syncOnWrite");
+
+    /**
+     * The points at which sends are written to the outbox.
+     */
+    public enum OutboxMode {
+        ON_FAILURE, ALWAYS
+    }
+
+    public OutboxConfig {
+        if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+            throw CommonUtils.createError("Invalid outbox configuration : segmentSize must be between "
+                    + MIN_SEGMENT_SIZE + " and " + MAX_SEGMENT_SIZE + ".");
+        }
+        if (maxSegments < 2) {
+            throw CommonUtils.createError("Invalid outbox configuration : maxSegments must be at least 2.");
+        }
+        if (replayInterval.isNegative() || replayInterval.isZero()) {
+            throw CommonUtils.createError("Invalid outbox configuration : replayInterval must be positive.");
+        }
+    }
+
+    /**
+     * Reads the outbox configuration of the given connection configuration.
+     *
+     * @param bConnectionConfig the Ballerina connection configuration
+     * @return the configuration, or {@code null} if the connection has no outbox
+     */
+    @SuppressWarnings("unchecked")
+    public static OutboxConfig from(BMap<BString, Object> bConnectionConfig) {
+        BMap<BString, Object> config = (BMap<BString, Object>) bConnectionConfig.getMapValue(OUTBOX);
+        if (config == null) {
+            return null;
+        }
+        return new OutboxConfig(
+                Path.of(config.getStringValue(DIRECTORY).getValue()).toAbsolutePath().normalize(),
+                OutboxMode.valueOf(config.getStringValue(MODE).getValue()),
+                (int) Math.min(config.getIntValue(SEGMENT_SIZE), Integer.MAX_VALUE),
+                (int) Math.min(config.getIntValue(MAX_SEGMENTS), Integer.MAX_VALUE),
+                Duration.ofMillis((long) (((BDecimal) config.get(REPLAY_INTERVAL)).value().doubleValue() * 1000)),
+                config.getBooleanValue(SYNC_ON_WRITE));
+    }
+}
@@ -0,0 +1,330 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package io.ballerina.lib.aws.sqs.outbox;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log of entries, stored in a directory as fixed-size, memory-mapped segment
+ * files. Entries are consumed in order: the position of the first unconsumed entry is kept in
+ * a checkpoint file, and segments are deleted once all of their entries are consumed.
+ *
+ * <p>Each entry is written as its length, the CRC32C of its payload, and the payload. The
+ * length is written last, and a zero length marks the end of the entries of a segment, so
+ * that an entry is never read before it is complete. The checksum catches entries torn by a
+ * crash of the host, which are discarded when the log is opened again.
+ */
+final class SegmentLog implements AutoCloseable {
+    private static final Pattern SEGMENT_FILE = Pattern.compile("outbox-(\\d{19})\\.log");
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String LOCK_FILE = "lock";
+    private static final int HEADER_SIZE = 8;
+    // The segment and offset of the first unconsumed entry, then their CRC32C.
+    private static final int CHECKPOINT_SIZE = 16;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final boolean syncOnWrite;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private MappedByteBuffer checkpoint;
+    private long writeSegment;
+    private int writeOffset;
+    private long readSegment;
+    private int readOffset;
+    private boolean closed;
+
+    /**
+     * Opens the log stored in the given directory, creating it if needed, and recovers the
+     * entries written before the last shutdown.
+     *
+     * @param directory   the directory of the log
+     * @param segmentSize the size of the segment files created by this log
+     * @param maxSegments the maximum number of segment files
+     * @param syncOnWrite whether entries are flushed to the storage device as they are appended
+     * @throws IOException if the log cannot be opened, or is in use by another process
+     */
+    SegmentLog(Path directory, int segmentSize, int maxSegments, boolean syncOnWrite) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.syncOnWrite = syncOnWrite;
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock fileLock;
+        try {
+            fileLock = lockChannel.tryLock();
+        } catch (IOException | OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            lockChannel.close();
+            throw new IOException("the outbox directory " + directory + " is in use by another process");
+        }
+        this.lock = fileLock;
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    ids.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        ids.sort(null);
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            checkpoint = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_SIZE);
+        }
+        readSegment = ids.isEmpty() ? 0 : ids.get(0);
+        readOffset = 0;
+        CRC32C crc = new CRC32C();
+        crc.update(checkpoint.slice(0, 12));
+        if (checkpoint.getInt(12) == (int) crc.getValue() && ids.contains(checkpoint.getLong(0))) {
+            // Otherwise the checkpoint was torn, and the entries are replayed from the start.
+            readSegment = checkpoint.getLong(0);
+            readOffset = checkpoint.getInt(8);
+        }
+        for (long id : ids) {
+            if (id < readSegment) {
+                Files.deleteIfExists(segmentPath(id));
+            } else {
+                try (FileChannel channel = FileChannel.open(segmentPath(id), StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    segments.put(id, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            writeSegment = readSegment;
+            writeOffset = 0;
+            createSegment(writeSegment);
+            return;
+        }
+        writeSegment = segments.lastKey();
+        MappedByteBuffer segment = segments.get(writeSegment);
+        int offset = writeSegment == readSegment ? readOffset : 0;
+        for (int end = entryEnd(segment, offset); end >= 0; end = entryEnd(segment, offset)) {
+            offset = end;
+        }
+        writeOffset = offset;
+        if (offset + Integer.BYTES <= segment.capacity() && segment.getInt(offset) != 0) {
+            // An entry was torn: clear it, so that it cannot be read past the entries appended next.
+            for (int i = offset; i < segment.capacity(); i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.force();
+        }
+    }
+
+    /**
+     * Appends an entry to the log.
+     *
+     * @param payload the payload of the entry
+     * @return the position of the entry
+     * @throws IOException if the log is full or closed, or the segment cannot be created
+     */
+    synchronized Position append(byte[] payload) throws IOException {
+        if (closed) {
+            throw new IOException("the outbox is closed");
+        }
+        int size = HEADER_SIZE + payload.length;
+        MappedByteBuffer segment = segments.get(writeSegment);
+        if (writeOffset + size > segment.capacity()) {
+            if (size > segmentSize) {
+                throw new IOException("the message does not fit in an outbox segment");
+            }
+            if (segments.size() >= maxSegments) {
+                throw new IOException("the outbox is full");
+            }
+            segment = createSegment(writeSegment + 1);
+            writeSegment++;
+            writeOffset = 0;
+        }
+        int offset = writeOffset;
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        segment.put(offset + HEADER_SIZE, payload);
+        segment.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(offset, payload.length);
+        if (syncOnWrite) {
+            segment.force(offset, size);
+        }
+        writeOffset += size;
+        return new Position(writeSegment, offset);
+    }
+
+    /**
+     * Reads the first unconsumed entries of the log, without consuming them.
+     *
+     * @param maxEntries the maximum number of entries to read
+     * @param maxBytes   the maximum total size of the payloads read, which the first entry may
+     *                   exceed on its own
+     * @return the entries, in the order they were appended
+     */
+    synchronized List<Entry> peek(int maxEntries, int maxBytes) {
+        List<Entry> entries = new ArrayList<>();
+        long segmentId = readSegment;
+        int offset = readOffset;
+        int bytes = 0;
+        while (!closed && entries.size() < maxEntries) {
+            if (segmentId == writeSegment && offset >= writeOffset) {
+                break;
+            }
+            MappedByteBuffer segment = segments.get(segmentId);
+            int end = entryEnd(segment, offset);
+            if (end < 0 && segmentId == writeSegment) {
+                break;
+            }
+            if (end < 0) {
+                // The end of a full segment: the entries continue in the next one.
+                segmentId = segments.higherKey(segmentId);
+                offset = 0;
+                continue;
+            }
+            int length = end - offset - HEADER_SIZE;
+            if (!entries.isEmpty() && bytes + length > maxBytes) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.get(offset + HEADER_SIZE, payload);
+            entries.add(new Entry(new Position(segmentId, offset), new Position(segmentId, end), payload));
+            bytes += length;
+            offset = end;
+        }
+        return entries;
+    }
+
+    /**
+     * Consumes the entries of the log up to the given position, deleting the segments that
+     * hold no unconsumed entry anymore.
+     *
+     * @param next the position following the last consumed entry
+     * @throws IOException if a consumed segment cannot be deleted
+     */
+    synchronized void commit(Position next) throws IOException {
+        if (closed) {
+            return;
+        }
+        readSegment = next.segment();
+        readOffset = next.offset();
+        checkpoint.putLong(0, readSegment);
+        checkpoint.putInt(8, readOffset);
+        CRC32C crc = new CRC32C();
+        crc.update(checkpoint.slice(0, 12));
+        checkpoint.putInt(12, (int) crc.getValue());
+        if (syncOnWrite) {
+            checkpoint.force();
+        }
+        while (segments.firstKey() < readSegment) {
+            Files.deleteIfExists(segmentPath(segments.pollFirstEntry().getKey()));
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        segments.clear();
+        checkpoint = null;
+        try {
+            lock.release();
+        } finally {
+            lockChannel.close();
+        }
+    }
+
+    private MappedByteBuffer createSegment(long id) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(id), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping beyond the end of the file extends it with zeros, which mark the end of the entries.
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            segments.put(id, segment);
+            return segment;
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("outbox-%019d.log", id));
+    }
+
+    /**
+     * Returns the end of the entry at the given offset of a segment.
+     *
+     * @return the offset following the entry, or -1 if there is no complete entry at the offset
+     */
+    private static int entryEnd(MappedByteBuffer segment, int offset) {
+        if (offset + HEADER_SIZE > segment.capacity()) {
+            return -1;
+        }
+        int length = segment.getInt(offset);
+        if (length <= 0 || length > segment.capacity() - offset - HEADER_SIZE) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(offset + HEADER_SIZE, length));
+        return segment.getInt(offset + Integer.BYTES) == (int) crc.getValue() ? offset + HEADER_SIZE + length : -1;
+    }
+
+    /**
+     * The position of an entry in the log.
+     *
+     * @param segment the identifier of the segment holding the entry
+     * @param offset  the offset of the entry in the segment
+     */
+    record Position(long segment, int offset) {
+        @Override
+        public String toString() {
+            return "outbox-" + segment + "-" + offset;
+        }
+    }
+
+    /**
+     * An entry read from the log.
+     *
+     * @param position the position of the entry
+     * @param next     the position following the entry
+     * @param payload  the payload of the entry
+     */
+    record Entry(Position position, Position next, byte[] payload) {
+    }
+}
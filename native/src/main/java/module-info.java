@@ -19,10 +19,16 @@ module io.ballerina.stdlib.java.aws.sqs {
     requires software.amazon.awssdk.services.sqs;
     requires software.amazon.awssdk.auth;
     requires software.amazon.awssdk.http;
+    requires software.amazon.awssdk.http.apache;
+    requires software.amazon.awssdk.http.urlconnection;
     requires software.amazon.awssdk.regions;
     requires software.amazon.awssdk.awscore;
     requires transitive io.ballerina.runtime;
+    requires jdk.jfr;
     requires software.amazon.awssdk.core;
+    requires software.amazon.awssdk.metrics;
+    requires software.amazon.awssdk.retries;
+    requires software.amazon.awssdk.retries.api;
 
     exports io.ballerina.lib.aws.sqs;
 }